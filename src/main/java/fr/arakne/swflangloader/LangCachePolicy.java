@@ -0,0 +1,110 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader;
+
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * Eviction policy of the files loaded by {@link LangLoader}
+ *
+ * When the limit is reached, the least recently used files are evicted, and will be reloaded on next access.
+ * Files being loaded are never evicted.
+ */
+final public class LangCachePolicy {
+    final static private LangCachePolicy UNBOUNDED = new LangCachePolicy(Integer.MAX_VALUE, Long.MAX_VALUE, file -> 1);
+
+    final private int maxEntries;
+    final private long maxWeight;
+    final private ToLongFunction<? super AbstractSwfFile> weigher;
+
+    private LangCachePolicy(int maxEntries, long maxWeight, ToLongFunction<? super AbstractSwfFile> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * @return Maximum number of loaded files
+     */
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return Maximum total weight of loaded files
+     */
+    public long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Compute the weight of a loaded file
+     *
+     * @param file The loaded file
+     *
+     * @return The file weight
+     */
+    public long weight(AbstractSwfFile file) {
+        return weigher.applyAsLong(file);
+    }
+
+    /**
+     * Keep all loaded files in memory (default policy)
+     *
+     * @return The policy instance
+     */
+    static public LangCachePolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Limit the number of loaded files
+     *
+     * @param maxEntries Maximum number of files to keep
+     *
+     * @return The policy instance
+     */
+    static public LangCachePolicy maxEntries(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+
+        return new LangCachePolicy(maxEntries, Long.MAX_VALUE, file -> 1);
+    }
+
+    /**
+     * Limit the total weight of loaded files
+     * The weight is computed once, when the file is loaded. It can be an estimation of the memory size of the file.
+     *
+     * @param maxWeight Maximum total weight
+     * @param weigher Compute the weight of a file
+     *
+     * @return The policy instance
+     */
+    static public LangCachePolicy maxWeight(long maxWeight, ToLongFunction<? super AbstractSwfFile> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("maxWeight must be greater than 0");
+        }
+
+        return new LangCachePolicy(Integer.MAX_VALUE, maxWeight, weigher);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader;
+
+/**
+ * Statistics of the files loaded by {@link LangLoader}
+ */
+final public class LangCacheStats {
+    final private long hits;
+    final private long misses;
+    final private long evictions;
+    final private int size;
+    final private long weight;
+
+    public LangCacheStats(long hits, long misses, long evictions, int size, long weight) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return Number of accesses to a loaded, or pending file
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * @return Number of accesses which start a file loading
+     */
+    public long misses() {
+        return misses;
+    }
+
+    /**
+     * @return Number of evicted files
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    /**
+     * @return Number of loaded or pending files
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Total weight of loaded files
+     */
+    public long weight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return "LangCacheStats{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", size=" + size + ", weight=" + weight + "}";
+    }
+}
@@ -16,49 +16,150 @@
  *
  * Copyright (c) 2020 Vincent Quatrevieux
  */
-
 package fr.arakne.swflangloader;
 
 import fr.arakne.swflangloader.lang.BaseLangFile;
 import fr.arakne.swflangloader.lang.classes.ClassesFile;
 import fr.arakne.swflangloader.lang.hints.HintsFile;
+import fr.arakne.swflangloader.lang.items.ItemsFile;
 import fr.arakne.swflangloader.lang.lang.LangFile;
 import fr.arakne.swflangloader.lang.maps.MapsFile;
+import fr.arakne.swflangloader.lang.monsters.MonstersFile;
+import fr.arakne.swflangloader.lang.spells.SpellsFile;
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
 import fr.arakne.swflangloader.loader.SwfFileLoader;
 import fr.arakne.swflangloader.loader.TxtVersionsLoader;
 import fr.arakne.swflangloader.loader.VersionsLoader;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Loader for Dofus swf lang files
+ *
+ * Each file is loaded once : the loaded files are kept in memory, and concurrent loads of a same file share the same pending result.
+ * Loaded files may be evicted following the configured {@link LangCachePolicy}, and will be transparently reloaded on next access.
+ * Blocking methods load the file on the calling thread, whereas asynchronous methods use the configured executor.
+ * By default, the executor is a daemon pool bounded to the number of available processors, shared by all loaders created without executor.
  */
 final public class LangLoader {
     final private URL baseUrl;
     final private String language;
     final private VersionsLoader versionsLoader;
     final private SwfFileLoader swfFileLoader;
+    final private Executor executor;
+
+    final static private FileKey<MapsFile> MAPS = new FileKey<>("maps", MapsFile.class, MapsFile::new);
+    final static private FileKey<ClassesFile> CLASSES = new FileKey<>("classes", ClassesFile.class, ClassesFile::new);
+    final static private FileKey<HintsFile> HINTS = new FileKey<>("hints", HintsFile.class, HintsFile::new);
+    final static private FileKey<LangFile> LANG = new FileKey<>("lang", LangFile.class, LangFile::new);
+    final static private FileKey<ItemsFile> ITEMS = new FileKey<>("items", ItemsFile.class, ItemsFile::new);
+    final static private FileKey<SpellsFile> SPELLS = new FileKey<>("spells", SpellsFile.class, SpellsFile::new);
+    final static private FileKey<MonstersFile> MONSTERS = new FileKey<>("monsters", MonstersFile.class, MonstersFile::new);
+
+    /**
+     * Loaded or pending files
+     */
+    final private LoadedFiles<FileKey<?>> files;
+    private volatile Map<String, Integer> versions = null;
+
+    @FunctionalInterface
+    private interface FileFactory<F extends AbstractSwfFile> {
+        public F create(URL url, SwfFileLoader loader) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Identify a loaded file by its name and structure type
+     */
+    final static private class FileKey<F extends AbstractSwfFile> {
+        final private String name;
+        final private Class<F> type;
+        final private FileFactory<F> factory;
+
+        public FileKey(String name, Class<F> type, FileFactory<F> factory) {
+            this.name = name;
+            this.type = type;
+            this.factory = factory;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof FileKey)) {
+                return false;
+            }
 
-    final private Map<String, BaseLangFile> langs = new HashMap<>();
-    private MapsFile maps = null;
-    private ClassesFile classes = null;
-    private HintsFile hints = null;
-    private LangFile lang = null;
-    private Map<String, Integer> versions = null;
+            final FileKey<?> other = (FileKey<?>) o;
+
+            return name.equals(other.name) && type.equals(other.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + type.hashCode();
+        }
+    }
+
+    /**
+     * Executor of loaders created without executor, created on first use
+     */
+    final static private class DefaultExecutor {
+        final static private ExecutorService INSTANCE = createExecutor();
+    }
 
     public LangLoader(URL baseUrl, String language) {
         this(baseUrl, language, new TxtVersionsLoader(), new SwfFileLoader());
     }
 
     public LangLoader(URL baseUrl, String language, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader) {
+        this(baseUrl, language, versionsLoader, swfFileLoader, DefaultExecutor.INSTANCE);
+    }
+
+    /**
+     * @param baseUrl The langs location
+     * @param language The language
+     * @param versionsLoader The versions loading strategy
+     * @param swfFileLoader The SWF loader
+     * @param executor Executor used by preload and asynchronous methods
+     */
+    public LangLoader(URL baseUrl, String language, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader, Executor executor) {
+        this(baseUrl, language, versionsLoader, swfFileLoader, executor, LangCachePolicy.unbounded());
+    }
+
+    /**
+     * @param baseUrl The langs location
+     * @param language The language
+     * @param versionsLoader The versions loading strategy
+     * @param swfFileLoader The SWF loader
+     * @param executor Executor used by preload and asynchronous methods
+     * @param cachePolicy Eviction policy of loaded files
+     */
+    public LangLoader(URL baseUrl, String language, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader, Executor executor, LangCachePolicy cachePolicy) {
         this.baseUrl = baseUrl;
         this.language = language;
         this.versionsLoader = versionsLoader;
         this.swfFileLoader = swfFileLoader;
+        this.executor = executor;
+        this.files = new LoadedFiles<>(cachePolicy);
     }
 
     /**
@@ -72,21 +173,25 @@ final public class LangLoader {
      * @throws InterruptedException When the loading is cancelled
      */
     public BaseLangFile load(String name) throws IOException, InterruptedException {
-        BaseLangFile file;
-
-        if ((file = langs.get(name)) != null) {
-            return file;
-        }
-
-        file = BaseLangFile.load(url(name), swfFileLoader);
-        langs.put(name, file);
+        return await(load(name, Runnable::run));
+    }
 
-        return file;
+    /**
+     * Load an SWF lang File asynchronously
+     *
+     * @param name The file name
+     *
+     * @return The loaded file
+     *
+     * @see LangLoader#load(String)
+     */
+    public CompletableFuture<BaseLangFile> loadAsync(String name) {
+        return load(name, executor);
     }
 
     /**
      * Load maps file
-     * Note: Keep the loaded instance in memory
+     * Note: Keep the loaded instance in memory, following the cache policy
      *
      * @return MapsFile instance
      *
@@ -94,16 +199,23 @@ final public class LangLoader {
      * @throws InterruptedException When the loading is cancelled
      */
     public MapsFile maps() throws IOException, InterruptedException {
-        if (maps != null) {
-            return maps;
-        }
+        return await(maps(Runnable::run));
+    }
 
-        return maps = new MapsFile(url("maps"), swfFileLoader);
+    /**
+     * Load maps file asynchronously
+     *
+     * @return MapsFile instance
+     *
+     * @see LangLoader#maps()
+     */
+    public CompletableFuture<MapsFile> mapsAsync() {
+        return maps(executor);
     }
 
     /**
      * Load classes file
-     * Note: Keep the loaded instance in memory
+     * Note: Keep the loaded instance in memory, following the cache policy
      *
      * @return ClassesFile instance
      *
@@ -111,16 +223,23 @@ final public class LangLoader {
      * @throws InterruptedException When the loading is cancelled
      */
     public ClassesFile classes() throws IOException, InterruptedException {
-        if (classes != null) {
-            return classes;
-        }
+        return await(classes(Runnable::run));
+    }
 
-        return classes = new ClassesFile(url("classes"), swfFileLoader);
+    /**
+     * Load classes file asynchronously
+     *
+     * @return ClassesFile instance
+     *
+     * @see LangLoader#classes()
+     */
+    public CompletableFuture<ClassesFile> classesAsync() {
+        return classes(executor);
     }
 
     /**
      * Load hints file
-     * Note: Keep the loaded instance in memory
+     * Note: Keep the loaded instance in memory, following the cache policy
      *
      * @return HintsFile instance
      *
@@ -128,16 +247,23 @@ final public class LangLoader {
      * @throws InterruptedException When the loading is cancelled
      */
     public HintsFile hints() throws IOException, InterruptedException {
-        if (hints != null) {
-            return hints;
-        }
+        return await(hints(Runnable::run));
+    }
 
-        return hints = new HintsFile(url("hints"), swfFileLoader);
+    /**
+     * Load hints file asynchronously
+     *
+     * @return HintsFile instance
+     *
+     * @see LangLoader#hints()
+     */
+    public CompletableFuture<HintsFile> hintsAsync() {
+        return hints(executor);
     }
 
     /**
      * Load lang file
-     * Note: Keep the loaded instance in memory
+     * Note: Keep the loaded instance in memory, following the cache policy
      *
      * @return LangFile instance
      *
@@ -145,11 +271,223 @@ final public class LangLoader {
      * @throws InterruptedException When the loading is cancelled
      */
     public LangFile lang() throws IOException, InterruptedException {
-        if (lang != null) {
-            return lang;
+        return await(lang(Runnable::run));
+    }
+
+    /**
+     * Load lang file asynchronously
+     *
+     * @return LangFile instance
+     *
+     * @see LangLoader#lang()
+     */
+    public CompletableFuture<LangFile> langAsync() {
+        return lang(executor);
+    }
+
+    /**
+     * Load items file
+     * Note: Keep the loaded instance in memory, following the cache policy
+     *
+     * @return ItemsFile instance
+     *
+     * @throws IOException When cannot load the file
+     * @throws InterruptedException When the loading is cancelled
+     */
+    public ItemsFile items() throws IOException, InterruptedException {
+        return await(items(Runnable::run));
+    }
+
+    /**
+     * Load items file asynchronously
+     *
+     * @return ItemsFile instance
+     *
+     * @see LangLoader#items()
+     */
+    public CompletableFuture<ItemsFile> itemsAsync() {
+        return items(executor);
+    }
+
+    /**
+     * Load spells file
+     * Note: Keep the loaded instance in memory, following the cache policy
+     *
+     * @return SpellsFile instance
+     *
+     * @throws IOException When cannot load the file
+     * @throws InterruptedException When the loading is cancelled
+     */
+    public SpellsFile spells() throws IOException, InterruptedException {
+        return await(spells(Runnable::run));
+    }
+
+    /**
+     * Load spells file asynchronously
+     *
+     * @return SpellsFile instance
+     *
+     * @see LangLoader#spells()
+     */
+    public CompletableFuture<SpellsFile> spellsAsync() {
+        return spells(executor);
+    }
+
+    /**
+     * Load monsters file
+     * Note: Keep the loaded instance in memory, following the cache policy
+     *
+     * @return MonstersFile instance
+     *
+     * @throws IOException When cannot load the file
+     * @throws InterruptedException When the loading is cancelled
+     */
+    public MonstersFile monsters() throws IOException, InterruptedException {
+        return await(monsters(Runnable::run));
+    }
+
+    /**
+     * Load monsters file asynchronously
+     *
+     * @return MonstersFile instance
+     *
+     * @see LangLoader#monsters()
+     */
+    public CompletableFuture<MonstersFile> monstersAsync() {
+        return monsters(executor);
+    }
+
+    /**
+     * Load concurrently the given files, using the configured executor
+     * The typed files (i.e. "maps", "classes", "hints", "lang", "items", "spells" and "monsters") are loaded using their typed structure
+     * This method returns when all files are loaded, and the files can be retrieved using {@link LangLoader#load(String)} or typed methods
+     *
+     * @param names The files names
+     *
+     * @throws IOException When cannot load a file
+     * @throws InterruptedException When the loading is cancelled
+     */
+    public void preload(Collection<String> names) throws IOException, InterruptedException {
+        await(preloadAsync(names));
+    }
+
+    /**
+     * Load concurrently all available files, using the configured executor
+     *
+     * @throws IOException When cannot load a file
+     * @throws InterruptedException When the loading is cancelled
+     *
+     * @see LangLoader#preload(Collection)
+     */
+    public void preloadAll() throws IOException, InterruptedException {
+        preload(versions().keySet());
+    }
+
+    /**
+     * Load concurrently the given files, without waiting for the result
+     *
+     * @param names The files names
+     *
+     * @return The future completed when all files are loaded
+     *
+     * @see LangLoader#preload(Collection)
+     */
+    public CompletableFuture<Void> preloadAsync(Collection<String> names) {
+        return CompletableFuture.allOf(
+            new LinkedHashSet<>(names).stream()
+                .map(this::preloadAsync)
+                .toArray(CompletableFuture[]::new)
+        );
+    }
+
+    /**
+     * Reload the versions, and reload only the loaded files whose version has changed
+     * Unchanged files are kept, with their cache. Files which are no longer available are removed.
+     * Changed files are reloaded concurrently using the configured executor, and swapped once all of them are loaded.
+     * If a file cannot be loaded, no file is swapped, and the previous versions are kept.
+     * The new versions are only visible once the files are swapped : concurrent loads use the previous versions until then.
+     *
+     * @return The names of the swapped or removed files
+     *
+     * @throws IOException When cannot load the versions or a file
+     * @throws InterruptedException When the loading is cancelled
+     */
+    public synchronized Set<String> refresh() throws IOException, InterruptedException {
+        final Map<String, Integer> previousVersions = this.versions;
+        final Map<String, Integer> newVersions = versionsLoader.forLanguage(baseUrl, language);
+
+        if (previousVersions == null) {
+            this.versions = newVersions;
+            return Collections.emptySet();
         }
 
-        return lang = new LangFile(url("lang"), swfFileLoader);
+        final Set<String> changed = new TreeSet<>();
+        final Map<FileKey<?>, CompletableFuture<? extends AbstractSwfFile>> reloaded = new HashMap<>();
+
+        for (FileKey<?> key : files.keys()) {
+            if (Objects.equals(previousVersions.get(key.name), newVersions.get(key.name))) {
+                continue;
+            }
+
+            changed.add(key.name);
+
+            if (newVersions.containsKey(key.name)) {
+                reloaded.put(key, start(key, new CompletableFuture<>(), executor, newVersions));
+            }
+        }
+
+        await(CompletableFuture.allOf(reloaded.values().toArray(new CompletableFuture<?>[0])));
+
+        // Publish the new versions together with the swapped files, so a concurrent call cannot get
+        // the previous file once the new versions are visible
+        synchronized (files) {
+            this.versions = newVersions;
+
+            // Removed files, or files loaded during the refresh using the previous versions
+            for (FileKey<?> key : files.keys()) {
+                if (!reloaded.containsKey(key) && !Objects.equals(previousVersions.get(key.name), newVersions.get(key.name))) {
+                    files.remove(key);
+                    changed.add(key.name);
+                }
+            }
+
+            for (Map.Entry<FileKey<?>, CompletableFuture<? extends AbstractSwfFile>> entry : reloaded.entrySet()) {
+                files.replace(entry.getKey(), entry.getValue(), entry.getValue().join());
+            }
+        }
+
+        return changed;
+    }
+
+    /**
+     * Load concurrently all available files, without waiting for the result
+     *
+     * @return The future completed when all files are loaded
+     *
+     * @see LangLoader#preloadAll()
+     */
+    public CompletableFuture<Void> preloadAllAsync() {
+        return CompletableFuture
+            .supplyAsync(() -> {
+                try {
+                    return versions();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor)
+            .thenCompose(versions -> preloadAsync(versions.keySet()))
+        ;
+    }
+
+    /**
+     * Get the statistics of loaded files
+     *
+     * @return The statistics
+     *
+     * @see LangCachePolicy
+     */
+    public LangCacheStats cacheStats() {
+        return files.stats();
     }
 
     /**
@@ -160,20 +498,184 @@ final public class LangLoader {
      */
     public void clear() throws IOException {
         versions = null;
-        langs.clear();
-        maps = null;
-        classes = null;
-        hints = null;
-        lang = null;
+        files.clear();
         swfFileLoader.clear();
     }
 
-    private int version(String file) throws IOException {
+    private CompletableFuture<BaseLangFile> load(String name, Executor executor) {
+        return file(new FileKey<>(name, BaseLangFile.class, BaseLangFile::load), executor);
+    }
+
+    private CompletableFuture<MapsFile> maps(Executor executor) {
+        return file(MAPS, executor);
+    }
+
+    private CompletableFuture<ClassesFile> classes(Executor executor) {
+        return file(CLASSES, executor);
+    }
+
+    private CompletableFuture<HintsFile> hints(Executor executor) {
+        return file(HINTS, executor);
+    }
+
+    private CompletableFuture<LangFile> lang(Executor executor) {
+        return file(LANG, executor);
+    }
+
+    private CompletableFuture<ItemsFile> items(Executor executor) {
+        return file(ITEMS, executor);
+    }
+
+    private CompletableFuture<SpellsFile> spells(Executor executor) {
+        return file(SPELLS, executor);
+    }
+
+    private CompletableFuture<MonstersFile> monsters(Executor executor) {
+        return file(MONSTERS, executor);
+    }
+
+    private CompletableFuture<?> preloadAsync(String name) {
+        switch (name) {
+            case "maps":
+                return mapsAsync();
+
+            case "classes":
+                return classesAsync();
+
+            case "hints":
+                return hintsAsync();
+
+            case "lang":
+                return langAsync();
+
+            case "items":
+                return itemsAsync();
+
+            case "spells":
+                return spellsAsync();
+
+            case "monsters":
+                return monstersAsync();
+
+            default:
+                return loadAsync(name);
+        }
+    }
+
+    /**
+     * Get the loaded or pending file, or start its loading on the given executor
+     * If the loading fails, the file is removed, so the next call will retry the loading
+     *
+     * @param key The file key
+     * @param executor Executor to use if the file is not already loaded
+     */
+    @SuppressWarnings("unchecked")
+    private <F extends AbstractSwfFile> CompletableFuture<F> file(FileKey<F> key, Executor executor) {
+        final CompletableFuture<F> loading = new CompletableFuture<>();
+        final CompletableFuture<F> future = (CompletableFuture<F>) files.putIfAbsent(key, loading);
+
+        if (future != null) {
+            return future;
+        }
+
+        start(key, loading, executor, null).whenComplete((file, error) -> {
+            if (error != null) {
+                files.remove(key, loading);
+            } else {
+                files.loaded(key, loading, file);
+            }
+        });
+
+        return loading;
+    }
+
+    /**
+     * Start the loading of the file on the given executor
+     *
+     * @param key The file key
+     * @param future The future to complete
+     * @param executor The executor
+     * @param versions The versions to use, or null to use the current versions
+     *
+     * @return The given future
+     */
+    private <F extends AbstractSwfFile> CompletableFuture<F> start(FileKey<F> key, CompletableFuture<F> future, Executor executor, Map<String, Integer> versions) {
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(key.factory.create(url(key.name, versions != null ? versions : versions()), swfFileLoader));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // The executor rejects the task
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Create an executor bounded to the number of available processors
+     * Loading a file blocks on I/O, so the common fork join pool should not be used
+     */
+    static ExecutorService createExecutor() {
+        final AtomicInteger count = new AtomicInteger();
+
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            final Thread thread = new Thread(runnable, "swf-lang-loader-" + count.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * Wait for the future, and rethrow its error
+     */
+    static <F> F await(CompletableFuture<F> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            if (cause instanceof InterruptedException) {
+                throw (InterruptedException) cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IOException(cause);
+        }
+    }
+
+    private Map<String, Integer> versions() throws IOException {
+        Map<String, Integer> versions = this.versions;
+
         if (versions == null) {
-            versions = versionsLoader.forLanguage(baseUrl, language);
+            synchronized (this) {
+                if ((versions = this.versions) == null) {
+                    this.versions = versions = versionsLoader.forLanguage(baseUrl, language);
+                }
+            }
         }
 
-        Integer version = versions.get(file);
+        return versions;
+    }
+
+    private int version(String file, Map<String, Integer> versions) {
+        final Integer version = versions.get(file);
 
         if (version != null) {
             return version;
@@ -182,12 +684,12 @@ final public class LangLoader {
         throw new NoSuchElementException("The swf file " + file + " is not found");
     }
 
-    private URL url(String file) throws IOException {
+    private URL url(String file, Map<String, Integer> versions) throws IOException {
         return new URL(
             baseUrl.getProtocol(),
             baseUrl.getHost(),
             baseUrl.getPort(),
-            baseUrl.getFile() + "/swf/" + file + "_" + language + "_" + version(file) + ".swf"
+            baseUrl.getFile() + "/swf/" + file + "_" + language + "_" + version(file, versions) + ".swf"
         );
     }
 }
@@ -0,0 +1,195 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader;
+
+import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.loader.TxtVersionsLoader;
+import fr.arakne.swflangloader.loader.VersionsLoader;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Pool of lang loaders, for loading multiple languages of a same CDN
+ *
+ * All loaders share the same SWF loader (and its cache), and the same executor.
+ * By default, the executor is a pool bounded to the number of available processors, owned by the pool.
+ * The cache policy is applied to the loaded files of each language : the limits are per language.
+ */
+final public class LangLoaderPool implements AutoCloseable {
+    final private URL baseUrl;
+    final private VersionsLoader versionsLoader;
+    final private SwfFileLoader swfFileLoader;
+    final private Executor executor;
+    final private boolean ownExecutor;
+    final private LangCachePolicy cachePolicy;
+
+    final private Map<String, LangLoader> loaders = new ConcurrentHashMap<>();
+
+    /**
+     * @param baseUrl The langs location
+     */
+    public LangLoaderPool(URL baseUrl) {
+        this(baseUrl, new TxtVersionsLoader(), new SwfFileLoader());
+    }
+
+    /**
+     * Create the pool with its own executor, bounded to the number of available processors
+     * The executor is stopped by {@link LangLoaderPool#close()}
+     *
+     * @param baseUrl The langs location
+     * @param versionsLoader The versions loading strategy
+     * @param swfFileLoader The shared SWF loader
+     */
+    public LangLoaderPool(URL baseUrl, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader) {
+        this(baseUrl, versionsLoader, swfFileLoader, LangCachePolicy.unbounded());
+    }
+
+    /**
+     * Create the pool with its own executor, bounded to the number of available processors
+     * The executor is stopped by {@link LangLoaderPool#close()}
+     *
+     * @param baseUrl The langs location
+     * @param versionsLoader The versions loading strategy
+     * @param swfFileLoader The shared SWF loader
+     * @param cachePolicy Eviction policy of loaded files, applied to each language
+     */
+    public LangLoaderPool(URL baseUrl, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader, LangCachePolicy cachePolicy) {
+        this(baseUrl, versionsLoader, swfFileLoader, LangLoader.createExecutor(), true, cachePolicy);
+    }
+
+    /**
+     * Create the pool with an external executor
+     * The executor is not stopped by {@link LangLoaderPool#close()}
+     *
+     * @param baseUrl The langs location
+     * @param versionsLoader The versions loading strategy
+     * @param swfFileLoader The shared SWF loader
+     * @param executor The shared executor
+     */
+    public LangLoaderPool(URL baseUrl, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader, Executor executor) {
+        this(baseUrl, versionsLoader, swfFileLoader, executor, LangCachePolicy.unbounded());
+    }
+
+    /**
+     * Create the pool with an external executor
+     * The executor is not stopped by {@link LangLoaderPool#close()}
+     *
+     * @param baseUrl The langs location
+     * @param versionsLoader The versions loading strategy
+     * @param swfFileLoader The shared SWF loader
+     * @param executor The shared executor
+     * @param cachePolicy Eviction policy of loaded files, applied to each language
+     */
+    public LangLoaderPool(URL baseUrl, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader, Executor executor, LangCachePolicy cachePolicy) {
+        this(baseUrl, versionsLoader, swfFileLoader, executor, false, cachePolicy);
+    }
+
+    private LangLoaderPool(URL baseUrl, VersionsLoader versionsLoader, SwfFileLoader swfFileLoader, Executor executor, boolean ownExecutor, LangCachePolicy cachePolicy) {
+        this.baseUrl = baseUrl;
+        this.versionsLoader = versionsLoader;
+        this.swfFileLoader = swfFileLoader;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor;
+        this.cachePolicy = cachePolicy;
+    }
+
+    /**
+     * Get the loader of the given language
+     * The loader is created on first call, and the same instance is returned on next calls
+     *
+     * @param language The language
+     *
+     * @return The loader
+     */
+    public LangLoader get(String language) {
+        return loaders.computeIfAbsent(language, key -> new LangLoader(baseUrl, key, versionsLoader, swfFileLoader, executor, cachePolicy));
+    }
+
+    /**
+     * Load concurrently the given files, for all given languages
+     *
+     * @param languages Languages to load
+     * @param files The files names
+     *
+     * @throws IOException When cannot load a file
+     * @throws InterruptedException When the loading is cancelled
+     *
+     * @see LangLoader#preload(Collection)
+     */
+    public void preload(Collection<String> languages, Collection<String> files) throws IOException, InterruptedException {
+        LangLoader.await(CompletableFuture.allOf(
+            new LinkedHashSet<>(languages).stream()
+                .map(language -> get(language).preloadAsync(files))
+                .toArray(CompletableFuture[]::new)
+        ));
+    }
+
+    /**
+     * Load concurrently all available files, for all given languages
+     *
+     * @param languages Languages to load
+     *
+     * @throws IOException When cannot load a file
+     * @throws InterruptedException When the loading is cancelled
+     *
+     * @see LangLoader#preloadAll()
+     */
+    public void preloadAll(Collection<String> languages) throws IOException, InterruptedException {
+        LangLoader.await(CompletableFuture.allOf(
+            new LinkedHashSet<>(languages).stream()
+                .map(language -> get(language).preloadAllAsync())
+                .toArray(CompletableFuture[]::new)
+        ));
+    }
+
+    /**
+     * Clear loaded files of all languages, and the cache
+     *
+     * @throws IOException When cannot clear cache
+     *
+     * @see LangLoader#clear()
+     */
+    public void clear() throws IOException {
+        for (LangLoader loader : loaders.values()) {
+            loader.clear();
+        }
+
+        swfFileLoader.clear();
+    }
+
+    /**
+     * Stop the executor if it's owned by the pool
+     * Loaders should not be used after
+     */
+    @Override
+    public void close() {
+        if (ownExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+}
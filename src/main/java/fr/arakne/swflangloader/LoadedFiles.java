@@ -0,0 +1,199 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader;
+
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Store loaded, or pending, files of a {@link LangLoader}, following the cache policy
+ *
+ * @param <K> The file key type
+ */
+final class LoadedFiles<K> {
+    final private LangCachePolicy policy;
+
+    /**
+     * Entries in access order : the first entry is the least recently used
+     */
+    final private LinkedHashMap<K, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    final static private class Entry {
+        final private CompletableFuture<?> future;
+        private long weight = -1;
+
+        public Entry(CompletableFuture<?> future) {
+            this.future = future;
+        }
+
+        public boolean loaded() {
+            return weight >= 0;
+        }
+    }
+
+    public LoadedFiles(LangCachePolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Get the loaded or pending file, or add the given pending future
+     *
+     * @param key The file key
+     * @param future The future to add if the file is not present
+     *
+     * @return The current future, or null if the given future has been added
+     */
+    public synchronized CompletableFuture<?> putIfAbsent(K key, CompletableFuture<?> future) {
+        final Entry entry = entries.get(key);
+
+        if (entry != null) {
+            ++hits;
+            return entry.future;
+        }
+
+        ++misses;
+        entries.put(key, new Entry(future));
+
+        return null;
+    }
+
+    /**
+     * Mark the file as loaded, and evict least recently used files if the limit is reached
+     * If the future is no longer the current one (i.e. cleared or replaced during loading), the file is ignored
+     *
+     * @param key The file key
+     * @param future The completed future
+     * @param file The loaded file
+     */
+    public synchronized void loaded(K key, CompletableFuture<?> future, AbstractSwfFile file) {
+        final Entry entry = entries.get(key);
+
+        if (entry == null || entry.future != future || entry.loaded()) {
+            return;
+        }
+
+        add(entry, file);
+    }
+
+    /**
+     * Replace the current file, loaded or pending, by the given loaded file
+     *
+     * @param key The file key
+     * @param future The completed future of the new file
+     * @param file The loaded file
+     */
+    public synchronized void replace(K key, CompletableFuture<?> future, AbstractSwfFile file) {
+        final Entry entry = new Entry(future);
+
+        remove(key);
+        entries.put(key, entry);
+        add(entry, file);
+    }
+
+    /**
+     * Remove the file if its pending future is the given one
+     *
+     * @param key The file key
+     * @param future The expected future
+     */
+    public synchronized void remove(K key, CompletableFuture<?> future) {
+        final Entry entry = entries.get(key);
+
+        if (entry != null && entry.future == future) {
+            remove(key);
+        }
+    }
+
+    /**
+     * Remove the file
+     *
+     * @param key The file key
+     */
+    public synchronized void remove(K key) {
+        final Entry entry = entries.remove(key);
+
+        if (entry != null && entry.loaded()) {
+            weight -= entry.weight;
+        }
+    }
+
+    /**
+     * @return Keys of all loaded or pending files
+     */
+    public synchronized List<K> keys() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    /**
+     * Remove all files
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return The current statistics
+     */
+    public synchronized LangCacheStats stats() {
+        return new LangCacheStats(hits, misses, evictions, entries.size(), weight);
+    }
+
+    /**
+     * Set the file weight, and evict other files if needed
+     */
+    private void add(Entry entry, AbstractSwfFile file) {
+        entry.weight = policy.weight(file);
+        weight += entry.weight;
+
+        evict(entry);
+    }
+
+    /**
+     * Evict least recently used loaded files, until the limits are respected
+     *
+     * @param keep The entry which should not be evicted
+     */
+    private void evict(Entry keep) {
+        final Iterator<Map.Entry<K, Entry>> iterator = entries.entrySet().iterator();
+
+        while ((entries.size() > policy.maxEntries() || weight > policy.maxWeight()) && iterator.hasNext()) {
+            final Entry entry = iterator.next().getValue();
+
+            if (entry == keep || !entry.loaded()) {
+                continue;
+            }
+
+            iterator.remove();
+            weight -= entry.weight;
+            ++evictions;
+        }
+    }
+}
@@ -20,8 +20,13 @@
 package fr.arakne.swflangloader.lang;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 import fr.arakne.swflangloader.loader.AbstractSwfFile;
 import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.CompactObject;
+import fr.arakne.swflangloader.parser.CompactValue;
+import fr.arakne.swflangloader.parser.LazyJson;
 import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
 import fr.arakne.swflangloader.parser.mapper.SwfDefault;
 
@@ -31,58 +36,122 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 /**
  * Simple lang file structure
  * Forward all variable to a default field
+ * Values are parsed on first access, and objects and arrays are stored as {@link CompactValue}
  */
 public class BaseLangFile extends AbstractSwfFile implements JsonMapGetter {
     final static private MapperHydrator<BaseLangFile> HYDRATOR = MapperHydrator.parseAnnotations(BaseLangFile.class);
 
-    @SwfDefault
+    /**
+     * Values of the variables : JsonElement, CompactValue, LazyJson, or Map of those for associative variables
+     */
+    @SwfDefault(lazy = true, compact = true)
     final protected Map<String, Object> values = new HashMap<>();
 
     final static public class AssocVariable implements JsonMapGetter {
         final private String varName;
-        final private Map<String, JsonElement> assoc;
+        final private Map<String, ?> assoc;
 
-        public AssocVariable(String varName, Map<String, JsonElement> assoc) {
+        /**
+         * @param varName The variable name
+         * @param assoc The values. Can contain JsonElement, CompactValue or LazyJson
+         */
+        public AssocVariable(String varName, Map<String, ?> assoc) {
             this.varName = varName;
             this.assoc = assoc;
         }
 
+        /**
+         * @param varName The variable name
+         * @param assoc The values
+         */
+        public AssocVariable(String varName, JsonObject assoc) {
+            this(varName, toMap(assoc));
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * Compact values are converted to a new JSON tree on each call.
+         * Keep the returned element, or use {@link #object(String)}, when the value is read many times.
+         */
         @Override
         public JsonElement json(String variable) {
-            if (!assoc.containsKey(variable)) {
-                throw new NoSuchElementException("The variable " + varName + "[" + variable + "] is not found");
-            }
+            return toJson(value(variable));
+        }
 
-            return assoc.get(variable);
+        /**
+         * Get an object value, without converting it to JSON
+         *
+         * @param variable The key
+         *
+         * @return The object value
+         * @throws NoSuchElementException When the value is not found, or is not an object
+         */
+        public JsonMapGetter object(String variable) {
+            return toObject(value(variable), varName + "[" + variable + "]");
         }
 
         /**
+         * Get all elements
+         * Not yet parsed values are parsed by this call
+         * Compact values are converted to a new JSON tree on each call, so the result should be kept when reused
+         *
          * @return All elements
          */
         public Map<String, JsonElement> all() {
-            return Collections.unmodifiableMap(assoc);
+            final Map<String, JsonElement> all = new HashMap<>(assoc.size() * 4 / 3 + 1);
+
+            assoc.forEach((key, value) -> {
+                final Object resolved = resolve(value, varName + "[" + key + "]");
+
+                if (resolved != null) {
+                    all.put(key, toJson(resolved));
+                }
+            });
+
+            return Collections.unmodifiableMap(all);
+        }
+
+        private Object value(String variable) {
+            final Object value = resolve(assoc.get(variable), varName + "[" + variable + "]");
+
+            if (value == null) {
+                throw new NoSuchElementException("The variable " + varName + "[" + variable + "] is not found");
+            }
+
+            return value;
         }
     }
 
     /**
      * Get a raw JSON element value
      *
+     * Compact values are converted to a new JSON tree on each call.
+     * Keep the returned element, or use {@link #object(String)}, when the value is read many times.
+     *
      * @param variable The variable name
      *
      * @return The variable value
      */
     final public JsonElement json(String variable) {
-        final Object value = values.get(variable);
-
-        if (value instanceof JsonElement) {
-            return (JsonElement) value;
-        }
+        return toJson(value(variable));
+    }
 
-        throw new NoSuchElementException("Variable " + variable + " is not found or not a valid JSON value");
+    /**
+     * Get an object value, without converting it to JSON
+     *
+     * @param variable The variable name
+     *
+     * @return The object value
+     * @throws NoSuchElementException When the variable is not found, or is not an object
+     */
+    final public JsonMapGetter object(String variable) {
+        return toObject(value(variable), variable);
     }
 
     /**
@@ -97,12 +166,110 @@ public class BaseLangFile extends AbstractSwfFile implements JsonMapGetter {
         final Object value = values.get(variableName);
 
         if (value instanceof Map) {
-            return new AssocVariable(variableName, (Map<String, JsonElement>) value);
+            return new AssocVariable(variableName, (Map<String, ?>) value);
         }
 
         throw new NoSuchElementException("Variable " + variableName + " is not found or not a valid assoc value");
     }
 
+    private Object value(String variable) {
+        final Object value = resolve(values.get(variable), variable);
+
+        if (value instanceof JsonElement || value instanceof CompactValue) {
+            return value;
+        }
+
+        throw new NoSuchElementException("Variable " + variable + " is not found or not a valid JSON value");
+    }
+
+    /**
+     * Parse the value if it's lazy
+     *
+     * @param value The value
+     * @param name The variable name, used for the error message
+     *
+     * @throws JsonParseException When the value is not valid
+     */
+    static private Object resolve(Object value, String name) {
+        try {
+            return LazyJson.resolve(value);
+        } catch (JsonParseException e) {
+            throw new JsonParseException("Invalid value for variable " + name, e);
+        }
+    }
+
+    static private Map<String, JsonElement> toMap(JsonObject object) {
+        final Map<String, JsonElement> map = new HashMap<>();
+
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+
+        return map;
+    }
+
+    static private JsonElement toJson(Object value) {
+        return CompactValue.toJson(value);
+    }
+
+    static private JsonMapGetter toObject(Object value, String name) {
+        if (value instanceof CompactObject) {
+            return new CompactObjectGetter((CompactObject) value);
+        }
+
+        if (value instanceof JsonObject) {
+            final JsonObject object = (JsonObject) value;
+
+            return key -> {
+                final JsonElement element = object.get(key);
+
+                if (element == null) {
+                    throw new NoSuchElementException("The property " + key + " is not found");
+                }
+
+                return element;
+            };
+        }
+
+        throw new NoSuchElementException("The variable " + name + " is not an object");
+    }
+
+    /**
+     * Read the properties of a compact object without creating JSON elements for primitive values
+     */
+    final static private class CompactObjectGetter implements JsonMapGetter {
+        final private CompactObject object;
+
+        private CompactObjectGetter(CompactObject object) {
+            this.object = object;
+        }
+
+        @Override
+        public String string(String variable) {
+            return object.string(variable);
+        }
+
+        @Override
+        public int integer(String variable) {
+            return object.integer(variable);
+        }
+
+        @Override
+        public double decimal(String variable) {
+            return object.decimal(variable);
+        }
+
+        @Override
+        public boolean bool(String variable) {
+            return object.bool(variable);
+        }
+
+        @Override
+        public JsonElement json(String variable) {
+            return object.json(variable);
+        }
+    }
+
     static public BaseLangFile load(URL url, SwfFileLoader loader) throws IOException, InterruptedException {
         BaseLangFile file = new BaseLangFile();
 
@@ -110,4 +277,28 @@ public class BaseLangFile extends AbstractSwfFile implements JsonMapGetter {
 
         return file;
     }
+
+    /**
+     * Load only the given variables of the lang file
+     * Other variables are skipped without parsing their value, and are not kept in memory
+     *
+     * @param url The SWF file URL
+     * @param loader The SWF loader
+     * @param variables The variables to load. For associative variables, only the variable name must be given (e.g. "A.a")
+     *
+     * @return The loaded file
+     *
+     * @throws IOException When error occurs during loading the SWF file
+     * @throws InterruptedException When the loading is cancelled
+     */
+    static public BaseLangFile load(URL url, SwfFileLoader loader, Set<String> variables) throws IOException, InterruptedException {
+        final MapperHydrator<BaseLangFile> hydrator = MapperHydrator.parseAnnotations(BaseLangFile.class);
+        hydrator.project(variables);
+
+        final BaseLangFile file = new BaseLangFile();
+
+        loader.load(url, file, hydrator);
+
+        return file;
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2020 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Rows of a column storage, sorted by a key
+ * Used to search rows by a value range without iterating over all rows
+ *
+ * Usage:
+ * <pre>{@code
+ * SortedIndex byLevel = SortedIndex.rows(size).sortBy(row -> levels[row]);
+ * SortedIndex byTypeAndLevel = byLevel.sortBy(row -> types[row]);
+ *
+ * byLevel.range(row -> levels[row] < 10, row -> levels[row] <= 20, factory); // Rows with level between 10 and 20
+ * }</pre>
+ */
+final public class SortedIndex {
+    final private int size;
+
+    /**
+     * The sorted rows, or null to use the rows order
+     */
+    final private int[] rows;
+
+    private SortedIndex(int size, int[] rows) {
+        this.size = size;
+        this.rows = rows;
+    }
+
+    /**
+     * Sort the rows by the key
+     * Rows with an equal key keep their order in this index, so sorting by a second key
+     * creates an index sorted by the second key, then the first one
+     *
+     * @param key Get the key of a row
+     *
+     * @return The new index
+     */
+    public SortedIndex sortBy(IntUnaryOperator key) {
+        // Pack the key and the position into a long, so equal keys are ordered by position without boxing
+        final long[] packed = new long[size];
+
+        for (int position = 0; position < size; ++position) {
+            packed[position] = ((long) key.applyAsInt(row(position)) << 32) | position;
+        }
+
+        Arrays.sort(packed);
+
+        final int[] sorted = new int[size];
+
+        for (int i = 0; i < size; ++i) {
+            sorted[i] = row((int) packed[i]);
+        }
+
+        return new SortedIndex(size, sorted);
+    }
+
+    /**
+     * Get all rows, in the index order
+     *
+     * @param factory Create the element from the row
+     * @param <T> The element type
+     *
+     * @return The list view
+     */
+    public <T> List<T> all(IntFunction<T> factory) {
+        return new Range<>(factory, 0, size);
+    }
+
+    /**
+     * Get the rows between two bounds, in the index order
+     * The predicates must be consistent with the index order
+     *
+     * @param beforeFrom Check if the row is before the first row of the range
+     * @param beforeTo Check if the row is before the end of the range, i.e. the row is in the range or before it
+     * @param factory Create the element from the row
+     * @param <T> The element type
+     *
+     * @return The list view
+     */
+    public <T> List<T> range(IntPredicate beforeFrom, IntPredicate beforeTo, IntFunction<T> factory) {
+        final int from = lowerBound(beforeFrom);
+        final int to = lowerBound(beforeTo);
+
+        return new Range<>(factory, from, Math.max(from, to));
+    }
+
+    /**
+     * Find the first position of the index where the row is not before the searched value
+     *
+     * @param before Check if the row is before the searched value
+     */
+    private int lowerBound(IntPredicate before) {
+        int low = 0;
+        int high = size;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (before.test(row(middle))) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private int row(int position) {
+        return rows == null ? position : rows[position];
+    }
+
+    /**
+     * Create an index of the rows, ordered by row number
+     *
+     * @param size Number of rows
+     *
+     * @return The index
+     */
+    static public SortedIndex rows(int size) {
+        return new SortedIndex(size, null);
+    }
+
+    /**
+     * View of a range of the index
+     */
+    final private class Range<T> extends AbstractList<T> implements RandomAccess {
+        final private IntFunction<T> factory;
+        final private int from;
+        final private int to;
+
+        private Range(IntFunction<T> factory, int from, int to) {
+            this.factory = factory;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public T get(int i) {
+            if (i < 0 || i >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size());
+            }
+
+            return factory.apply(row(from + i));
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
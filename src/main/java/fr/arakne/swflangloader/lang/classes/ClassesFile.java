@@ -21,6 +21,7 @@ package fr.arakne.swflangloader.lang.classes;
 
 import fr.arakne.swflangloader.loader.AbstractSwfFile;
 import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.mapper.IntMap;
 import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
 import fr.arakne.swflangloader.parser.mapper.SwfVariable;
 
@@ -28,8 +29,6 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Store classes data
@@ -38,7 +37,7 @@ final public class ClassesFile extends AbstractSwfFile {
     final static private MapperHydrator<ClassesFile> HYDRATOR = MapperHydrator.parseAnnotations(ClassesFile.class);
 
     @SwfVariable("G")
-    final private Map<Integer, DofusClass> classes = new HashMap<>();
+    final private IntMap<DofusClass> classes = new IntMap<>();
 
     public ClassesFile(URL file, SwfFileLoader loader) throws IOException, InterruptedException {
         loader.load(file, this, HYDRATOR);
@@ -72,6 +71,7 @@ final public class ClassesFile extends AbstractSwfFile {
     }
 
     private void init() {
+        classes.compact();
         classes.forEach((id, dofusClass) -> dofusClass.setId(id));
     }
 }
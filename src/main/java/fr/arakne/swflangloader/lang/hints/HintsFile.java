@@ -21,6 +21,7 @@ package fr.arakne.swflangloader.lang.hints;
 
 import fr.arakne.swflangloader.loader.AbstractSwfFile;
 import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.mapper.IntMap;
 import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
 import fr.arakne.swflangloader.parser.mapper.SwfVariable;
 
@@ -41,7 +42,7 @@ final public class HintsFile extends AbstractSwfFile implements Iterable<Hint> {
     final static private MapperHydrator<HintsFile> HYDRATOR = MapperHydrator.parseAnnotations(HintsFile.class);
 
     @SwfVariable("HIC")
-    final private Map<Integer, HintCategory> categories = new HashMap<>();
+    final private IntMap<HintCategory> categories = new IntMap<>();
 
     @SwfVariable("HI")
     private Hint[] hints;
@@ -106,6 +107,7 @@ final public class HintsFile extends AbstractSwfFile implements Iterable<Hint> {
     }
 
     private void init() {
+        categories.compact();
         categories.forEach((id, color) -> color.setId(id));
         forEach(hint -> hint.setHints(this));
     }
@@ -0,0 +1,203 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+/**
+ * Dofus item template
+ * The data are read from the columns of the items file, so this object is only a view on its row
+ */
+final public class Item {
+    final private ItemsFile items;
+    final private ItemColumns columns;
+    final private int row;
+
+    Item(ItemsFile items, ItemColumns columns, int row) {
+        this.items = items;
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * @return The item id
+     */
+    public int id() {
+        return columns.ids[row];
+    }
+
+    /**
+     * @return The item name
+     */
+    public String name() {
+        return columns.names[row];
+    }
+
+    /**
+     * @return The item description
+     */
+    public String description() {
+        return columns.descriptions[row];
+    }
+
+    /**
+     * @return The item type id
+     */
+    public int typeId() {
+        return columns.types[row];
+    }
+
+    /**
+     * @return The item type, or null if not declared
+     */
+    public ItemType type() {
+        return items.type(columns.types[row]);
+    }
+
+    /**
+     * @return The item level
+     */
+    public int level() {
+        return columns.levels[row];
+    }
+
+    /**
+     * @return The weight of one item, in pods
+     */
+    public int weight() {
+        return columns.weights[row];
+    }
+
+    /**
+     * @return The base price, in kamas
+     */
+    public int price() {
+        return columns.prices[row];
+    }
+
+    /**
+     * @return The graphic id
+     */
+    public int gfxId() {
+        return columns.gfxIds[row];
+    }
+
+    /**
+     * @return The apparition episode
+     */
+    public int ep() {
+        return columns.episodes[row];
+    }
+
+    /**
+     * @return The item set id, or 0 if the item is not part of a set
+     */
+    public int itemSetId() {
+        return columns.itemSets[row];
+    }
+
+    /**
+     * @return The animation id, or -1 if not defined
+     */
+    public int animation() {
+        return columns.animations[row];
+    }
+
+    /**
+     * @return The raw use conditions, or null if there is no conditions
+     */
+    public String conditions() {
+        return columns.conditions[row];
+    }
+
+    /**
+     * @return true if the item is ethereal
+     */
+    public boolean ethereal() {
+        return columns.hasFlag(row, ItemColumns.FLAG_ETHEREAL);
+    }
+
+    /**
+     * @return true if the weapon needs both hands
+     */
+    public boolean twoHanded() {
+        return columns.hasFlag(row, ItemColumns.FLAG_TWO_HANDED);
+    }
+
+    /**
+     * @return true if the item can be used
+     */
+    public boolean usable() {
+        return columns.hasFlag(row, ItemColumns.FLAG_USABLE);
+    }
+
+    /**
+     * @return true if the item can be used on a target
+     */
+    public boolean targetable() {
+        return columns.hasFlag(row, ItemColumns.FLAG_TARGETABLE);
+    }
+
+    /**
+     * @return The raw "wd" flag
+     */
+    public boolean wd() {
+        return columns.hasFlag(row, ItemColumns.FLAG_WD);
+    }
+
+    /**
+     * @return The raw "fm" flag
+     */
+    public boolean fm() {
+        return columns.hasFlag(row, ItemColumns.FLAG_FM);
+    }
+
+    /**
+     * @return The raw "m" flag
+     */
+    public boolean m() {
+        return columns.hasFlag(row, ItemColumns.FLAG_M);
+    }
+
+    /**
+     * @return The weapon characteristics, or null if the item is not a weapon
+     */
+    public Weapon weapon() {
+        final int offset = columns.weaponOffsets[row];
+
+        return offset == -1 ? null : new Weapon(columns.weapons, offset);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Item item = (Item) o;
+        return columns == item.columns && row == item.row;
+    }
+
+    @Override
+    public int hashCode() {
+        return id();
+    }
+
+    @Override
+    public String toString() {
+        return "Item{" + name() + " (" + id() + ")}";
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+import fr.arakne.swflangloader.parser.mapper.IntMap;
+
+import java.util.Arrays;
+
+/**
+ * Item data stored by columns
+ * Each item is stored at a row, and rows are ordered by item id
+ */
+final class ItemColumns {
+    final static int FLAG_WD = 1;
+    final static int FLAG_FM = 2;
+    final static int FLAG_ETHEREAL = 4;
+    final static int FLAG_TWO_HANDED = 8;
+    final static int FLAG_USABLE = 16;
+    final static int FLAG_TARGETABLE = 32;
+    final static int FLAG_M = 64;
+
+    /**
+     * Number of values of the weapon data
+     */
+    final static int WEAPON_SIZE = 8;
+
+    final int[] ids;
+    final int[] types;
+    final int[] levels;
+    final int[] weights;
+    final int[] prices;
+    final int[] gfxIds;
+    final int[] episodes;
+    final int[] itemSets;
+    final int[] animations;
+    final int[] flags;
+    final String[] names;
+    final String[] descriptions;
+    final String[] conditions;
+
+    /**
+     * Offset of the weapon data on {@link ItemColumns#weapons}, or -1 if the item is not a weapon
+     */
+    final int[] weaponOffsets;
+
+    /**
+     * Packed weapon data : {@link ItemColumns#WEAPON_SIZE} values per weapon, booleans are stored as 0 or 1
+     */
+    final int[] weapons;
+
+    ItemColumns(IntMap<ItemTemplate> templates) {
+        final int size = templates.size();
+        final int[] ids = new int[size];
+        final int[] row = new int[1];
+
+        templates.forEach((id, template) -> ids[row[0]++] = id);
+        Arrays.sort(ids);
+
+        this.ids = ids;
+        types = new int[size];
+        levels = new int[size];
+        weights = new int[size];
+        prices = new int[size];
+        gfxIds = new int[size];
+        episodes = new int[size];
+        itemSets = new int[size];
+        animations = new int[size];
+        flags = new int[size];
+        names = new String[size];
+        descriptions = new String[size];
+        conditions = new String[size];
+        weaponOffsets = new int[size];
+
+        int weaponCount = 0;
+
+        for (ItemTemplate template : templates.values()) {
+            if (template.e != null) {
+                ++weaponCount;
+            }
+        }
+
+        weapons = new int[weaponCount * WEAPON_SIZE];
+
+        int weaponOffset = 0;
+
+        for (int i = 0; i < size; ++i) {
+            final ItemTemplate template = templates.get(ids[i]);
+
+            types[i] = template.t;
+            levels[i] = template.l;
+            weights[i] = template.w;
+            prices[i] = template.p;
+            gfxIds[i] = template.g;
+            episodes[i] = template.ep;
+            itemSets[i] = template.s;
+            animations[i] = template.an;
+            flags[i] = flags(template);
+            names[i] = template.n;
+            descriptions[i] = template.d;
+            conditions[i] = template.c;
+
+            if (template.e == null) {
+                weaponOffsets[i] = -1;
+            } else {
+                weaponOffsets[i] = weaponOffset;
+
+                for (int j = 0; j < WEAPON_SIZE && j < template.e.length; ++j) {
+                    weapons[weaponOffset + j] = intValue(template.e[j]);
+                }
+
+                weaponOffset += WEAPON_SIZE;
+            }
+        }
+    }
+
+    /**
+     * Get the row of the item
+     *
+     * @param id The item id
+     *
+     * @return The row, or a negative value if not found
+     */
+    int row(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    boolean hasFlag(int row, int flag) {
+        return (flags[row] & flag) != 0;
+    }
+
+    static private int flags(ItemTemplate template) {
+        int flags = 0;
+
+        if (template.wd) flags |= FLAG_WD;
+        if (template.fm) flags |= FLAG_FM;
+        if (template.et) flags |= FLAG_ETHEREAL;
+        if (template.tw) flags |= FLAG_TWO_HANDED;
+        if (template.u) flags |= FLAG_USABLE;
+        if (template.ut) flags |= FLAG_TARGETABLE;
+        if (template.m) flags |= FLAG_M;
+
+        return flags;
+    }
+
+    static private int intValue(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+/**
+ * Raw item data, as declared on the lang file
+ * Converted to columns by {@link ItemColumns} after loading
+ */
+final class ItemTemplate {
+    String n;
+    String d;
+    String c;
+    int t;
+    int ep;
+    int g;
+    int l;
+    int w;
+    int p;
+    int s;
+    int an = -1;
+    Object[] e;
+    boolean wd;
+    boolean fm;
+    boolean et;
+    boolean tw;
+    boolean u;
+    boolean ut;
+    boolean m;
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+import java.util.Objects;
+
+/**
+ * Type of item (e.g. amulet, sword...)
+ */
+final public class ItemType {
+    private int id;
+
+    private String n;
+    private int t;
+    private String z;
+
+    /**
+     * @return The type id
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * @return The type name
+     */
+    public String name() {
+        return n;
+    }
+
+    /**
+     * @return The super type id
+     */
+    public int superType() {
+        return t;
+    }
+
+    /**
+     * @return The effect zone of weapons of this type, or null
+     */
+    public String zone() {
+        return z;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ItemType type = (ItemType) o;
+        return id == type.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemType{" + n + " (" + id + ")}";
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+}
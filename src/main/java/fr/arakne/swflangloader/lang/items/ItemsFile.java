@@ -0,0 +1,213 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+import fr.arakne.swflangloader.lang.SortedIndex;
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
+import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.mapper.IntMap;
+import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
+import fr.arakne.swflangloader.parser.mapper.SwfVariable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The items lang file, containing item templates and item types
+ *
+ * Items are stored by columns, and indexed by type and level :
+ * searching items of a type or a level range does not iterate over all items
+ *
+ * Usage:
+ * <pre>{@code
+ * ItemsFile items = new ItemsFile(new URL("http://my-lang.example.com/dofus/lang/swf/items_fr_447.swf"));
+ *
+ * items.get(39).name(); // "Petite Amulette du Hibou"
+ * items.byType(1, 20); // All amulets with level <= 20
+ * }</pre>
+ */
+final public class ItemsFile extends AbstractSwfFile {
+    final static private MapperHydrator<ItemsFile> HYDRATOR = MapperHydrator.parseAnnotations(ItemsFile.class);
+
+    // Raw items, released once converted to columns
+    @SwfVariable("I.u")
+    final private IntMap<ItemTemplate> templates = new IntMap<>();
+
+    @SwfVariable("I.t")
+    final private IntMap<ItemType> types = new IntMap<>();
+
+    @SwfVariable("I.ss")
+    final private IntMap<int[]> superTypePositions = new IntMap<>();
+
+    private ItemColumns columns;
+
+    /**
+     * Rows sorted by type, level, and id
+     */
+    private SortedIndex byTypeAndLevel;
+
+    /**
+     * Rows sorted by level, and id
+     */
+    private SortedIndex byLevel;
+
+    public ItemsFile(URL file, SwfFileLoader loader) throws IOException, InterruptedException {
+        loader.load(file, this, HYDRATOR);
+        init();
+    }
+
+    public ItemsFile(URL file) throws IOException, InterruptedException {
+        this(file, new SwfFileLoader());
+    }
+
+    public ItemsFile(File file) throws IOException, InterruptedException {
+        this(file.toURI().toURL(), new SwfFileLoader());
+    }
+
+    /**
+     * Get an item by its id
+     *
+     * @param id The item id
+     *
+     * @return The item, or null if not found
+     */
+    public Item get(int id) {
+        final int row = columns.row(id);
+
+        return row < 0 ? null : new Item(this, columns, row);
+    }
+
+    /**
+     * @return All available items, ordered by id
+     */
+    public List<Item> all() {
+        return SortedIndex.rows(columns.size()).all(this::item);
+    }
+
+    /**
+     * Get all items of the given type
+     *
+     * @param type The item type id
+     *
+     * @return The items, ordered by level
+     */
+    public List<Item> byType(int type) {
+        return byType(type, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get items of the given type, with a level lower or equal to the given one
+     *
+     * @param type The item type id
+     * @param maxLevel The maximal level, inclusive
+     *
+     * @return The items, ordered by level
+     */
+    public List<Item> byType(int type, int maxLevel) {
+        return byType(type, Integer.MIN_VALUE, maxLevel);
+    }
+
+    /**
+     * Get items of the given type, in the level range
+     *
+     * @param type The item type id
+     * @param minLevel The minimal level, inclusive
+     * @param maxLevel The maximal level, inclusive
+     *
+     * @return The items, ordered by level
+     */
+    public List<Item> byType(int type, int minLevel, int maxLevel) {
+        final int[] types = columns.types;
+        final int[] levels = columns.levels;
+
+        return byTypeAndLevel.range(
+            row -> types[row] < type || (types[row] == type && levels[row] < minLevel),
+            row -> types[row] < type || (types[row] == type && levels[row] <= maxLevel),
+            this::item
+        );
+    }
+
+    /**
+     * Get items in the level range
+     *
+     * @param minLevel The minimal level, inclusive
+     * @param maxLevel The maximal level, inclusive
+     *
+     * @return The items, ordered by level
+     */
+    public List<Item> byLevel(int minLevel, int maxLevel) {
+        final int[] levels = columns.levels;
+
+        return byLevel.range(row -> levels[row] < minLevel, row -> levels[row] <= maxLevel, this::item);
+    }
+
+    /**
+     * Get an item type by its id
+     *
+     * @param id The type id
+     *
+     * @return The item type, or null if not found
+     */
+    public ItemType type(int id) {
+        return types.get(id);
+    }
+
+    /**
+     * @return All available item types
+     */
+    public Collection<ItemType> allTypes() {
+        return types.values();
+    }
+
+    /**
+     * Get the inventory positions available for items of the given super type
+     *
+     * @param superType The super type id
+     *
+     * @return The positions, or an empty array if the super type cannot be equipped
+     */
+    public int[] superTypePositions(int superType) {
+        final int[] positions = superTypePositions.get(superType);
+
+        return positions == null ? new int[0] : positions.clone();
+    }
+
+    private void init() {
+        types.compact();
+        superTypePositions.compact();
+        types.forEach((id, type) -> type.setId(id));
+
+        columns = new ItemColumns(templates);
+        templates.clear();
+
+        final int[] typeIds = columns.types;
+        final int[] levels = columns.levels;
+
+        byLevel = SortedIndex.rows(columns.size()).sortBy(row -> levels[row]);
+        byTypeAndLevel = byLevel.sortBy(row -> typeIds[row]);
+    }
+
+    private Item item(int row) {
+        return new Item(this, columns, row);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+/**
+ * Characteristics of a weapon item
+ */
+final public class Weapon {
+    final private int[] data;
+    final private int offset;
+
+    Weapon(int[] data, int offset) {
+        this.data = data;
+        this.offset = offset;
+    }
+
+    /**
+     * @return Bonus added to the weapon effects on critical hit
+     */
+    public int criticalBonus() {
+        return data[offset];
+    }
+
+    /**
+     * @return Action points cost
+     */
+    public int actionPointCost() {
+        return data[offset + 1];
+    }
+
+    /**
+     * @return Minimal range
+     */
+    public int minRange() {
+        return data[offset + 2];
+    }
+
+    /**
+     * @return Maximal range
+     */
+    public int maxRange() {
+        return data[offset + 3];
+    }
+
+    /**
+     * @return Critical hit rate, as 1/x. 0 if the weapon cannot make critical hits
+     */
+    public int criticalRate() {
+        return data[offset + 4];
+    }
+
+    /**
+     * @return Critical failure rate, as 1/x. 0 if the weapon cannot make critical failures
+     */
+    public int failureRate() {
+        return data[offset + 5];
+    }
+
+    /**
+     * @return true if the weapon can only be cast in line
+     */
+    public boolean lineOnly() {
+        return data[offset + 6] != 0;
+    }
+
+    /**
+     * @return true if the weapon needs a line of sight
+     */
+    public boolean lineOfSight() {
+        return data[offset + 7] != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Weapon{ap=" + actionPointCost() + ", range=" + minRange() + "-" + maxRange() + "}";
+    }
+}
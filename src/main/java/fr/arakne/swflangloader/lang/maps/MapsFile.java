@@ -21,6 +21,7 @@ package fr.arakne.swflangloader.lang.maps;
 
 import fr.arakne.swflangloader.loader.AbstractSwfFile;
 import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.mapper.IntMap;
 import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
 import fr.arakne.swflangloader.parser.mapper.SwfVariable;
 
@@ -69,17 +70,17 @@ final public class MapsFile extends AbstractSwfFile {
     }
 
     @SwfVariable("MA.m")
-    final private Map<Integer, MapPosition> mapPosById = new HashMap<>();
+    final private IntMap<MapPosition> mapPosById = new IntMap<>();
     private Map<Position, List<MapPosition>> mapPosByPosition = null;
 
     @SwfVariable("MA.sua")
-    final private Map<Integer, String> superAreas = new HashMap<>();
+    final private IntMap<String> superAreas = new IntMap<>();
 
     @SwfVariable("MA.a")
-    final private Map<Integer, MapArea> areasById = new HashMap<>();
+    final private IntMap<MapArea> areasById = new IntMap<>();
 
     @SwfVariable("MA.sa")
-    final private Map<Integer, MapSubArea> subAreasById = new HashMap<>();
+    final private IntMap<MapSubArea> subAreasById = new IntMap<>();
 
     public MapsFile(URL file, SwfFileLoader loader) throws IOException, InterruptedException {
         loader.load(file, this, HYDRATOR);
@@ -184,6 +185,11 @@ final public class MapsFile extends AbstractSwfFile {
     }
 
     private void init() {
+        mapPosById.compact();
+        superAreas.compact();
+        areasById.compact();
+        subAreasById.compact();
+
         mapPosById.forEach((id, mapPosition) -> {
             mapPosition.setId(id);
             mapPosition.setMaps(this);
@@ -0,0 +1,147 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Dofus monster
+ * The data are read from the packed arrays of the monsters file, so this object is only a view on its row
+ */
+final public class Monster {
+    final private MonstersFile file;
+    final private MonsterColumns columns;
+    final private int row;
+
+    Monster(MonstersFile file, MonsterColumns columns, int row) {
+        this.file = file;
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * @return The monster id
+     */
+    public int id() {
+        return columns.ids[row];
+    }
+
+    /**
+     * @return The monster name
+     */
+    public String name() {
+        return columns.names[row];
+    }
+
+    /**
+     * @return The sprite id
+     */
+    public int gfxId() {
+        return columns.gfxIds[row];
+    }
+
+    /**
+     * @return The race id
+     */
+    public int raceId() {
+        return columns.races[row];
+    }
+
+    /**
+     * @return The race, or null if not declared
+     */
+    public MonsterRace race() {
+        return file.race(raceId());
+    }
+
+    /**
+     * @return The alignment id. -1 for none
+     */
+    public int alignment() {
+        return columns.alignments[row];
+    }
+
+    /**
+     * @return true if the monster can be kicked from a fight
+     */
+    public boolean kickable() {
+        return columns.kickable[row];
+    }
+
+    /**
+     * Get a grade of the monster
+     *
+     * @param grade The grade number, starting at 1
+     *
+     * @return The grade, or null if not available
+     */
+    public MonsterGrade grade(int grade) {
+        if (grade < 1 || grade > columns.gradeCount(row)) {
+            return null;
+        }
+
+        return new MonsterGrade(this, columns, grade, columns.gradeOffsets[row] + grade - 1);
+    }
+
+    /**
+     * @return All grades of the monster, ordered by grade number
+     */
+    public List<MonsterGrade> grades() {
+        return new Grades();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Monster monster = (Monster) o;
+        return columns == monster.columns && row == monster.row;
+    }
+
+    @Override
+    public int hashCode() {
+        return id();
+    }
+
+    @Override
+    public String toString() {
+        return "Monster{" + name() + " (" + id() + ")}";
+    }
+
+    final private class Grades extends AbstractList<MonsterGrade> implements RandomAccess {
+        @Override
+        public MonsterGrade get(int index) {
+            final MonsterGrade grade = grade(index + 1);
+
+            if (grade == null) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            return grade;
+        }
+
+        @Override
+        public int size() {
+            return columns.gradeCount(row);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import fr.arakne.swflangloader.parser.mapper.IntMap;
+
+import java.util.Arrays;
+
+/**
+ * Monsters data stored into packed arrays
+ * Each monster is stored at a row, and rows are ordered by monster id
+ * Grades of all monsters are stored into a second set of arrays, contiguous per monster
+ */
+final class MonsterColumns {
+    /**
+     * Number of resistances values per grade
+     */
+    final static int RESISTANCES_SIZE = 7;
+
+    final int[] ids;
+    final String[] names;
+    final int[] gfxIds;
+    final int[] races;
+    final int[] alignments;
+    final boolean[] kickable;
+
+    /**
+     * Index of the first grade of the monster row. The last element is the total number of grades
+     */
+    final int[] gradeOffsets;
+
+    /**
+     * Monster row of each grade
+     */
+    final int[] gradeRows;
+    final int[] levels;
+    final int[] lifePoints;
+    final int[] actionPoints;
+    final int[] movementPoints;
+
+    /**
+     * Packed resistances : {@link MonsterColumns#RESISTANCES_SIZE} values per grade
+     */
+    final int[] resistances;
+
+    MonsterColumns(IntMap<MonsterTemplate> templates) {
+        final int size = templates.size();
+        final int[] ids = new int[size];
+        final int[] row = new int[1];
+
+        templates.forEach((id, template) -> ids[row[0]++] = id);
+        Arrays.sort(ids);
+
+        this.ids = ids;
+        names = new String[size];
+        gfxIds = new int[size];
+        races = new int[size];
+        alignments = new int[size];
+        kickable = new boolean[size];
+        gradeOffsets = new int[size + 1];
+
+        final MonsterTemplate.GradeTemplate[][] grades = new MonsterTemplate.GradeTemplate[size][];
+        int gradeCount = 0;
+
+        for (int i = 0; i < size; ++i) {
+            final MonsterTemplate template = templates.get(ids[i]);
+
+            names[i] = template.n;
+            gfxIds[i] = template.g;
+            races[i] = template.b;
+            alignments[i] = template.a;
+            kickable[i] = template.k;
+            grades[i] = template.grades();
+            gradeOffsets[i] = gradeCount;
+            gradeCount += grades[i].length;
+        }
+
+        gradeOffsets[size] = gradeCount;
+        gradeRows = new int[gradeCount];
+        levels = new int[gradeCount];
+        lifePoints = new int[gradeCount];
+        actionPoints = new int[gradeCount];
+        movementPoints = new int[gradeCount];
+        resistances = new int[gradeCount * RESISTANCES_SIZE];
+
+        int grade = 0;
+
+        for (int i = 0; i < size; ++i) {
+            for (MonsterTemplate.GradeTemplate template : grades[i]) {
+                gradeRows[grade] = i;
+                levels[grade] = template.l;
+                lifePoints[grade] = template.lp;
+                actionPoints[grade] = template.ap;
+                movementPoints[grade] = template.mp;
+
+                if (template.r != null) {
+                    System.arraycopy(template.r, 0, resistances, grade * RESISTANCES_SIZE, Math.min(template.r.length, RESISTANCES_SIZE));
+                }
+
+                ++grade;
+            }
+        }
+    }
+
+    /**
+     * Get the row of a monster
+     *
+     * @param id The monster id
+     *
+     * @return The row, or a negative value if not found
+     */
+    int row(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    int gradeCount() {
+        return levels.length;
+    }
+
+    /**
+     * @return Number of grades of the monster row
+     */
+    int gradeCount(int row) {
+        return gradeOffsets[row + 1] - gradeOffsets[row];
+    }
+}
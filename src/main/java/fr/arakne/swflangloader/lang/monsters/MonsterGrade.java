@@ -0,0 +1,135 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import java.util.Arrays;
+
+import static fr.arakne.swflangloader.lang.monsters.MonsterColumns.RESISTANCES_SIZE;
+
+/**
+ * Characteristics of a monster for a given grade
+ * Life points, action points and movement points are only declared for some monsters, and are 0 otherwise
+ */
+final public class MonsterGrade {
+    // Index of the resistances values
+    final static public int RESISTANCE_NEUTRAL = 0;
+    final static public int RESISTANCE_EARTH = 1;
+    final static public int RESISTANCE_FIRE = 2;
+    final static public int RESISTANCE_WATER = 3;
+    final static public int RESISTANCE_AIR = 4;
+    final static public int DODGE_ACTION_POINTS = 5;
+    final static public int DODGE_MOVEMENT_POINTS = 6;
+
+    final private Monster monster;
+    final private MonsterColumns columns;
+    final private int grade;
+    final private int index;
+
+    MonsterGrade(Monster monster, MonsterColumns columns, int grade, int index) {
+        this.monster = monster;
+        this.columns = columns;
+        this.grade = grade;
+        this.index = index;
+    }
+
+    /**
+     * @return The monster
+     */
+    public Monster monster() {
+        return monster;
+    }
+
+    /**
+     * @return The grade number, starting at 1
+     */
+    public int grade() {
+        return grade;
+    }
+
+    /**
+     * @return The monster level
+     */
+    public int level() {
+        return columns.levels[index];
+    }
+
+    /**
+     * @return The life points, or 0 if not declared
+     */
+    public int lifePoints() {
+        return columns.lifePoints[index];
+    }
+
+    /**
+     * @return The action points, or 0 if not declared
+     */
+    public int actionPoints() {
+        return columns.actionPoints[index];
+    }
+
+    /**
+     * @return The movement points, or 0 if not declared
+     */
+    public int movementPoints() {
+        return columns.movementPoints[index];
+    }
+
+    /**
+     * Get a resistance value
+     *
+     * @param resistance The resistance index. Use one of the RESISTANCE_* or DODGE_* constants
+     *
+     * @return The value, in percent for elements resistances
+     */
+    public int resistance(int resistance) {
+        if (resistance < 0 || resistance >= RESISTANCES_SIZE) {
+            throw new IndexOutOfBoundsException("Invalid resistance " + resistance);
+        }
+
+        return columns.resistances[index * RESISTANCES_SIZE + resistance];
+    }
+
+    /**
+     * @return All resistances values, ordered like the RESISTANCE_* and DODGE_* constants
+     */
+    public int[] resistances() {
+        final int offset = index * RESISTANCES_SIZE;
+
+        return Arrays.copyOfRange(columns.resistances, offset, offset + RESISTANCES_SIZE);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonsterGrade other = (MonsterGrade) o;
+        return columns == other.columns && index == other.index;
+    }
+
+    @Override
+    public int hashCode() {
+        return monster.id() * 31 + grade;
+    }
+
+    @Override
+    public String toString() {
+        return "MonsterGrade{" + monster.name() + " (" + monster.id() + "), grade=" + grade + ", level=" + level() + "}";
+    }
+}
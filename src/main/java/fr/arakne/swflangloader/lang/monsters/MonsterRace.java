@@ -0,0 +1,75 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import java.util.Objects;
+
+/**
+ * Race of monsters (e.g. Bouftous, Larves...), or super race when declared on "MSR"
+ */
+final public class MonsterRace {
+    private int id;
+
+    private String n;
+    private int s;
+
+    /**
+     * @return The race id
+     */
+    public int id() {
+        return id;
+    }
+
+    /**
+     * @return The race name
+     */
+    public String name() {
+        return n;
+    }
+
+    /**
+     * @return The super race id
+     */
+    public int superRace() {
+        return s;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MonsterRace race = (MonsterRace) o;
+        return id == race.id && s == race.s;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, s);
+    }
+
+    @Override
+    public String toString() {
+        return "MonsterRace{" + n + " (" + id + ")}";
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import java.util.Arrays;
+
+/**
+ * Raw monster data, as declared on the lang file
+ * Converted to columns by {@link MonsterColumns} after loading
+ */
+final class MonsterTemplate {
+    String n;
+    int g;
+    int b;
+    int a;
+    boolean k;
+    GradeTemplate g1;
+    GradeTemplate g2;
+    GradeTemplate g3;
+    GradeTemplate g4;
+    GradeTemplate g5;
+    GradeTemplate g6;
+    GradeTemplate g7;
+    GradeTemplate g8;
+    GradeTemplate g9;
+    GradeTemplate g10;
+
+    /**
+     * @return The declared grades, until the first missing one
+     */
+    GradeTemplate[] grades() {
+        final GradeTemplate[] grades = new GradeTemplate[] {g1, g2, g3, g4, g5, g6, g7, g8, g9, g10};
+        int count = 0;
+
+        while (count < grades.length && grades[count] != null) {
+            ++count;
+        }
+
+        return count == grades.length ? grades : Arrays.copyOf(grades, count);
+    }
+
+    /**
+     * Raw grade data
+     */
+    final static class GradeTemplate {
+        int l;
+        int[] r;
+        int lp;
+        int ap;
+        int mp;
+    }
+}
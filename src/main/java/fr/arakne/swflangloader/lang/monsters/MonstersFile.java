@@ -0,0 +1,232 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import fr.arakne.swflangloader.lang.SortedIndex;
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
+import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.mapper.IntMap;
+import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
+import fr.arakne.swflangloader.parser.mapper.SwfVariable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The monsters lang file, containing monsters, their grades, and races
+ *
+ * Grades are stored into packed arrays, and indexed by level and by race :
+ * searching grades of a level band does not iterate over all monsters
+ *
+ * Usage:
+ * <pre>{@code
+ * MonstersFile monsters = new MonstersFile(new URL("http://my-lang.example.com/dofus/lang/swf/monsters_fr_369.swf"));
+ *
+ * monsters.get(36).grade(1).lifePoints(); // 30
+ * monsters.gradesByRace(9, 1, 20); // Grades of bouftous with level between 1 and 20
+ * }</pre>
+ */
+final public class MonstersFile extends AbstractSwfFile {
+    final static private MapperHydrator<MonstersFile> HYDRATOR = MapperHydrator.parseAnnotations(MonstersFile.class);
+
+    // Raw monsters, released once converted to columns
+    @SwfVariable("M")
+    final private IntMap<MonsterTemplate> templates = new IntMap<>();
+
+    @SwfVariable("MR")
+    final private IntMap<MonsterRace> races = new IntMap<>();
+
+    @SwfVariable("MSR")
+    final private IntMap<MonsterRace> superRaces = new IntMap<>();
+
+    private MonsterColumns columns;
+
+    /**
+     * Monster rows sorted by race, and id
+     */
+    private SortedIndex byRace;
+
+    /**
+     * Grades sorted by level, and monster id
+     */
+    private SortedIndex gradesByLevel;
+
+    /**
+     * Grades sorted by race, level, and monster id
+     */
+    private SortedIndex gradesByRaceAndLevel;
+
+    public MonstersFile(URL file, SwfFileLoader loader) throws IOException, InterruptedException {
+        loader.load(file, this, HYDRATOR);
+        init();
+    }
+
+    public MonstersFile(URL file) throws IOException, InterruptedException {
+        this(file, new SwfFileLoader());
+    }
+
+    public MonstersFile(File file) throws IOException, InterruptedException {
+        this(file.toURI().toURL(), new SwfFileLoader());
+    }
+
+    /**
+     * Get a monster by its id
+     *
+     * @param id The monster id
+     *
+     * @return The monster, or null if not found
+     */
+    public Monster get(int id) {
+        final int row = columns.row(id);
+
+        return row < 0 ? null : new Monster(this, columns, row);
+    }
+
+    /**
+     * Get a monster grade
+     *
+     * @param id The monster id
+     * @param grade The grade number, starting at 1
+     *
+     * @return The grade, or null if the monster or the grade is not found
+     */
+    public MonsterGrade grade(int id, int grade) {
+        final Monster monster = get(id);
+
+        return monster == null ? null : monster.grade(grade);
+    }
+
+    /**
+     * @return All available monsters, ordered by id
+     */
+    public List<Monster> all() {
+        return SortedIndex.rows(columns.size()).all(this::monster);
+    }
+
+    /**
+     * Get all monsters of the given race
+     *
+     * @param race The race id
+     *
+     * @return The monsters, ordered by id
+     */
+    public List<Monster> byRace(int race) {
+        final int[] races = columns.races;
+
+        return byRace.range(row -> races[row] < race, row -> races[row] <= race, this::monster);
+    }
+
+    /**
+     * Get the grades in the level range, for all monsters
+     *
+     * @param minLevel The minimal level, inclusive
+     * @param maxLevel The maximal level, inclusive
+     *
+     * @return The grades, ordered by level
+     */
+    public List<MonsterGrade> gradesByLevel(int minLevel, int maxLevel) {
+        final int[] levels = columns.levels;
+
+        return gradesByLevel.range(grade -> levels[grade] < minLevel, grade -> levels[grade] <= maxLevel, this::gradeAt);
+    }
+
+    /**
+     * Get the grades of monsters of the given race, in the level range
+     *
+     * @param race The race id
+     * @param minLevel The minimal level, inclusive
+     * @param maxLevel The maximal level, inclusive
+     *
+     * @return The grades, ordered by level
+     */
+    public List<MonsterGrade> gradesByRace(int race, int minLevel, int maxLevel) {
+        final int[] races = columns.races;
+        final int[] rows = columns.gradeRows;
+        final int[] levels = columns.levels;
+
+        return gradesByRaceAndLevel.range(
+            grade -> races[rows[grade]] < race || (races[rows[grade]] == race && levels[grade] < minLevel),
+            grade -> races[rows[grade]] < race || (races[rows[grade]] == race && levels[grade] <= maxLevel),
+            this::gradeAt
+        );
+    }
+
+    /**
+     * Get a monster race by its id
+     *
+     * @param id The race id
+     *
+     * @return The race, or null if not found
+     */
+    public MonsterRace race(int id) {
+        return races.get(id);
+    }
+
+    /**
+     * @return All available monster races
+     */
+    public Collection<MonsterRace> allRaces() {
+        return races.values();
+    }
+
+    /**
+     * Get a monster super race (i.e. group of races) by its id
+     *
+     * @param id The super race id
+     *
+     * @return The super race, or null if not found
+     *
+     * @see MonsterRace#superRace()
+     */
+    public MonsterRace superRace(int id) {
+        return superRaces.get(id);
+    }
+
+    private void init() {
+        races.compact();
+        superRaces.compact();
+        races.forEach((id, race) -> race.setId(id));
+        superRaces.forEach((id, race) -> race.setId(id));
+
+        columns = new MonsterColumns(templates);
+        templates.clear();
+
+        final int[] monsterRaces = columns.races;
+        final int[] gradeRows = columns.gradeRows;
+        final int[] levels = columns.levels;
+
+        byRace = SortedIndex.rows(columns.size()).sortBy(row -> monsterRaces[row]);
+        gradesByLevel = SortedIndex.rows(columns.gradeCount()).sortBy(grade -> levels[grade]);
+        gradesByRaceAndLevel = gradesByLevel.sortBy(grade -> monsterRaces[gradeRows[grade]]);
+    }
+
+    private Monster monster(int row) {
+        return new Monster(this, columns, row);
+    }
+
+    private MonsterGrade gradeAt(int index) {
+        final int row = columns.gradeRows[index];
+
+        return new MonsterGrade(new Monster(this, columns, row), columns, index - columns.gradeOffsets[row] + 1, index);
+    }
+}
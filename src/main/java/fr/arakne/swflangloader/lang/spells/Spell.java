@@ -0,0 +1,124 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Dofus spell
+ * The data are read from the packed arrays of the spells file, so this object is only a view on its row
+ */
+final public class Spell {
+    final private SpellColumns columns;
+    final private int row;
+
+    Spell(SpellColumns columns, int row) {
+        this.columns = columns;
+        this.row = row;
+    }
+
+    /**
+     * @return The spell id
+     */
+    public int id() {
+        return columns.ids[row];
+    }
+
+    /**
+     * @return The spell name
+     */
+    public String name() {
+        return columns.names[row];
+    }
+
+    /**
+     * @return The spell description
+     */
+    public String description() {
+        return columns.descriptions[row];
+    }
+
+    /**
+     * @return Number of available levels
+     */
+    public int maxLevel() {
+        return columns.levelCount(row);
+    }
+
+    /**
+     * Get a spell level
+     *
+     * @param level The level, starting at 1
+     *
+     * @return The spell level, or null if not available
+     */
+    public SpellLevel level(int level) {
+        if (level < 1 || level > maxLevel()) {
+            return null;
+        }
+
+        return new SpellLevel(this, columns, level, columns.levelOffsets[row] + level - 1);
+    }
+
+    /**
+     * @return All levels of the spell, ordered by level
+     */
+    public List<SpellLevel> levels() {
+        return new Levels();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Spell spell = (Spell) o;
+        return columns == spell.columns && row == spell.row;
+    }
+
+    @Override
+    public int hashCode() {
+        return id();
+    }
+
+    @Override
+    public String toString() {
+        return "Spell{" + name() + " (" + id() + ")}";
+    }
+
+    final private class Levels extends AbstractList<SpellLevel> implements RandomAccess {
+        @Override
+        public SpellLevel get(int index) {
+            final SpellLevel level = level(index + 1);
+
+            if (level == null) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            return level;
+        }
+
+        @Override
+        public int size() {
+            return maxLevel();
+        }
+    }
+}
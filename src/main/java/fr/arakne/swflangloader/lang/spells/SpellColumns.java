@@ -0,0 +1,250 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+import fr.arakne.swflangloader.parser.mapper.IntMap;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spells data stored into packed arrays
+ * Each spell is stored at a row, and rows are ordered by spell id
+ * Levels and effects are stored into int arrays, with a fixed number of values per element
+ */
+final class SpellColumns {
+    // Values of a level, on the levels array
+    final static int AP_COST = 0;
+    final static int MIN_RANGE = 1;
+    final static int MAX_RANGE = 2;
+    final static int CRITICAL_RATE = 3;
+    final static int FAILURE_RATE = 4;
+    final static int FLAGS = 5;
+    final static int CLASS_ID = 6;
+    final static int LAUNCH_PER_TURN = 7;
+    final static int LAUNCH_PER_TARGET = 8;
+    final static int DELAY = 9;
+    final static int MIN_PLAYER_LEVEL = 10;
+    final static int EFFECTS_START = 11;
+    final static int CRITICAL_EFFECTS_START = 12;
+    final static int EFFECTS_END = 13;
+    final static int LEVEL_SIZE = 14;
+
+    // Level flags
+    final static int FLAG_LINE_ONLY = 1;
+    final static int FLAG_LINE_OF_SIGHT = 2;
+    final static int FLAG_FREE_CELL = 4;
+    final static int FLAG_MODIFIABLE_RANGE = 8;
+    final static int FLAG_FAILURE_ENDS_TURN = 16;
+
+    // Values of an effect, on the effects array
+    final static int EFFECT_ID = 0;
+    final static int EFFECT_MIN = 1;
+    final static int EFFECT_MAX = 2;
+    final static int EFFECT_SPECIAL = 3;
+    final static int EFFECT_DURATION = 4;
+    final static int EFFECT_CHANCE = 5;
+    final static int EFFECT_SIZE = 6;
+
+    final static private int[] NO_STATES = new int[0];
+
+    final int[] ids;
+    final String[] names;
+    final String[] descriptions;
+
+    /**
+     * Index of the first level of the spell row. The last element is the total number of levels
+     */
+    final int[] levelOffsets;
+
+    /**
+     * Packed levels values : {@link SpellColumns#LEVEL_SIZE} values per level
+     */
+    final int[] levels;
+    final String[] effectZones;
+    final int[][] requiredStates;
+    final int[][] forbiddenStates;
+
+    /**
+     * Packed effects values : {@link SpellColumns#EFFECT_SIZE} values per effect
+     */
+    final int[] effects;
+
+    SpellColumns(IntMap<SpellTemplate> templates) {
+        final int size = templates.size();
+        final int[] ids = new int[size];
+        final int[] row = new int[1];
+
+        templates.forEach((id, template) -> ids[row[0]++] = id);
+        Arrays.sort(ids);
+
+        this.ids = ids;
+        names = new String[size];
+        descriptions = new String[size];
+        levelOffsets = new int[size + 1];
+
+        int levelCount = 0;
+        int effectCount = 0;
+
+        for (SpellTemplate template : templates.values()) {
+            for (Object[] level : template.levels()) {
+                ++levelCount;
+                effectCount += list(level, 0).size() + list(level, 1).size();
+            }
+        }
+
+        levels = new int[levelCount * LEVEL_SIZE];
+        effectZones = new String[levelCount];
+        requiredStates = new int[levelCount][];
+        forbiddenStates = new int[levelCount][];
+        effects = new int[effectCount * EFFECT_SIZE];
+
+        int level = 0;
+        int effect = 0;
+
+        for (int i = 0; i < size; ++i) {
+            final SpellTemplate template = templates.get(ids[i]);
+
+            names[i] = template.n;
+            descriptions[i] = template.d;
+            levelOffsets[i] = level;
+
+            for (Object[] values : template.levels()) {
+                final int offset = level * LEVEL_SIZE;
+
+                levels[offset + AP_COST] = intValue(values, 2);
+                levels[offset + MIN_RANGE] = intValue(values, 3);
+                levels[offset + MAX_RANGE] = intValue(values, 4);
+                levels[offset + CRITICAL_RATE] = intValue(values, 5);
+                levels[offset + FAILURE_RATE] = intValue(values, 6);
+                levels[offset + FLAGS] = flags(values);
+                levels[offset + CLASS_ID] = intValue(values, 11);
+                levels[offset + LAUNCH_PER_TURN] = intValue(values, 12);
+                levels[offset + LAUNCH_PER_TARGET] = intValue(values, 13);
+                levels[offset + DELAY] = intValue(values, 14);
+                levels[offset + MIN_PLAYER_LEVEL] = intValue(values, 18);
+
+                effectZones[level] = values.length > 15 && values[15] instanceof String ? (String) values[15] : "";
+                requiredStates[level] = states(list(values, 16));
+                forbiddenStates[level] = states(list(values, 17));
+
+                levels[offset + EFFECTS_START] = effect;
+                effect = addEffects(list(values, 0), effect);
+                levels[offset + CRITICAL_EFFECTS_START] = effect;
+                effect = addEffects(list(values, 1), effect);
+                levels[offset + EFFECTS_END] = effect;
+
+                ++level;
+            }
+        }
+
+        levelOffsets[size] = level;
+    }
+
+    /**
+     * Get the row of the spell
+     *
+     * @param id The spell id
+     *
+     * @return The row, or a negative value if not found
+     */
+    int row(int id) {
+        return Arrays.binarySearch(ids, id);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return Number of levels of the spell row
+     */
+    int levelCount(int row) {
+        return levelOffsets[row + 1] - levelOffsets[row];
+    }
+
+    private int addEffects(List<?> values, int effect) {
+        for (Object value : values) {
+            final Object[] effectValues = value instanceof Collection ? ((Collection<?>) value).toArray() : new Object[0];
+            final int offset = effect * EFFECT_SIZE;
+
+            for (int i = 0; i < EFFECT_SIZE; ++i) {
+                effects[offset + i] = intValue(effectValues, i);
+            }
+
+            ++effect;
+        }
+
+        return effect;
+    }
+
+    static private int flags(Object[] values) {
+        int flags = 0;
+
+        if (boolValue(values, 7)) flags |= FLAG_LINE_ONLY;
+        if (boolValue(values, 8)) flags |= FLAG_LINE_OF_SIGHT;
+        if (boolValue(values, 9)) flags |= FLAG_FREE_CELL;
+        if (boolValue(values, 10)) flags |= FLAG_MODIFIABLE_RANGE;
+        if (boolValue(values, 19)) flags |= FLAG_FAILURE_ENDS_TURN;
+
+        return flags;
+    }
+
+    static private int[] states(List<?> values) {
+        if (values.isEmpty()) {
+            return NO_STATES;
+        }
+
+        final int[] states = new int[values.size()];
+
+        for (int i = 0; i < states.length; ++i) {
+            final Object state = values.get(i);
+
+            states[i] = state instanceof Number ? ((Number) state).intValue() : 0;
+        }
+
+        return states;
+    }
+
+    /**
+     * Get an int value of the array. Null or missing values are returned as 0
+     */
+    static private int intValue(Object[] values, int index) {
+        if (index >= values.length || !(values[index] instanceof Number)) {
+            return 0;
+        }
+
+        return ((Number) values[index]).intValue();
+    }
+
+    static private boolean boolValue(Object[] values, int index) {
+        return index < values.length && Boolean.TRUE.equals(values[index]);
+    }
+
+    static private List<?> list(Object[] values, int index) {
+        if (index >= values.length || !(values[index] instanceof List)) {
+            return Collections.emptyList();
+        }
+
+        return (List<?>) values[index];
+    }
+}
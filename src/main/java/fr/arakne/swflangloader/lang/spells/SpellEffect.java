@@ -0,0 +1,83 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+import static fr.arakne.swflangloader.lang.spells.SpellColumns.*;
+
+/**
+ * Effect of a spell level
+ * Undefined parameters are returned as 0
+ */
+final public class SpellEffect {
+    final private int[] effects;
+    final private int offset;
+
+    SpellEffect(int[] effects, int offset) {
+        this.effects = effects;
+        this.offset = offset;
+    }
+
+    /**
+     * @return The effect id
+     */
+    public int effectId() {
+        return effects[offset + EFFECT_ID];
+    }
+
+    /**
+     * @return The minimal value, or the fixed value if there is no maximal value
+     */
+    public int min() {
+        return effects[offset + EFFECT_MIN];
+    }
+
+    /**
+     * @return The maximal value, or 0 if the value is fixed
+     */
+    public int max() {
+        return effects[offset + EFFECT_MAX];
+    }
+
+    /**
+     * @return The special parameter
+     */
+    public int special() {
+        return effects[offset + EFFECT_SPECIAL];
+    }
+
+    /**
+     * @return The duration in turns. 0 for an instant effect, -1 for an infinite effect
+     */
+    public int duration() {
+        return effects[offset + EFFECT_DURATION];
+    }
+
+    /**
+     * @return Probability of the effect, in percent. 0 if the effect is always applied
+     */
+    public int chance() {
+        return effects[offset + EFFECT_CHANCE];
+    }
+
+    @Override
+    public String toString() {
+        return "SpellEffect{effect=" + effectId() + ", min=" + min() + ", max=" + max() + ", duration=" + duration() + "}";
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import static fr.arakne.swflangloader.lang.spells.SpellColumns.*;
+
+/**
+ * Characteristics of a spell for a given level
+ */
+final public class SpellLevel {
+    final private Spell spell;
+    final private SpellColumns columns;
+    final private int level;
+    final private int index;
+    final private int offset;
+
+    SpellLevel(Spell spell, SpellColumns columns, int level, int index) {
+        this.spell = spell;
+        this.columns = columns;
+        this.level = level;
+        this.index = index;
+        this.offset = index * LEVEL_SIZE;
+    }
+
+    /**
+     * @return The spell
+     */
+    public Spell spell() {
+        return spell;
+    }
+
+    /**
+     * @return The level, starting at 1
+     */
+    public int level() {
+        return level;
+    }
+
+    /**
+     * @return Action points cost
+     */
+    public int apCost() {
+        return columns.levels[offset + AP_COST];
+    }
+
+    /**
+     * @return Minimal range
+     */
+    public int minRange() {
+        return columns.levels[offset + MIN_RANGE];
+    }
+
+    /**
+     * @return Maximal range
+     */
+    public int maxRange() {
+        return columns.levels[offset + MAX_RANGE];
+    }
+
+    /**
+     * @return Critical hit rate, as 1/x. 0 if the spell cannot make critical hits
+     */
+    public int criticalRate() {
+        return columns.levels[offset + CRITICAL_RATE];
+    }
+
+    /**
+     * @return Critical failure rate, as 1/x. 0 if the spell cannot make critical failures
+     */
+    public int failureRate() {
+        return columns.levels[offset + FAILURE_RATE];
+    }
+
+    /**
+     * @return true if the spell can only be cast in line
+     */
+    public boolean lineOnly() {
+        return hasFlag(FLAG_LINE_ONLY);
+    }
+
+    /**
+     * @return true if the spell needs a line of sight
+     */
+    public boolean lineOfSight() {
+        return hasFlag(FLAG_LINE_OF_SIGHT);
+    }
+
+    /**
+     * @return true if the target cell must be free
+     */
+    public boolean freeCell() {
+        return hasFlag(FLAG_FREE_CELL);
+    }
+
+    /**
+     * @return true if the range can be modified by boosts
+     */
+    public boolean modifiableRange() {
+        return hasFlag(FLAG_MODIFIABLE_RANGE);
+    }
+
+    /**
+     * @return true if a critical failure ends the turn
+     */
+    public boolean failureEndsTurn() {
+        return hasFlag(FLAG_FAILURE_ENDS_TURN);
+    }
+
+    /**
+     * @return The raw class id
+     */
+    public int classId() {
+        return columns.levels[offset + CLASS_ID];
+    }
+
+    /**
+     * @return Maximum number of casts per turn. 0 for no limit
+     */
+    public int launchPerTurn() {
+        return columns.levels[offset + LAUNCH_PER_TURN];
+    }
+
+    /**
+     * @return Maximum number of casts per target and per turn. 0 for no limit
+     */
+    public int launchPerTarget() {
+        return columns.levels[offset + LAUNCH_PER_TARGET];
+    }
+
+    /**
+     * @return Number of turns between two casts
+     */
+    public int delay() {
+        return columns.levels[offset + DELAY];
+    }
+
+    /**
+     * @return Minimal player level required to use this spell level
+     */
+    public int minPlayerLevel() {
+        return columns.levels[offset + MIN_PLAYER_LEVEL];
+    }
+
+    /**
+     * @return The raw effect zones : two chars per effect, for normal effects followed by critical effects
+     */
+    public String effectZones() {
+        return columns.effectZones[index];
+    }
+
+    /**
+     * @return States required for cast the spell
+     */
+    public int[] requiredStates() {
+        return columns.requiredStates[index];
+    }
+
+    /**
+     * @return States which forbid the spell cast
+     */
+    public int[] forbiddenStates() {
+        return columns.forbiddenStates[index];
+    }
+
+    /**
+     * @return The effects on normal hit
+     */
+    public List<SpellEffect> effects() {
+        return new Effects(columns.levels[offset + EFFECTS_START], columns.levels[offset + CRITICAL_EFFECTS_START]);
+    }
+
+    /**
+     * @return The effects on critical hit
+     */
+    public List<SpellEffect> criticalEffects() {
+        return new Effects(columns.levels[offset + CRITICAL_EFFECTS_START], columns.levels[offset + EFFECTS_END]);
+    }
+
+    @Override
+    public String toString() {
+        return "SpellLevel{" + spell.name() + " (" + spell.id() + "), level=" + level + "}";
+    }
+
+    private boolean hasFlag(int flag) {
+        return (columns.levels[offset + FLAGS] & flag) != 0;
+    }
+
+    final private class Effects extends AbstractList<SpellEffect> implements RandomAccess {
+        final private int from;
+        final private int to;
+
+        private Effects(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public SpellEffect get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            return new SpellEffect(columns.effects, (from + index) * EFFECT_SIZE);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+/**
+ * Raw spell data, as declared on the lang file
+ * Converted to packed arrays by {@link SpellColumns} after loading
+ */
+final class SpellTemplate {
+    String n;
+    String d;
+    Object[] l1;
+    Object[] l2;
+    Object[] l3;
+    Object[] l4;
+    Object[] l5;
+    Object[] l6;
+
+    /**
+     * @return Declared levels, until the first missing one
+     */
+    Object[][] levels() {
+        final Object[][] levels = {l1, l2, l3, l4, l5, l6};
+        int count = 0;
+
+        while (count < levels.length && levels[count] != null) {
+            ++count;
+        }
+
+        final Object[][] declared = new Object[count][];
+        System.arraycopy(levels, 0, declared, 0, count);
+
+        return declared;
+    }
+}
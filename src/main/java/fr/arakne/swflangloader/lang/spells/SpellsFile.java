@@ -0,0 +1,160 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+import fr.arakne.swflangloader.lang.classes.DofusClass;
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
+import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.parser.mapper.IntMap;
+import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
+import fr.arakne.swflangloader.parser.mapper.SwfVariable;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The spells lang file
+ * Levels and effects are stored into packed int arrays, and read without boxing
+ *
+ * Usage:
+ * <pre>{@code
+ * SpellsFile spells = new SpellsFile(new URL("http://my-lang.example.com/dofus/lang/swf/spells_fr_350.swf"));
+ *
+ * SpellLevel level = spells.level(3, 5);
+ *
+ * level.apCost(); // ...
+ * level.effects().get(0).min(); // ...
+ * }</pre>
+ */
+final public class SpellsFile extends AbstractSwfFile {
+    final static private MapperHydrator<SpellsFile> HYDRATOR = MapperHydrator.parseAnnotations(SpellsFile.class);
+
+    // Raw spells, released once converted to packed arrays
+    @SwfVariable("S")
+    final private IntMap<SpellTemplate> templates = new IntMap<>();
+
+    private SpellColumns columns;
+
+    public SpellsFile(URL file, SwfFileLoader loader) throws IOException, InterruptedException {
+        loader.load(file, this, HYDRATOR);
+        init();
+    }
+
+    public SpellsFile(URL file) throws IOException, InterruptedException {
+        this(file, new SwfFileLoader());
+    }
+
+    public SpellsFile(File file) throws IOException, InterruptedException {
+        this(file.toURI().toURL(), new SwfFileLoader());
+    }
+
+    /**
+     * Get a spell by its id
+     *
+     * @param id The spell id
+     *
+     * @return The spell, or null if not found
+     */
+    public Spell get(int id) {
+        final int row = columns.row(id);
+
+        return row < 0 ? null : new Spell(columns, row);
+    }
+
+    /**
+     * Get a spell level
+     *
+     * @param id The spell id
+     * @param level The level, starting at 1
+     *
+     * @return The spell level, or null if the spell or the level is not found
+     */
+    public SpellLevel level(int id, int level) {
+        final Spell spell = get(id);
+
+        return spell == null ? null : spell.level(level);
+    }
+
+    /**
+     * Get spells by their ids
+     * Spells not found are ignored
+     *
+     * @param ids The spells ids
+     *
+     * @return The spells, in the same order as the ids
+     */
+    public List<Spell> get(int[] ids) {
+        final List<Spell> spells = new ArrayList<>(ids.length);
+
+        for (int id : ids) {
+            final Spell spell = get(id);
+
+            if (spell != null) {
+                spells.add(spell);
+            }
+        }
+
+        return spells;
+    }
+
+    /**
+     * Get the spells of a class
+     *
+     * @param dofusClass The class
+     *
+     * @return The spells, in the same order as {@link DofusClass#spellIds()}
+     */
+    public List<Spell> classSpells(DofusClass dofusClass) {
+        return get(dofusClass.spellIds());
+    }
+
+    /**
+     * @return All available spells, ordered by id
+     */
+    public List<Spell> all() {
+        return new Spells();
+    }
+
+    private void init() {
+        columns = new SpellColumns(templates);
+        templates.clear();
+    }
+
+    final private class Spells extends AbstractList<Spell> implements RandomAccess {
+        @Override
+        public Spell get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            return new Spell(columns, index);
+        }
+
+        @Override
+        public int size() {
+            return columns.size();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+/**
+ * Define how {@link SwfFileLoader} identifies the cached data of a SWF file
+ */
+public enum CacheKey {
+    /**
+     * Use the SWF filename (i.e. [name]_[language]_[version])
+     */
+    FILENAME,
+
+    /**
+     * Use a digest of the SWF file content
+     * Identical files served from different URLs share the same cache, and a republished file is never served stale
+     * The URL to digest mapping is kept on an index file, and revalidated using the last modification date and size of the file
+     *
+     * @see ContentIndex
+     */
+    CONTENT,
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+/**
+ * Define which data are kept by {@link SwfFileLoader} on the temporary directory
+ */
+public enum CacheMode {
+    /**
+     * Nothing is kept : the SWF file is decompiled in memory, without writing any file
+     */
+    NONE,
+
+    /**
+     * Keep the decompiled action script files, to skip the decompilation on next load
+     */
+    SOURCES,
+
+    /**
+     * Keep the decompiled action script files, and a binary snapshot of the hydrated structure
+     * The snapshot is restored on next load, without any parsing
+     *
+     * Note: the snapshot is specific to the structure class, and only stores the SWF variables properties.
+     *       Values which cannot be stored (e.g. cyclic references) disable the snapshot for the given file.
+     */
+    SNAPSHOT,
+}
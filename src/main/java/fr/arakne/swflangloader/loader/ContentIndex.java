@@ -0,0 +1,183 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Index of SWF files digests, used by the content addressed cache
+ *
+ * Each URL is associated with the digest of the file, and the last modification date and size of the file when it was hashed.
+ * An entry is only valid if the file is not modified since.
+ *
+ * Note: this class is not thread safe, and the index file must be locked by the caller
+ */
+final class ContentIndex {
+    final private Path file;
+
+    /**
+     * Version of a SWF file, used to check if the indexed digest is still valid
+     */
+    final static public class FileVersion {
+        final private long lastModified;
+        final private long length;
+
+        public FileVersion(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        @Override
+        public String toString() {
+            return lastModified + ":" + length;
+        }
+    }
+
+    /**
+     * @param file The index file
+     */
+    public ContentIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Get the digest of the SWF file
+     *
+     * @param url The SWF file URL
+     * @param version The current version of the file
+     *
+     * @return The digest, or null if the file is not indexed, or has been modified
+     *
+     * @throws IOException When the index cannot be read
+     */
+    public String get(URL url, FileVersion version) throws IOException {
+        // The modification date is unknown : the file must be hashed
+        if (version.lastModified <= 0) {
+            return null;
+        }
+
+        final String entry = load().getProperty(url.toString());
+
+        if (entry == null) {
+            return null;
+        }
+
+        final String[] parts = entry.split(":", 2);
+
+        if (parts.length != 2 || !parts[1].equals(version.toString())) {
+            return null;
+        }
+
+        return parts[0];
+    }
+
+    /**
+     * Index the SWF file
+     *
+     * @param url The SWF file URL
+     * @param version The version of the file when it was hashed
+     * @param digest The file digest
+     *
+     * @throws IOException When the index cannot be written
+     */
+    public void put(URL url, FileVersion version, String digest) throws IOException {
+        final Properties properties = load();
+
+        properties.setProperty(url.toString(), digest + ":" + version);
+
+        Files.createDirectories(file.getParent());
+
+        final Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+        try (OutputStream stream = Files.newOutputStream(tmp)) {
+            properties.store(stream, null);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Get the current version of the SWF file, without downloading it
+     * Only local files and HTTP resources are supported. For other protocols, the modification date is unknown.
+     *
+     * @param url The SWF file URL
+     *
+     * @return The file version
+     *
+     * @throws IOException When the file metadata cannot be retrieved
+     */
+    static public FileVersion version(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                final Path path = Paths.get(url.toURI());
+
+                return new FileVersion(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return new FileVersion(0, -1);
+            }
+        }
+
+        final URLConnection connection = url.openConnection();
+
+        if (!(connection instanceof HttpURLConnection)) {
+            return new FileVersion(0, -1);
+        }
+
+        final HttpURLConnection httpConnection = (HttpURLConnection) connection;
+
+        try {
+            httpConnection.setRequestMethod("HEAD");
+
+            if (httpConnection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                return new FileVersion(0, -1);
+            }
+
+            return new FileVersion(httpConnection.getLastModified(), httpConnection.getContentLengthLong());
+        } finally {
+            httpConnection.disconnect();
+        }
+    }
+
+    private Properties load() throws IOException {
+        final Properties properties = new Properties();
+
+        if (Files.isRegularFile(file)) {
+            try (InputStream stream = Files.newInputStream(file)) {
+                properties.load(stream);
+            }
+        }
+
+        return properties;
+    }
+}
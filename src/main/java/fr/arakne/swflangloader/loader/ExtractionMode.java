@@ -0,0 +1,39 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+/**
+ * Define how {@link SwfFileLoader} extracts variables from the SWF file
+ */
+public enum ExtractionMode {
+    /**
+     * Export action script sources using the ffdec decompiler, and parse them line by line
+     * Exported files are kept on the temporary directory if the cache is enabled
+     */
+    DECOMPILER,
+
+    /**
+     * Interpret directly the SWF bytecode, without decompiler nor temporary files
+     * If the SWF file cannot be interpreted, the decompiler is used as fallback
+     *
+     * @see fr.arakne.swflangloader.parser.avm.SwfActionReader
+     */
+    NATIVE,
+}
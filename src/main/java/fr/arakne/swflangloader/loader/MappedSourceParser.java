@@ -0,0 +1,188 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Parse a cached action script file by mapping it in memory
+ *
+ * Lines are split directly on the UTF-8 bytes, and the variable name is checked before decoding the line :
+ * lines of variables which are not parsed by the hydrator (i.e. undeclared or not projected) are never decoded
+ *
+ * Note: the mapping is released by the garbage collector, so the file should not be modified while the loader is used
+ */
+final class MappedSourceParser {
+    final static private Logger LOGGER = LoggerFactory.getLogger(SwfFileLoader.class);
+    final static private int WINDOW_SIZE = 64 * 1024;
+
+    final private ByteBuffer buffer;
+
+    /**
+     * Bytes of the mapped file are copied by chunks into this window, to be scanned without bound checks of the buffer
+     * The window is grown if a line does not fit
+     */
+    private byte[] window = new byte[WINDOW_SIZE];
+    private int size = 0;
+
+    private MappedSourceParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Parse the action script file, and hydrate the target
+     *
+     * @param file The action script file. Must be UTF-8 encoded
+     * @param target The structure to hydrate
+     * @param hydrator The hydrator to use
+     *
+     * @param <T> The structure type
+     *
+     * @throws IOException When the file cannot be read
+     */
+    static public <T> void parse(Path file, T target, MapperHydrator<T> hydrator) throws IOException {
+        final ByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + file + " is too large");
+            }
+
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        new MappedSourceParser(buffer).parse(target, hydrator);
+    }
+
+    private <T> void parse(T target, MapperHydrator<T> hydrator) {
+        int start = 0;
+        int end = 0;
+
+        for (;;) {
+            while (end < size && window[end] != '\n') {
+                ++end;
+            }
+
+            if (end < size) {
+                parseLine(start, end, target, hydrator);
+                start = ++end;
+                continue;
+            }
+
+            if (!buffer.hasRemaining()) {
+                parseLine(start, end, target, hydrator);
+                return;
+            }
+
+            // The line is not complete : move it to the start of the window, and read the next chunk
+            end -= start;
+            fill(start);
+            start = 0;
+        }
+    }
+
+    /**
+     * Keep the window bytes from the given offset, and read the next chunk of the file
+     */
+    private void fill(int from) {
+        size -= from;
+        System.arraycopy(window, from, window, 0, size);
+
+        if (size == window.length) {
+            final byte[] newWindow = new byte[window.length * 2];
+            System.arraycopy(window, 0, newWindow, 0, size);
+            window = newWindow;
+        }
+
+        final int length = Math.min(window.length - size, buffer.remaining());
+
+        buffer.get(window, size, length);
+        size += length;
+    }
+
+    private <T> void parseLine(int start, int end, T target, MapperHydrator<T> hydrator) {
+        if (end > start && window[end - 1] == '\r') {
+            --end;
+        }
+
+        if (!isParsed(start, end, hydrator)) {
+            return;
+        }
+
+        final String line = new String(window, start, end - start, StandardCharsets.UTF_8);
+
+        try {
+            hydrator.hydrate(target, line);
+        } catch (RuntimeException e) {
+            LOGGER.error("[SWF] Error while parsing line: {}", line, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Check if the line should be decoded and parsed
+     * The line must be an assignation (i.e. ends with ";"), and the variable must be parsed by the hydrator
+     */
+    private boolean isParsed(int start, int end, MapperHydrator<?> hydrator) {
+        if (end == start || window[end - 1] != ';') {
+            return false;
+        }
+
+        while (start < end && (window[start] & 0xFF) <= ' ') {
+            ++start;
+        }
+
+        int nameEnd = start;
+
+        for (; nameEnd < end; ++nameEnd) {
+            final byte b = window[nameEnd];
+
+            if (b == '=' || b == '[') {
+                break;
+            }
+
+            // Non ASCII variable name : let the parser check the decoded line
+            if (b < 0) {
+                return true;
+            }
+        }
+
+        if (nameEnd == end) {
+            return false;
+        }
+
+        while (nameEnd > start && (window[nameEnd - 1] & 0xFF) <= ' ') {
+            --nameEnd;
+        }
+
+        return hydrator.accepts(new String(window, start, nameEnd - start, StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,820 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import fr.arakne.swflangloader.parser.CompactValue;
+import fr.arakne.swflangloader.parser.LazyJson;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary snapshot of hydrated structure properties
+ *
+ * The format is a tagged binary stream, starting with a magic number, the format version and the structure class name.
+ * Class layouts (i.e. fields names and types) are stored on first use, and checked on read :
+ * a snapshot created with a different version of the classes is rejected.
+ * Short strings (like JSON keys) are also stored on first use, and then referenced by their index.
+ * On read, only the classes reachable from the declared property types can be instantiated : other classes are rejected.
+ */
+final class StructureSnapshot {
+    final static private int MAGIC = 0x534C5353; // SLSS
+    final static private short FORMAT_VERSION = 3;
+
+    final static private byte TAG_NULL = 0;
+    final static private byte TAG_TRUE = 1;
+    final static private byte TAG_FALSE = 2;
+    final static private byte TAG_INT = 3;
+    final static private byte TAG_LONG = 4;
+    final static private byte TAG_DOUBLE = 5;
+    final static private byte TAG_FLOAT = 6;
+    final static private byte TAG_SHORT = 7;
+    final static private byte TAG_BYTE = 8;
+    final static private byte TAG_CHAR = 9;
+    final static private byte TAG_STRING = 10;
+    final static private byte TAG_INT_ARRAY = 11;
+    final static private byte TAG_ARRAY = 12;
+    final static private byte TAG_LIST = 13;
+    final static private byte TAG_MAP = 14;
+    final static private byte TAG_ENUM = 15;
+    final static private byte TAG_OBJECT = 16;
+    final static private byte TAG_JSON_NULL = 17;
+    final static private byte TAG_JSON_TRUE = 18;
+    final static private byte TAG_JSON_FALSE = 19;
+    final static private byte TAG_JSON_INT = 20;
+    final static private byte TAG_JSON_DOUBLE = 21;
+    final static private byte TAG_JSON_NUMBER = 22;
+    final static private byte TAG_JSON_STRING = 23;
+    final static private byte TAG_JSON_ARRAY = 24;
+    final static private byte TAG_JSON_OBJECT = 25;
+    final static private byte TAG_JSON_LAZY = 26;
+    final static private byte TAG_JSON_LAZY_COMPACT = 27;
+    final static private byte TAG_COMPACT = 28;
+
+    /**
+     * Maximum length, in bytes, of strings stored into the strings table
+     */
+    final static private int SHARED_STRING_MAX_LENGTH = 64;
+
+    final static private Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> type : new Class<?>[] {int.class, long.class, double.class, float.class, short.class, byte.class, char.class, boolean.class}) {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    /**
+     * Write the snapshot file
+     * The file is first written to a temporary file, and then moved, so a partial snapshot can never be read
+     *
+     * @param file The snapshot file
+     * @param type The structure class
+     * @param values The properties values
+     *
+     * @throws IOException When a value cannot be stored, or the file cannot be written
+     */
+    static public void write(Path file, Class<?> type, Map<String, Object> values) throws IOException {
+        // Use a unique temporary file, so the same snapshot can be written concurrently
+        final Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 65536))) {
+            final Writer writer = new Writer(out);
+
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            writer.writeString(type.getName());
+
+            out.writeInt(values.size());
+
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write(entry.getValue());
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e instanceof IOException ? (IOException) e : new IOException("Cannot write snapshot: " + e.getMessage(), e);
+        }
+
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Read the snapshot file
+     *
+     * @param file The snapshot file
+     * @param type The structure class
+     * @param propertyTypes The declared property types. Only these classes, and the classes of their fields, can be instantiated
+     *
+     * @return The properties values
+     *
+     * @throws IOException When the snapshot is invalid or outdated, or the file cannot be read
+     *
+     * @see fr.arakne.swflangloader.parser.mapper.MapperHydrator#propertyTypes()
+     */
+    static public Map<String, Object> read(Path file, Class<?> type, Collection<Class<?>> propertyTypes) throws IOException {
+        // The whole file is loaded to decode it without stream overhead
+        final Reader reader = new Reader(Files.readAllBytes(file), allowedClasses(propertyTypes));
+
+        try {
+            if (reader.readInt() != MAGIC || reader.readShort() != FORMAT_VERSION || !reader.readString().equals(type.getName())) {
+                throw new IOException("Invalid snapshot header");
+            }
+
+            final int size = reader.readLength();
+            final Map<String, Object> values = new HashMap<>();
+
+            for (int i = 0; i < size; ++i) {
+                final Object varName = reader.read();
+                values.put((String) varName, reader.read());
+            }
+
+            return values;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IOException("Invalid snapshot: " + e, e);
+        }
+    }
+
+    /**
+     * Layout of a stored class
+     */
+    final static private class ClassLayout {
+        final private int id;
+        final private Class<?> type;
+        final private Field[] fields;
+
+        public ClassLayout(int id, Class<?> type, Field[] fields) {
+            this.id = id;
+            this.type = type;
+            this.fields = fields;
+        }
+    }
+
+    final static private class Writer {
+        final private DataOutputStream out;
+        final private Map<Class<?>, ClassLayout> classes = new HashMap<>();
+        final private Map<String, Integer> strings = new HashMap<>();
+        final private Set<Object> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        public Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        public void write(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(TAG_NULL);
+            } else if (value instanceof String) {
+                out.writeByte(TAG_STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(TAG_INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Boolean) {
+                out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof Double) {
+                out.writeByte(TAG_DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Long) {
+                out.writeByte(TAG_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(TAG_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Short) {
+                out.writeByte(TAG_SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(TAG_BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                out.writeByte(TAG_CHAR);
+                out.writeChar((Character) value);
+            } else if (value instanceof JsonElement) {
+                writeJson((JsonElement) value);
+            } else if (value instanceof LazyJson) {
+                writeLazyJson((LazyJson) value);
+            } else if (value instanceof CompactValue) {
+                out.writeByte(TAG_COMPACT);
+                writeJson(((CompactValue) value).toJson());
+            } else if (value instanceof Enum) {
+                out.writeByte(TAG_ENUM);
+                writeClass(((Enum<?>) value).getDeclaringClass(), false);
+                writeString(((Enum<?>) value).name());
+            } else {
+                enter(value);
+
+                if (value instanceof int[]) {
+                    writeIntArray((int[]) value);
+                } else if (value.getClass().isArray()) {
+                    writeArray(value);
+                } else if (value instanceof Map) {
+                    writeMap((Map<?, ?>) value);
+                } else if (value instanceof List) {
+                    writeList((List<?>) value);
+                } else {
+                    writeObject(value);
+                }
+
+                visiting.remove(value);
+            }
+        }
+
+        private void enter(Object value) throws IOException {
+            if (!visiting.add(value)) {
+                throw new IOException("Cyclic reference on " + value.getClass().getName());
+            }
+        }
+
+        private void writeIntArray(int[] array) throws IOException {
+            out.writeByte(TAG_INT_ARRAY);
+            out.writeInt(array.length);
+
+            for (int value : array) {
+                out.writeInt(value);
+            }
+        }
+
+        private void writeArray(Object array) throws IOException {
+            final int length = Array.getLength(array);
+
+            out.writeByte(TAG_ARRAY);
+            writeClass(array.getClass().getComponentType(), false);
+            out.writeInt(length);
+
+            for (int i = 0; i < length; ++i) {
+                write(Array.get(array, i));
+            }
+        }
+
+        private void writeMap(Map<?, ?> map) throws IOException {
+            out.writeByte(TAG_MAP);
+            out.writeInt(map.size());
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(entry.getKey());
+                write(entry.getValue());
+            }
+        }
+
+        private void writeList(List<?> list) throws IOException {
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+
+            for (Object value : list) {
+                write(value);
+            }
+        }
+
+        private void writeObject(Object value) throws IOException {
+            out.writeByte(TAG_OBJECT);
+
+            final ClassLayout layout = writeClass(value.getClass(), true);
+
+            try {
+                for (Field field : layout.fields) {
+                    write(field.get(value));
+                }
+            } catch (IllegalAccessException e) {
+                throw new IOException(e);
+            }
+        }
+
+        /**
+         * Keep the source of a not yet parsed value, to keep it lazy on read
+         */
+        private void writeLazyJson(LazyJson value) throws IOException {
+            final String source = value.source();
+
+            if (source == null) {
+                write(value.value());
+            } else {
+                out.writeByte(value.isCompact() ? TAG_JSON_LAZY_COMPACT : TAG_JSON_LAZY);
+                writeString(source);
+            }
+        }
+
+        private void writeJson(JsonElement element) throws IOException {
+            if (element.isJsonNull()) {
+                out.writeByte(TAG_JSON_NULL);
+            } else if (element.isJsonArray()) {
+                final JsonArray array = element.getAsJsonArray();
+
+                out.writeByte(TAG_JSON_ARRAY);
+                out.writeInt(array.size());
+
+                for (JsonElement item : array) {
+                    writeJson(item);
+                }
+            } else if (element.isJsonObject()) {
+                final Set<Map.Entry<String, JsonElement>> entries = element.getAsJsonObject().entrySet();
+
+                out.writeByte(TAG_JSON_OBJECT);
+                out.writeInt(entries.size());
+
+                for (Map.Entry<String, JsonElement> entry : entries) {
+                    writeString(entry.getKey());
+                    writeJson(entry.getValue());
+                }
+            } else {
+                writeJsonPrimitive(element.getAsJsonPrimitive());
+            }
+        }
+
+        private void writeJsonPrimitive(JsonPrimitive primitive) throws IOException {
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? TAG_JSON_TRUE : TAG_JSON_FALSE);
+            } else if (primitive.isString()) {
+                out.writeByte(TAG_JSON_STRING);
+                writeString(primitive.getAsString());
+            } else {
+                final Number number = primitive.getAsNumber();
+
+                if (number instanceof Integer) {
+                    out.writeByte(TAG_JSON_INT);
+                    out.writeInt(number.intValue());
+                } else if (number instanceof Double) {
+                    out.writeByte(TAG_JSON_DOUBLE);
+                    out.writeDouble(number.doubleValue());
+                } else {
+                    // Keep the number representation (e.g. lazily parsed number)
+                    out.writeByte(TAG_JSON_NUMBER);
+                    writeString(number.toString());
+                }
+            }
+        }
+
+        /**
+         * Write the class reference. The class layout is written on first use.
+         * The fields are only stored for objects, and set to -1 for other types (arrays, enums)
+         */
+        private ClassLayout writeClass(Class<?> type, boolean withFields) throws IOException {
+            ClassLayout layout = classes.get(type);
+
+            if (layout != null) {
+                out.writeInt(layout.id);
+                return layout;
+            }
+
+            final Field[] fields = withFields ? fields(type) : new Field[0];
+
+            layout = new ClassLayout(classes.size(), type, fields);
+            classes.put(type, layout);
+
+            out.writeInt(-1);
+            writeString(type.getName());
+            out.writeInt(withFields ? fields.length : -1);
+
+            for (Field field : fields) {
+                writeString(field.getName());
+                writeString(field.getType().getName());
+            }
+
+            return layout;
+        }
+
+        /**
+         * Write a string
+         * A short string is stored on first use, and then written as its index into the strings table
+         * A negative length is used to reference a stored string
+         */
+        public void writeString(String value) throws IOException {
+            final Integer index = strings.get(value);
+
+            if (index != null) {
+                out.writeInt(-index - 1);
+                return;
+            }
+
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            out.writeInt(bytes.length);
+            out.write(bytes);
+
+            if (bytes.length <= SHARED_STRING_MAX_LENGTH) {
+                strings.put(value, strings.size());
+            }
+        }
+    }
+
+    final static private class Reader {
+        final private byte[] data;
+        final private Map<String, Class<?>> allowedClasses;
+        final private List<String> strings = new ArrayList<>();
+        final private List<ClassLayout> classes = new ArrayList<>();
+        final private Map<Class<?>, Constructor<?>> constructors = new HashMap<>();
+
+        private int position = 0;
+
+        public Reader(byte[] data, Map<String, Class<?>> allowedClasses) {
+            this.data = data;
+            this.allowedClasses = allowedClasses;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object read() throws IOException, ReflectiveOperationException {
+            final byte tag = readByte();
+
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_TRUE:
+                    return true;
+                case TAG_FALSE:
+                    return false;
+                case TAG_INT:
+                    return readInt();
+                case TAG_LONG:
+                    return readLong();
+                case TAG_DOUBLE:
+                    return readDouble();
+                case TAG_FLOAT:
+                    return readFloat();
+                case TAG_SHORT:
+                    return readShort();
+                case TAG_BYTE:
+                    return readByte();
+                case TAG_CHAR:
+                    return readChar();
+                case TAG_STRING:
+                    return readString();
+
+                case TAG_INT_ARRAY: {
+                    final int[] array = new int[readLength()];
+
+                    for (int i = 0; i < array.length; ++i) {
+                        array[i] = readInt();
+                    }
+
+                    return array;
+                }
+
+                case TAG_ARRAY: {
+                    final Class<?> component = readClass().type;
+                    final Object array = Array.newInstance(component, readLength());
+
+                    for (int i = 0; i < Array.getLength(array); ++i) {
+                        Array.set(array, i, read());
+                    }
+
+                    return array;
+                }
+
+                case TAG_LIST: {
+                    final int size = readLength();
+                    final List<Object> list = new ArrayList<>(size);
+
+                    for (int i = 0; i < size; ++i) {
+                        list.add(read());
+                    }
+
+                    return list;
+                }
+
+                case TAG_MAP: {
+                    final int size = readLength();
+                    final Map<Object, Object> map = new HashMap<>();
+
+                    for (int i = 0; i < size; ++i) {
+                        final Object key = read();
+                        map.put(key, read());
+                    }
+
+                    return map;
+                }
+
+                case TAG_ENUM:
+                    return Enum.valueOf((Class) readClass().type, readString());
+
+                case TAG_OBJECT:
+                    return readObject();
+
+                case TAG_JSON_LAZY:
+                    return new LazyJson(readString());
+
+                case TAG_JSON_LAZY_COMPACT:
+                    return new LazyJson(readString(), true);
+
+                case TAG_COMPACT:
+                    return CompactValue.compact(readJson(readByte()));
+
+                default:
+                    return readJson(tag);
+            }
+        }
+
+        private JsonElement readJson(byte tag) throws IOException {
+            switch (tag) {
+                case TAG_JSON_NULL:
+                    return JsonNull.INSTANCE;
+                case TAG_JSON_TRUE:
+                    return new JsonPrimitive(true);
+                case TAG_JSON_FALSE:
+                    return new JsonPrimitive(false);
+                case TAG_JSON_INT:
+                    return new JsonPrimitive(readInt());
+                case TAG_JSON_DOUBLE:
+                    return new JsonPrimitive(readDouble());
+                case TAG_JSON_NUMBER:
+                    return JsonParser.parseString(readString());
+                case TAG_JSON_STRING:
+                    return new JsonPrimitive(readString());
+
+                case TAG_JSON_ARRAY: {
+                    final int size = readLength();
+                    final JsonArray array = new JsonArray();
+
+                    for (int i = 0; i < size; ++i) {
+                        array.add(readJson(readByte()));
+                    }
+
+                    return array;
+                }
+
+                case TAG_JSON_OBJECT: {
+                    final int size = readLength();
+                    final JsonObject object = new JsonObject();
+
+                    for (int i = 0; i < size; ++i) {
+                        final String key = readString();
+                        object.add(key, readJson(readByte()));
+                    }
+
+                    return object;
+                }
+
+                default:
+                    throw new IOException("Invalid snapshot tag " + tag);
+            }
+        }
+
+        private Object readObject() throws IOException, ReflectiveOperationException {
+            final ClassLayout layout = readClass();
+            Constructor<?> constructor = constructors.get(layout.type);
+
+            if (constructor == null) {
+                constructor = layout.type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                constructors.put(layout.type, constructor);
+            }
+
+            final Object object = constructor.newInstance();
+
+            for (Field field : layout.fields) {
+                field.set(object, read());
+            }
+
+            return object;
+        }
+
+        private ClassLayout readClass() throws IOException, ReflectiveOperationException {
+            final int id = readInt();
+
+            if (id >= 0) {
+                if (id >= classes.size()) {
+                    throw new IOException("Invalid class reference " + id);
+                }
+
+                return classes.get(id);
+            }
+
+            final String name = readString();
+            final Class<?> type = allowedClasses.get(name);
+
+            if (type == null) {
+                throw new IOException("The class " + name + " is not allowed");
+            }
+
+            final int fieldsCount = readInt();
+            final Field[] currentFields = fieldsCount >= 0 ? fields(type) : new Field[0];
+
+            if (fieldsCount >= 0 && currentFields.length != fieldsCount) {
+                throw new IOException("The class " + name + " has changed");
+            }
+
+            for (Field field : currentFields) {
+                if (!field.getName().equals(readString()) || !field.getType().getName().equals(readString())) {
+                    throw new IOException("The class " + name + " has changed");
+                }
+            }
+
+            final ClassLayout layout = new ClassLayout(classes.size(), type, currentFields);
+            classes.add(layout);
+
+            return layout;
+        }
+
+
+        public String readString() throws IOException {
+            final int length = readInt();
+
+            if (length < 0) {
+                final int index = -length - 1;
+
+                if (index >= strings.size()) {
+                    throw new IOException("Invalid string reference " + index);
+                }
+
+                return strings.get(index);
+            }
+
+            final String value = new String(data, skip(length), length, StandardCharsets.UTF_8);
+
+            if (length <= SHARED_STRING_MAX_LENGTH) {
+                strings.add(value);
+            }
+
+            return value;
+        }
+
+        public int readLength() throws IOException {
+            final int length = readInt();
+
+            if (length < 0) {
+                throw new IOException("Invalid length " + length);
+            }
+
+            return length;
+        }
+
+        public int readInt() throws IOException {
+            final int offset = skip(4);
+
+            return (data[offset] & 0xFF) << 24
+                | (data[offset + 1] & 0xFF) << 16
+                | (data[offset + 2] & 0xFF) << 8
+                | (data[offset + 3] & 0xFF)
+            ;
+        }
+
+        public long readLong() throws IOException {
+            return (long) readInt() << 32 | (readInt() & 0xFFFFFFFFL);
+        }
+
+        public double readDouble() throws IOException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        public float readFloat() throws IOException {
+            return Float.intBitsToFloat(readInt());
+        }
+
+        public short readShort() throws IOException {
+            final int offset = skip(2);
+
+            return (short) ((data[offset] & 0xFF) << 8 | (data[offset + 1] & 0xFF));
+        }
+
+        public char readChar() throws IOException {
+            return (char) readShort();
+        }
+
+        public byte readByte() throws IOException {
+            return data[skip(1)];
+        }
+
+        /**
+         * Move the cursor forward
+         *
+         * @param length Number of bytes to skip
+         *
+         * @return The offset before the move
+         */
+        private int skip(int length) throws IOException {
+            final int offset = position;
+
+            if (length > data.length - offset) {
+                throw new IOException("Unexpected end of snapshot");
+            }
+
+            position += length;
+
+            return offset;
+        }
+    }
+
+    /**
+     * Get the classes which can be read from a snapshot : primitives, the given types, and recursively the types of their fields
+     *
+     * @param types The declared property types
+     *
+     * @return The classes, indexed by their name
+     */
+    static private Map<String, Class<?>> allowedClasses(Collection<Class<?>> types) {
+        final Map<String, Class<?>> classes = new HashMap<>(PRIMITIVES);
+
+        for (Class<?> type : types) {
+            addReachableClasses(type, classes);
+        }
+
+        return classes;
+    }
+
+    static private void addReachableClasses(Type type, Map<String, Class<?>> classes) {
+        if (type instanceof ParameterizedType) {
+            addReachableClasses(((ParameterizedType) type).getRawType(), classes);
+
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                addReachableClasses(argument, classes);
+            }
+
+            return;
+        }
+
+        if (type instanceof GenericArrayType) {
+            addReachableClasses(((GenericArrayType) type).getGenericComponentType(), classes);
+            return;
+        }
+
+        // Type variables and wildcards are not resolved : their values will be rejected
+        if (!(type instanceof Class) || classes.putIfAbsent(((Class<?>) type).getName(), (Class<?>) type) != null) {
+            return;
+        }
+
+        final Class<?> current = (Class<?>) type;
+
+        if (current.isArray()) {
+            addReachableClasses(current.getComponentType(), classes);
+            return;
+        }
+
+        // JDK classes, enums and JSON values are not stored as objects, so their fields are not followed
+        if (current.isEnum() || current.getName().startsWith("java.") || JsonElement.class.isAssignableFrom(current)
+            || CompactValue.class.isAssignableFrom(current) || current == LazyJson.class
+        ) {
+            return;
+        }
+
+        for (Field field : fields(current)) {
+            addReachableClasses(field.getGenericType(), classes);
+        }
+    }
+
+    /**
+     * Get all stored fields of the class, including parent ones
+     */
+    static private Field[] fields(Class<?> type) {
+        final List<Class<?>> hierarchy = new ArrayList<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.add(0, current);
+        }
+
+        final List<Field> fields = new ArrayList<>();
+
+        for (Class<?> current : hierarchy) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers()) || field.isSynthetic()) {
+                    continue;
+                }
+
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+
+        return fields.toArray(new Field[0]);
+    }
+}
@@ -21,8 +21,13 @@ package fr.arakne.swflangloader.loader;
 
 import com.jpexs.decompiler.flash.AbortRetryIgnoreHandler;
 import com.jpexs.decompiler.flash.SWF;
+import com.jpexs.decompiler.flash.configuration.Configuration;
 import com.jpexs.decompiler.flash.exporters.modes.ScriptExportMode;
 import com.jpexs.decompiler.flash.exporters.settings.ScriptExportSettings;
+import com.jpexs.decompiler.flash.helpers.HighlightedTextWriter;
+import com.jpexs.decompiler.flash.tags.base.ASMSource;
+import fr.arakne.swflangloader.parser.avm.SwfActionReader;
+import fr.arakne.swflangloader.parser.avm.UnsupportedSwfException;
 import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,8 +36,10 @@ import java.io.*;
 import java.net.URL;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.Collections;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -41,9 +48,29 @@ import java.util.stream.Stream;
  */
 final public class SwfFileLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(SwfFileLoader.class);
+    private final static String SNAPSHOT_EXTENSION = ".snapshot";
+    private final static String INDEX_FILE = "index.properties";
+    private final static String DIGEST_ALGORITHM = "SHA-256";
+    private final static int LOCK_STRIPES = 32;
+
+    /**
+     * Locks of the output directories
+     * A file is locked using the stripe of its output directory, so distinct files can be loaded concurrently
+     * Locks are shared by all loaders, to handle loaders using the same temporary directory
+     */
+    private final static Object[] LOCKS = new Object[LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < LOCKS.length; ++i) {
+            LOCKS[i] = new Object();
+        }
+    }
 
     final private Path tempDir;
-    final private boolean cache;
+    final private CacheMode cache;
+    final private ExtractionMode mode;
+    final private CacheKey key;
+    final private ContentIndex index;
 
     public SwfFileLoader() {
         this(Paths.get("./tmp"), true);
@@ -51,15 +78,47 @@ final public class SwfFileLoader {
 
     /**
      * @param tempDir The temporary directory used for extract action script files
-     * @param cache Enable cache (i.e. keep tmp files)
+     * @param cache Enable cache (i.e. keep tmp files). If disabled, files are decompiled in memory
      */
     public SwfFileLoader(Path tempDir, boolean cache) {
+        this(tempDir, cache, ExtractionMode.DECOMPILER);
+    }
+
+    /**
+     * @param tempDir The temporary directory used for extract action script files
+     * @param cache Enable cache (i.e. keep tmp files)
+     * @param mode The variables extraction strategy
+     */
+    public SwfFileLoader(Path tempDir, boolean cache, ExtractionMode mode) {
+        this(tempDir, cache ? CacheMode.SOURCES : CacheMode.NONE, mode);
+    }
+
+    /**
+     * @param tempDir The temporary directory used for extract action script files, and store snapshots
+     * @param cache The cache mode
+     * @param mode The variables extraction strategy
+     */
+    public SwfFileLoader(Path tempDir, CacheMode cache, ExtractionMode mode) {
+        this(tempDir, cache, mode, CacheKey.FILENAME);
+    }
+
+    /**
+     * @param tempDir The temporary directory used for extract action script files, and store snapshots
+     * @param cache The cache mode
+     * @param mode The variables extraction strategy
+     * @param key The cache key. Ignored if the cache is disabled.
+     */
+    public SwfFileLoader(Path tempDir, CacheMode cache, ExtractionMode mode, CacheKey key) {
         this.tempDir = tempDir;
         this.cache = cache;
+        this.mode = mode;
+        this.key = key;
+        this.index = new ContentIndex(tempDir.resolve(INDEX_FILE));
     }
 
     /**
      * Load the SWF file and hydrate the target structure
+     * This method is thread safe : distinct files are loaded concurrently, but loading of a same file is serialized
      *
      * @param file SWF file URL
      * @param target The target structure
@@ -70,29 +129,35 @@ final public class SwfFileLoader {
      * @throws IOException When error occurs during loading the SWF file
      * @throws InterruptedException When the loading is cancelled
      */
-    public synchronized <T extends AbstractSwfFile> void load(URL file, T target, MapperHydrator<T> hydrator) throws IOException, InterruptedException {
+    public <T extends AbstractSwfFile> void load(URL file, T target, MapperHydrator<T> hydrator) throws IOException, InterruptedException {
         LOGGER.debug("[SWF] Loading {} to {}", file, target.getClass().getSimpleName());
 
         final String filename = extractFilename(file);
         parseFilename(target, filename);
 
-        Path outdir = tempDir.resolve(filename);
-        Files.createDirectories(outdir);
+        final SwfSource source = new SwfSource(file);
+        final Path outdir = tempDir.resolve(key == CacheKey.CONTENT && cache != CacheMode.NONE ? digest(source) : filename);
+        final Path snapshot = cache == CacheMode.SNAPSHOT
+            ? outdir.resolve(target.getClass().getName() + SNAPSHOT_EXTENSION)
+            : null
+        ;
 
-        try {
-            List<File> sources = loadFilesFromCache(outdir);
-
-            if (sources.isEmpty()) {
-                LOGGER.debug("[SWF] {} is not cached. Load from SWF", file);
-                sources = loadFilesFromSwf(file, outdir);
+        synchronized (lock(outdir)) {
+            if (snapshot != null && loadFromSnapshot(snapshot, target, hydrator)) {
+                return;
             }
 
-            for (File source : sources) {
-                parseFile(source, target, hydrator);
+            if (mode != ExtractionMode.NATIVE || !loadFromBytecode(source, target, hydrator)) {
+                if (cache == CacheMode.NONE) {
+                    loadFromMemory(source, target, hydrator);
+                } else {
+                    loadFromSources(source, outdir, target, hydrator);
+                }
             }
-        } finally {
-            if (!cache) {
-                clearTemp(tempDir);
+
+            // A partial structure must not be used as cache
+            if (snapshot != null && !hydrator.isPartial()) {
+                saveSnapshot(snapshot, target, hydrator);
             }
         }
     }
@@ -106,6 +171,52 @@ final public class SwfFileLoader {
         clearTemp(tempDir);
     }
 
+    /**
+     * Get the lock of the output directory
+     */
+    private Object lock(Path outdir) {
+        return LOCKS[(outdir.toAbsolutePath().normalize().hashCode() & Integer.MAX_VALUE) % LOCKS.length];
+    }
+
+    /**
+     * Get the digest of the SWF file content, used as cache key
+     * The digest is retrieved from the index if the file is not modified, otherwise the file is downloaded and hashed
+     */
+    private String digest(SwfSource source) throws IOException {
+        final ContentIndex.FileVersion version = ContentIndex.version(source.url);
+        final Path indexFile = tempDir.resolve(INDEX_FILE);
+        String digest;
+
+        synchronized (lock(indexFile)) {
+            digest = index.get(source.url, version);
+        }
+
+        if (digest != null) {
+            return digest;
+        }
+
+        try {
+            final byte[] hash = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(source.download());
+            final StringBuilder sb = new StringBuilder(hash.length * 2);
+
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+
+            digest = sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        LOGGER.debug("[SWF] {} indexed with digest {}", source.url, digest);
+
+        synchronized (lock(indexFile)) {
+            index.put(source.url, version, digest);
+        }
+
+        return digest;
+    }
+
     private String extractFilename(URL file) {
         final String path = file.getFile();
         final int filenamePos = path.lastIndexOf('/');
@@ -130,8 +241,106 @@ final public class SwfFileLoader {
         }
     }
 
-    private List<File> loadFilesFromSwf(URL url, Path outdir) throws IOException, InterruptedException {
-        try (InputStream stream = url.openStream()) {
+    /**
+     * Extract action script sources, or load them from cache, and parse them
+     */
+    private <T> void loadFromSources(SwfSource swf, Path outdir, T target, MapperHydrator<T> hydrator) throws IOException, InterruptedException {
+        Files.createDirectories(outdir);
+
+        for (File source : extractSources(swf, outdir)) {
+            parseFile(source, target, hydrator);
+        }
+    }
+
+    /**
+     * Decompile action script sources in memory, and parse them
+     * No files are written
+     */
+    private <T> void loadFromMemory(SwfSource file, T target, MapperHydrator<T> hydrator) throws IOException, InterruptedException {
+        LOGGER.debug("[SWF] Decompile {} in memory (extraction mode: {}, cache mode: {})", file.url, mode, cache);
+
+        final SWF swf;
+
+        try (InputStream stream = file.open()) {
+            swf = new SWF(stream, false);
+        }
+
+        for (ASMSource source : swf.getASMs(false).values()) {
+            final HighlightedTextWriter writer = new HighlightedTextWriter(Configuration.getCodeFormatting(), false);
+
+            source.getActionScriptSource(writer, null);
+            writer.finishHilights();
+
+            parseLines(new BufferedReader(new StringReader(writer.toString())), target, hydrator);
+        }
+    }
+
+    private List<File> extractSources(SwfSource file, Path outdir) throws IOException, InterruptedException {
+        final List<File> sources = loadFilesFromCache(outdir);
+
+        if (!sources.isEmpty()) {
+            return sources;
+        }
+
+        LOGGER.debug("[SWF] {} is not cached. Decompile to {} (extraction mode: {}, cache mode: {})", file.url, outdir, mode, cache);
+
+        return loadFilesFromSwf(file, outdir);
+    }
+
+    /**
+     * Restore the structure from its snapshot
+     *
+     * @return false if the snapshot is not available or invalid
+     */
+    private <T> boolean loadFromSnapshot(Path snapshot, T target, MapperHydrator<T> hydrator) {
+        if (!Files.isRegularFile(snapshot)) {
+            return false;
+        }
+
+        final Map<String, Object> values;
+
+        try {
+            values = StructureSnapshot.read(snapshot, target.getClass(), hydrator.propertyTypes());
+        } catch (IOException e) {
+            LOGGER.warn("[SWF] Cannot read snapshot {}: {}", snapshot, e.getMessage());
+            return false;
+        }
+
+        LOGGER.debug("[SWF] {} loaded from snapshot", snapshot);
+        hydrator.restore(target, values);
+
+        return true;
+    }
+
+    private <T> void saveSnapshot(Path snapshot, T target, MapperHydrator<T> hydrator) {
+        try {
+            Files.createDirectories(snapshot.getParent());
+            StructureSnapshot.write(snapshot, target.getClass(), hydrator.export(target));
+        } catch (IOException e) {
+            LOGGER.warn("[SWF] Cannot write snapshot {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    /**
+     * Interpret the SWF actions to hydrate the target
+     * The target is not modified if the SWF cannot be interpreted, so it can be hydrated by the decompiler
+     *
+     * @return false if the SWF cannot be interpreted, and the decompiler should be used
+     */
+    private <T> boolean loadFromBytecode(SwfSource source, T target, MapperHydrator<T> hydrator) throws IOException {
+        try (InputStream stream = source.open()) {
+            new SwfActionReader().read(stream, (varName, key, value) -> hydrator.hydrate(target, varName, key, value));
+
+            return true;
+        } catch (UnsupportedSwfException e) {
+            LOGGER.warn("[SWF] Cannot interpret {} ({}). Fallback to decompiler", source.url, e.getMessage());
+
+            return false;
+        }
+    }
+
+    private List<File> loadFilesFromSwf(SwfSource source, Path outdir) throws IOException, InterruptedException {
+        try (InputStream stream = source.open()) {
             SWF swf = new SWF(stream, false);
 
             return swf.exportActionScript(
@@ -155,10 +364,6 @@ final public class SwfFileLoader {
     }
 
     private List<File> loadFilesFromCache(Path cacheDir) throws IOException {
-        if (!cache) {
-            return Collections.emptyList();
-        }
-
         try (final Stream<Path> files = Files.walk(cacheDir)) {
             return files
                 .filter(Files::isRegularFile)
@@ -171,16 +376,24 @@ final public class SwfFileLoader {
 
     /**
      * Parse file lines
+     * The file is mapped in memory, and decoded as UTF-8
+     *
+     * @see MappedSourceParser
      */
     private <T> void parseFile(File file, T target, MapperHydrator<T> hydrator) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file.toPath())))) {
-            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-                try {
-                    hydrator.hydrate(target, line);
-                } catch (Exception e) {
-                    LOGGER.error("[SWF] Error while parsing line: {}", line, e);
-                    throw e;
-                }
+        MappedSourceParser.parse(file.toPath(), target, hydrator);
+    }
+
+    /**
+     * Parse all lines of the sources
+     */
+    private <T> void parseLines(BufferedReader reader, T target, MapperHydrator<T> hydrator) throws IOException {
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            try {
+                hydrator.hydrate(target, line);
+            } catch (Exception e) {
+                LOGGER.error("[SWF] Error while parsing line: {}", line, e);
+                throw e;
             }
         }
     }
@@ -209,4 +422,38 @@ final public class SwfFileLoader {
             }
         });
     }
+
+    /**
+     * The SWF file to load
+     * The content is kept in memory once downloaded, to ensure that the hashed content is the parsed one
+     */
+    final static private class SwfSource {
+        final private URL url;
+        private byte[] content;
+
+        public SwfSource(URL url) {
+            this.url = url;
+        }
+
+        public InputStream open() throws IOException {
+            return content != null ? new ByteArrayInputStream(content) : url.openStream();
+        }
+
+        public byte[] download() throws IOException {
+            if (content != null) {
+                return content;
+            }
+
+            try (InputStream stream = url.openStream()) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[8192];
+
+                for (int len; (len = stream.read(buffer)) != -1;) {
+                    out.write(buffer, 0, len);
+                }
+
+                return content = out.toByteArray();
+            }
+        }
+    }
 }
@@ -72,6 +72,26 @@ final public class Assignation {
         return key != null;
     }
 
+    /**
+     * Send the assignation to the visitor
+     * Nothing is done on a null assignation
+     *
+     * @param visitor The visitor
+     * @param context The visitor context
+     * @param <C> The context type
+     */
+    public <C> void visit(AssignationVisitor<C> visitor, C context) {
+        if (isNull()) {
+            return;
+        }
+
+        if (isAssociative()) {
+            visitor.associative(context, variableName, key, value);
+        } else {
+            visitor.simple(context, variableName, value);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
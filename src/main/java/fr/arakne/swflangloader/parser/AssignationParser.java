@@ -19,9 +19,14 @@
 
 package fr.arakne.swflangloader.parser;
 
+import com.google.gson.JsonElement;
+
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Parse action script assignations
@@ -29,9 +34,28 @@ import java.util.Map;
  */
 final public class AssignationParser {
     final static private String[] CAST_FUNCTIONS = new String[] {"Boolean", "String", "Number"};
+    final static private String CONCATENATION = "\" + \"";
+    final static private AssignationType IGNORED = new AssignationType() {};
+    final static private AssignationVisitor<Assignation[]> COLLECTOR = new AssignationVisitor<Assignation[]>() {
+        @Override
+        public void simple(Assignation[] context, String varName, Object value) {
+            context[0] = Assignation.simple(varName, value);
+        }
+
+        @Override
+        public void associative(Assignation[] context, String varName, Object key, Object value) {
+            context[0] = new Assignation(varName, key, value);
+        }
+    };
 
     final private Map<String, AssignationType> declaredTypes = new HashMap<>();
-    final private AssignationType defaultType = new DefaultAssignationType();
+    private AssignationType defaultType = new DefaultAssignationType();
+    private boolean lazyUndeclared = false;
+    private boolean compactUndeclared = false;
+    private String[] declaredNames = new String[0];
+    private boolean ignoreUndeclared = false;
+    private Set<String> projection = null;
+    private String[] projectedNames = null;
 
     /**
      * Declare a variable
@@ -43,6 +67,70 @@ final public class AssignationParser {
      */
     public AssignationParser declare(String varName, AssignationType type) {
         declaredTypes.put(varName, type);
+        declaredNames = declaredTypes.keySet().toArray(new String[0]);
+
+        return this;
+    }
+
+    /**
+     * Ignore undeclared variables
+     * If enabled, the value of undeclared variables is not parsed, and a null assignation is returned
+     *
+     * @param ignore true to ignore undeclared variables
+     *
+     * @return this
+     */
+    public AssignationParser ignoreUndeclared(boolean ignore) {
+        ignoreUndeclared = ignore;
+
+        return this;
+    }
+
+    /**
+     * Do not parse the values of undeclared variables, but keep them as {@link LazyJson}
+     * Only applies on action script sources : values decoded from the SWF bytecode are already parsed
+     *
+     * @param lazy true to parse the values on first access
+     *
+     * @return this
+     */
+    public AssignationParser lazyUndeclared(boolean lazy) {
+        lazyUndeclared = lazy;
+        defaultType = new DefaultAssignationType(lazy, compactUndeclared);
+
+        return this;
+    }
+
+    /**
+     * Parse objects and arrays of undeclared variables as {@link CompactValue} instead of JsonElement
+     *
+     * @param compact true to use the compact representation
+     *
+     * @return this
+     */
+    public AssignationParser compactUndeclared(boolean compact) {
+        compactUndeclared = compact;
+        defaultType = new DefaultAssignationType(lazyUndeclared, compact);
+
+        return this;
+    }
+
+    /**
+     * Only parse the given variables, declared or not
+     * The value of other variables is not parsed, and a null assignation is returned
+     *
+     * @param variables Variables names to parse. Use null to parse all variables
+     *
+     * @return this
+     */
+    public AssignationParser project(Collection<String> variables) {
+        if (variables == null) {
+            projection = null;
+            projectedNames = null;
+        } else {
+            projection = new HashSet<>(variables);
+            projectedNames = projection.toArray(new String[0]);
+        }
 
         return this;
     }
@@ -96,74 +184,237 @@ final public class AssignationParser {
         return declareMap(varName, String.class, type);
     }
 
+    /**
+     * Check if the assignations of the given variable are parsed
+     * Can be used to skip a line before decoding it
+     *
+     * @param varName The variable name. For associative assignation, the key must not be included
+     *
+     * @return false if the assignation will be ignored
+     *
+     * @see AssignationParser#ignoreUndeclared(boolean)
+     * @see AssignationParser#project(Collection)
+     */
+    public boolean accepts(String varName) {
+        if (projection != null && !projection.contains(varName)) {
+            return false;
+        }
+
+        return !ignoreUndeclared || declaredTypes.containsKey(varName);
+    }
+
     /**
      * Parse an action script line to get the assignation
      *
+     * The line is scanned by index : the variable name, key and value spans are found in one pass,
+     * and substrings are only created for the result
+     * When undeclared variables are ignored, or variables are projected, the variable name is checked before scanning the value
+     *
      * @param line Line to parse
      *
      * @return The assignation
+     *
+     * @see AssignationParser#parseLine(String, AssignationVisitor, Object) To parse without creating the assignation
      */
     public Assignation parseLine(String line) {
-        if (!line.endsWith(";")) {
-            return Assignation.NULL;
+        final Assignation[] assignation = new Assignation[] {Assignation.NULL};
+
+        parseLine(line, COLLECTOR, assignation);
+
+        return assignation[0];
+    }
+
+    /**
+     * Parse an action script line, and send the assignation to the visitor
+     * The visitor is not called if the line is not a valid assignation, or if the variable is ignored
+     *
+     * @param line Line to parse
+     * @param visitor The assignation visitor
+     * @param context The context given to the visitor
+     * @param <C> The context type
+     */
+    public <C> void parseLine(String line, AssignationVisitor<C> visitor, C context) {
+        final int length = line.length();
+
+        if (length == 0 || line.charAt(length - 1) != ';') {
+            return;
         }
 
         final int eqPos = line.indexOf('=');
 
         if (eqPos == -1) {
-            return Assignation.NULL;
+            return;
         }
 
-        final String left = line.substring(0, eqPos).trim();
-        final String right = handleConcatenation(
-            removeCastFunctions(
-                line.substring(eqPos + 1, line.length() - 1).trim()
-            )
-        );
+        // Left part : [leftStart, leftEnd[
+        int leftStart = 0;
+        int leftEnd = eqPos;
 
-        if (left.isEmpty() || right.isEmpty()) {
-            return Assignation.NULL;
+        while (leftStart < leftEnd && line.charAt(leftStart) <= ' ') {
+            ++leftStart;
         }
 
-        if (left.endsWith("]")) {
-            return parseAssoc(left, right);
-        } else {
-            return parseSimple(left, right);
+        while (leftEnd > leftStart && line.charAt(leftEnd - 1) <= ' ') {
+            --leftEnd;
+        }
+
+        if (
+            leftStart == leftEnd
+            || (ignoreUndeclared && !startsWithVariable(declaredNames, line, leftStart, leftEnd))
+            || (projectedNames != null && !startsWithVariable(projectedNames, line, leftStart, leftEnd))
+        ) {
+            return;
         }
+
+        // Right part : [rightStart, rightEnd[, without the trailing ";"
+        int rightStart = eqPos + 1;
+        int rightEnd = length - 1;
+
+        while (rightStart < rightEnd && line.charAt(rightStart) <= ' ') {
+            ++rightStart;
+        }
+
+        while (rightEnd > rightStart && line.charAt(rightEnd - 1) <= ' ') {
+            --rightEnd;
+        }
+
+        // Remove cast functions
+        for (String func : CAST_FUNCTIONS) {
+            final int funcEnd = rightStart + func.length();
+
+            if (
+                funcEnd < rightEnd
+                && line.startsWith(func, rightStart)
+                && line.charAt(funcEnd) == '('
+                && line.charAt(rightEnd - 1) == ')'
+            ) {
+                rightStart = funcEnd + 1;
+                --rightEnd;
+            }
+        }
+
+        final String value = value(line, rightStart, rightEnd);
+
+        if (value.isEmpty()) {
+            return;
+        }
+
+        if (line.charAt(leftEnd - 1) != ']') {
+            final String varName = line.substring(leftStart, leftEnd);
+
+            type(varName).visitSimple(varName, value, visitor, context);
+            return;
+        }
+
+        final int assocOpen = line.indexOf('[', leftStart);
+
+        if (assocOpen == -1 || assocOpen >= leftEnd) {
+            return;
+        }
+
+        final String varName = line.substring(leftStart, assocOpen);
+        final String key = line.substring(assocOpen + 1, leftEnd - 1);
+
+        type(varName).visitAssociative(varName, key, value, visitor, context);
     }
 
-    private Assignation parseAssoc(String left, String right) {
-        final int assocOpen = left.indexOf('[');
+    /**
+     * Parse an assignation already decoded from the SWF bytecode
+     * The key and value are converted to the declared variable type
+     *
+     * @param varName The variable name
+     * @param key The assignation key. Null if not associative assignation
+     * @param value The assigned value
+     *
+     * @return The assignation
+     */
+    public Assignation parse(String varName, JsonElement key, JsonElement value) {
+        final Assignation[] assignation = new Assignation[] {Assignation.NULL};
+
+        parse(varName, key, value, COLLECTOR, assignation);
+
+        return assignation[0];
+    }
 
-        if (assocOpen == -1) {
-            return Assignation.NULL;
+    /**
+     * Parse an assignation already decoded from the SWF bytecode, and send it to the visitor
+     *
+     * @param varName The variable name
+     * @param key The assignation key. Null if not associative assignation
+     * @param value The assigned value
+     * @param visitor The assignation visitor
+     * @param context The context given to the visitor
+     * @param <C> The context type
+     *
+     * @see AssignationParser#parse(String, JsonElement, JsonElement)
+     */
+    public <C> void parse(String varName, JsonElement key, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        if (projection != null && !projection.contains(varName)) {
+            return;
         }
 
-        final String varName = left.substring(0, assocOpen);
-        final String key = left.substring(assocOpen + 1, left.length() - 1);
+        final AssignationType type = type(varName);
 
-        return declaredTypes.getOrDefault(varName, defaultType).parseAssociative(varName, key, right);
+        if (key == null) {
+            type.visitSimple(varName, value, visitor, context);
+        } else {
+            type.visitAssociative(varName, key, value, visitor, context);
+        }
     }
 
-    private Assignation parseSimple(String varName, String value) {
-        return declaredTypes.getOrDefault(varName, defaultType).parseSimple(varName, value);
+    /**
+     * Get the type of the variable
+     * Undeclared variables use the default type, or are ignored
+     */
+    private AssignationType type(String varName) {
+        final AssignationType type = declaredTypes.get(varName);
+
+        if (type != null) {
+            return type;
+        }
+
+        return ignoreUndeclared ? IGNORED : defaultType;
     }
 
-    private String removeCastFunctions(String value) {
-        for (String func : CAST_FUNCTIONS) {
-            if (value.startsWith(func) && value.charAt(func.length()) == '(' && value.charAt(value.length() - 1) == ')') {
-                value = value.substring(func.length() + 1, value.length() - 1);
+    /**
+     * Check, without extracting the variable name, if the left part of the assignation starts with one of the given variables
+     * followed by the end of the left part or by a map key
+     */
+    static private boolean startsWithVariable(String[] names, String line, int leftStart, int leftEnd) {
+        for (String name : names) {
+            final int nameEnd = leftStart + name.length();
+
+            if (
+                nameEnd <= leftEnd
+                && line.startsWith(name, leftStart)
+                && (nameEnd == leftEnd || line.charAt(nameEnd) == '[')
+            ) {
+                return true;
             }
         }
 
-        return value;
+        return false;
     }
 
     /**
-     * Remove simple string concatenation
+     * Extract the value, and remove simple string concatenation
      * See: https://github.com/Arakne/SwfLangLoader/issues/1
      */
-    private String handleConcatenation(String value) {
-        return value.replaceAll("\" \\+ \"", "");
+    private String value(String line, int start, int end) {
+        int concatPos = line.indexOf(CONCATENATION, start);
+
+        if (concatPos == -1 || concatPos + CONCATENATION.length() > end) {
+            return line.substring(start, end);
+        }
+
+        final StringBuilder value = new StringBuilder(end - start);
+
+        do {
+            value.append(line, start, concatPos);
+            start = concatPos + CONCATENATION.length();
+            concatPos = line.indexOf(CONCATENATION, start);
+        } while (concatPos != -1 && concatPos + CONCATENATION.length() <= end);
+
+        return value.append(line, start, end).toString();
     }
 }
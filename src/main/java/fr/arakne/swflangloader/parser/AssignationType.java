@@ -19,6 +19,8 @@
 
 package fr.arakne.swflangloader.parser;
 
+import com.google.gson.JsonElement;
+
 /**
  * Assignation type
  */
@@ -47,4 +49,87 @@ public interface AssignationType {
     default public Assignation parseAssociative(String varName, String key, String value) {
         return Assignation.NULL;
     }
+
+    /**
+     * Parse a simple assignation from an already decoded value
+     * Used when the value is extracted from the SWF bytecode instead of action script sources
+     *
+     * @param varName The assigned variable name
+     * @param value The decoded value
+     *
+     * @return The assignation
+     */
+    default public Assignation parseSimple(String varName, JsonElement value) {
+        return Assignation.NULL;
+    }
+
+    /**
+     * Parse a map assignation from an already decoded key and value
+     * Used when the value is extracted from the SWF bytecode instead of action script sources
+     *
+     * @param varName The assigned variable name
+     * @param key The decoded key
+     * @param value The decoded value
+     *
+     * @return The assignation
+     */
+    default public Assignation parseAssociative(String varName, JsonElement key, JsonElement value) {
+        return Assignation.NULL;
+    }
+
+    /**
+     * Parse a simple assignation, and send it to the visitor
+     * By default, the assignation returned by {@link AssignationType#parseSimple(String, String)} is visited
+     *
+     * @param varName The assigned variable name
+     * @param value The assigned raw value
+     * @param visitor The visitor
+     * @param context The visitor context
+     * @param <C> The context type
+     */
+    default public <C> void visitSimple(String varName, String value, AssignationVisitor<C> visitor, C context) {
+        parseSimple(varName, value).visit(visitor, context);
+    }
+
+    /**
+     * Parse a map assignation, and send it to the visitor
+     * By default, the assignation returned by {@link AssignationType#parseAssociative(String, String, String)} is visited
+     *
+     * @param varName The assigned variable name
+     * @param key The assignation raw key
+     * @param value The assigned raw value
+     * @param visitor The visitor
+     * @param context The visitor context
+     * @param <C> The context type
+     */
+    default public <C> void visitAssociative(String varName, String key, String value, AssignationVisitor<C> visitor, C context) {
+        parseAssociative(varName, key, value).visit(visitor, context);
+    }
+
+    /**
+     * Send a simple assignation decoded from the SWF bytecode to the visitor
+     *
+     * @param varName The assigned variable name
+     * @param value The decoded value
+     * @param visitor The visitor
+     * @param context The visitor context
+     * @param <C> The context type
+     */
+    default public <C> void visitSimple(String varName, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        parseSimple(varName, value).visit(visitor, context);
+    }
+
+    /**
+     * Send a map assignation decoded from the SWF bytecode to the visitor
+     *
+     * @param varName The assigned variable name
+     * @param key The decoded key
+     * @param value The decoded value
+     * @param visitor The visitor
+     * @param context The visitor context
+     * @param <C> The context type
+     */
+    default public <C> void visitAssociative(String varName, JsonElement key, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        parseAssociative(varName, key, value).visit(visitor, context);
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+/**
+ * Receive the parsed assignations, without creating an {@link Assignation} instance
+ * Null assignations (i.e. ignored or invalid lines) are not visited
+ *
+ * @param <C> The context type, passed as is by the parser. Allows to share a visitor instance between parsed structures.
+ *
+ * @see AssignationParser#parseLine(String, AssignationVisitor, Object)
+ */
+public interface AssignationVisitor<C> {
+    /**
+     * Visit a simple (i.e. not associative) assignation
+     *
+     * @param context The context given to the parser
+     * @param varName The assigned variable name
+     * @param value The assigned value
+     */
+    public void simple(C context, String varName, Object value);
+
+    /**
+     * Visit a map assignation
+     *
+     * @param context The context given to the parser
+     * @param varName The assigned variable name
+     * @param key The assignation key
+     * @param value The assigned value
+     */
+    public void associative(C context, String varName, Object key, Object value);
+}
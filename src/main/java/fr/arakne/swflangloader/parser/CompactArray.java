@@ -0,0 +1,210 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Arrays;
+
+/**
+ * Compact and immutable JSON array
+ * Arrays of numbers are stored into an int[] or a double[]
+ */
+final public class CompactArray extends CompactValue {
+    final private int[] ints;
+    final private double[] doubles;
+
+    /**
+     * Mixed values : String, Double, Boolean, CompactValue or null
+     */
+    final private Object[] values;
+
+    CompactArray(int[] ints) {
+        this(ints, null, null);
+    }
+
+    CompactArray(double[] doubles) {
+        this(null, doubles, null);
+    }
+
+    CompactArray(Object[] values) {
+        this(null, null, values);
+    }
+
+    private CompactArray(int[] ints, double[] doubles, Object[] values) {
+        this.ints = ints;
+        this.doubles = doubles;
+        this.values = values;
+    }
+
+    /**
+     * @return Number of elements
+     */
+    public int size() {
+        if (ints != null) {
+            return ints.length;
+        }
+
+        return doubles != null ? doubles.length : values.length;
+    }
+
+    /**
+     * Get an element as JSON
+     *
+     * @param index The element index
+     *
+     * @return The JSON value
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public JsonElement json(int index) {
+        if (ints != null) {
+            return new JsonPrimitive(ints[index]);
+        }
+
+        if (doubles != null) {
+            return number(doubles[index]);
+        }
+
+        return toJson(values[index], 0);
+    }
+
+    /**
+     * Get an element as integer
+     *
+     * @param index The element index
+     *
+     * @return The value as int
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public int integer(int index) {
+        if (ints != null) {
+            return ints[index];
+        }
+
+        if (doubles != null) {
+            return (int) doubles[index];
+        }
+
+        return values[index] instanceof Double ? ((Double) values[index]).intValue() : json(index).getAsInt();
+    }
+
+    /**
+     * Get an element as double
+     *
+     * @param index The element index
+     *
+     * @return The value as double
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public double decimal(int index) {
+        if (ints != null) {
+            return ints[index];
+        }
+
+        if (doubles != null) {
+            return doubles[index];
+        }
+
+        return values[index] instanceof Double ? (Double) values[index] : json(index).getAsDouble();
+    }
+
+    /**
+     * Get an element as string
+     *
+     * @param index The element index
+     *
+     * @return The value as string
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public String string(int index) {
+        if (values != null && values[index] instanceof String) {
+            return (String) values[index];
+        }
+
+        return json(index).getAsString();
+    }
+
+    /**
+     * Get an element
+     *
+     * @param index The element index
+     *
+     * @return The value : Integer, Double, String, Boolean, CompactValue, or null
+     * @throws IndexOutOfBoundsException When the index is out of bounds
+     */
+    public Object get(int index) {
+        if (ints != null) {
+            return ints[index];
+        }
+
+        if (doubles != null) {
+            return doubles[index];
+        }
+
+        return values[index];
+    }
+
+    @Override
+    public JsonArray toJson() {
+        final int size = size();
+        final JsonArray array = new JsonArray(size);
+
+        for (int i = 0; i < size; ++i) {
+            array.add(json(i));
+        }
+
+        return array;
+    }
+
+    /**
+     * Check equality with another CompactArray
+     * A JsonArray with the same values is not equal : use {@link CompactArray#toJson()} for comparing with JSON elements
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof CompactArray)) {
+            return false;
+        }
+
+        final CompactArray other = (CompactArray) o;
+
+        return Arrays.equals(ints, other.ints) && Arrays.equals(doubles, other.doubles) && Arrays.equals(values, other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        if (ints != null) {
+            return Arrays.hashCode(ints);
+        }
+
+        return doubles != null ? Arrays.hashCode(doubles) : Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toString();
+    }
+}
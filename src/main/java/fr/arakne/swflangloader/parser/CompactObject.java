@@ -0,0 +1,203 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact and immutable JSON object
+ * The keys are shared between objects with the same shape, and numbers are stored into a primitive array
+ */
+final public class CompactObject extends CompactValue {
+    final private CompactShape shape;
+    final private Object[] values;
+
+    /**
+     * Number values, indexed like keys. Null if the object has no number
+     */
+    final private double[] numbers;
+
+    CompactObject(CompactShape shape, Object[] values, double[] numbers) {
+        this.shape = shape;
+        this.values = values;
+        this.numbers = numbers;
+    }
+
+    /**
+     * @return Number of properties
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Check if the property exists
+     *
+     * @param key The property name
+     *
+     * @return true if the property is present, even if its value is null
+     */
+    public boolean has(String key) {
+        return shape.indexOf(key) != -1;
+    }
+
+    /**
+     * Get a property as JSON element
+     *
+     * @param key The property name
+     *
+     * @return The JSON value
+     * @throws NoSuchElementException When the property is not found
+     */
+    public JsonElement json(String key) {
+        final int index = index(key);
+
+        return toJson(values[index], number(index));
+    }
+
+    /**
+     * Get a property as string
+     *
+     * @param key The property name
+     *
+     * @return The value as string
+     * @throws NoSuchElementException When the property is not found
+     */
+    public String string(String key) {
+        final Object value = values[index(key)];
+
+        return value instanceof String ? (String) value : json(key).getAsString();
+    }
+
+    /**
+     * Get a property as integer
+     *
+     * @param key The property name
+     *
+     * @return The value as int
+     * @throws NoSuchElementException When the property is not found
+     */
+    public int integer(String key) {
+        final int index = index(key);
+
+        return values[index] == NUMBER ? (int) numbers[index] : json(key).getAsInt();
+    }
+
+    /**
+     * Get a property as double
+     *
+     * @param key The property name
+     *
+     * @return The value as double
+     * @throws NoSuchElementException When the property is not found
+     */
+    public double decimal(String key) {
+        final int index = index(key);
+
+        return values[index] == NUMBER ? numbers[index] : json(key).getAsDouble();
+    }
+
+    /**
+     * Get a property as boolean
+     *
+     * @param key The property name
+     *
+     * @return The value as boolean
+     * @throws NoSuchElementException When the property is not found
+     */
+    public boolean bool(String key) {
+        final Object value = values[index(key)];
+
+        return value instanceof Boolean ? (Boolean) value : json(key).getAsBoolean();
+    }
+
+    /**
+     * Get a property value
+     *
+     * @param key The property name
+     *
+     * @return The value : String, Double, Boolean, CompactValue, or null
+     * @throws NoSuchElementException When the property is not found
+     */
+    public Object get(String key) {
+        final int index = index(key);
+        final Object value = values[index];
+
+        return value == NUMBER ? (Object) numbers[index] : value;
+    }
+
+    @Override
+    public JsonObject toJson() {
+        final JsonObject object = new JsonObject();
+
+        for (int i = 0; i < values.length; ++i) {
+            object.add(shape.key(i), toJson(values[i], number(i)));
+        }
+
+        return object;
+    }
+
+    /**
+     * Check equality with another CompactObject
+     * A JsonObject with the same values is not equal : use {@link CompactObject#toJson()} for comparing with JSON elements
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof CompactObject)) {
+            return false;
+        }
+
+        final CompactObject other = (CompactObject) o;
+
+        return shape.equals(other.shape) && Arrays.equals(values, other.values) && Arrays.equals(numbers, other.numbers);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + Arrays.hashCode(numbers);
+    }
+
+    @Override
+    public String toString() {
+        return toJson().toString();
+    }
+
+    private int index(String key) {
+        final int index = shape.indexOf(key);
+
+        if (index == -1) {
+            throw new NoSuchElementException("The property " + key + " is not found");
+        }
+
+        return index;
+    }
+
+    private double number(int index) {
+        return numbers == null ? 0 : numbers[index];
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Key table of compact objects
+ * Objects with the same keys, in the same order, share the same shape
+ */
+final class CompactShape {
+    /**
+     * Maximum number of shared shapes. Once reached, new shapes are not shared
+     */
+    final static private int MAX_SHARED = 4096;
+
+    /**
+     * Above this number of keys, a hash index is used instead of a linear search
+     */
+    final static private int LINEAR_SEARCH_LIMIT = 8;
+
+    final static private Map<List<String>, CompactShape> SHARED = new ConcurrentHashMap<>();
+
+    final private String[] keys;
+    final private Map<String, Integer> index;
+
+    private CompactShape(String[] keys) {
+        this.keys = keys;
+
+        if (keys.length > LINEAR_SEARCH_LIMIT) {
+            index = new HashMap<>(keys.length * 4 / 3 + 1);
+
+            for (int i = 0; i < keys.length; ++i) {
+                index.put(keys[i], i);
+            }
+        } else {
+            index = null;
+        }
+    }
+
+    /**
+     * Get the index of the key
+     *
+     * @param key The key to search
+     *
+     * @return The index, or -1 if not found
+     */
+    int indexOf(String key) {
+        if (index != null) {
+            final Integer found = index.get(key);
+
+            return found == null ? -1 : found;
+        }
+
+        for (int i = 0; i < keys.length; ++i) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    String key(int index) {
+        return keys[index];
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CompactShape && Arrays.equals(keys, ((CompactShape) o).keys));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(keys);
+    }
+
+    /**
+     * Get the shape of the given keys
+     *
+     * @param keys The keys, without duplicates. The list must not be modified after this call
+     */
+    static CompactShape of(List<String> keys) {
+        final CompactShape shape = SHARED.get(keys);
+
+        if (shape != null) {
+            return shape;
+        }
+
+        final CompactShape created = new CompactShape(keys.toArray(new String[0]));
+
+        if (SHARED.size() >= MAX_SHARED) {
+            return created;
+        }
+
+        final CompactShape previous = SHARED.putIfAbsent(Arrays.asList(created.keys), created);
+
+        return previous != null ? previous : created;
+    }
+}
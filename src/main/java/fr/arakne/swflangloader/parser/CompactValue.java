@@ -0,0 +1,286 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable and compact representation of a JSON object or array
+ * Used instead of Gson trees to reduce the memory usage of generic lang files, and converted to JsonElement on demand
+ *
+ * Values of objects and arrays are stored as String, Boolean, CompactValue, null, or as primitive double for numbers
+ *
+ * Equality is only defined between compact values : a CompactValue is never equal to the JsonElement of the same literal.
+ * To compare with a value parsed as JsonElement, compare the result of {@link CompactValue#toJson()}
+ *
+ * @see CompactObject
+ * @see CompactArray
+ */
+abstract public class CompactValue {
+    /**
+     * Marker of a number slot : the value is stored into the primitive array
+     */
+    final static Object NUMBER = new Object();
+
+    CompactValue() {
+        // Closed hierarchy
+    }
+
+    /**
+     * Convert to a Gson element
+     * A new element is created on each call
+     *
+     * @return The JSON element
+     */
+    abstract public JsonElement toJson();
+
+    /**
+     * Convert JSON objects and arrays to their compact representation
+     * Other elements are returned as is
+     *
+     * @param element The JSON element
+     *
+     * @return The CompactValue, or the element itself
+     */
+    static public Object compact(JsonElement element) {
+        if (element.isJsonObject()) {
+            return compactObject(element.getAsJsonObject());
+        }
+
+        if (element.isJsonArray()) {
+            return compactArray(element.getAsJsonArray());
+        }
+
+        return element;
+    }
+
+    /**
+     * Get the JSON element of a value stored as JsonElement or CompactValue
+     *
+     * @param value The value
+     *
+     * @return The JSON element. JsonNull if the value is null
+     */
+    static public JsonElement toJson(Object value) {
+        if (value instanceof CompactValue) {
+            return ((CompactValue) value).toJson();
+        }
+
+        return value == null ? JsonNull.INSTANCE : (JsonElement) value;
+    }
+
+    /**
+     * Convert a stored slot value to JSON
+     */
+    static JsonElement toJson(Object value, double number) {
+        if (value == NUMBER) {
+            return number(number);
+        }
+
+        if (value instanceof String) {
+            return new JsonPrimitive((String) value);
+        }
+
+        if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        }
+
+        if (value instanceof Double) {
+            return number((Double) value);
+        }
+
+        return toJson(value);
+    }
+
+    /**
+     * Create the JSON number. Integral values are stored as long, like in the action script source
+     */
+    static JsonPrimitive number(double value) {
+        if (value == (long) value && (value != 0 || 1 / value > 0)) {
+            return new JsonPrimitive((long) value);
+        }
+
+        return new JsonPrimitive(value);
+    }
+
+    static private CompactObject compactObject(JsonObject object) {
+        final Builder builder = new Builder(object.size());
+        final List<String> keys = new ArrayList<>(object.size());
+
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            keys.add(entry.getKey());
+            builder.add(entry.getValue());
+        }
+
+        return builder.object(keys);
+    }
+
+    static private CompactArray compactArray(JsonArray array) {
+        final Builder builder = new Builder(array.size());
+
+        for (JsonElement element : array) {
+            builder.add(element);
+        }
+
+        return builder.array();
+    }
+
+    /**
+     * Collect the values of an object or an array
+     */
+    final static class Builder {
+        private Object[] values;
+        private double[] numbers;
+        private int size = 0;
+        private boolean hasNumbers = false;
+        private boolean onlyNumbers = true;
+        private boolean onlyInts = true;
+
+        Builder(int capacity) {
+            values = new Object[Math.max(capacity, 4)];
+            numbers = new double[values.length];
+        }
+
+        /**
+         * Add a value which is not a number
+         *
+         * @param value String, Boolean, CompactValue or null
+         */
+        void add(Object value) {
+            grow();
+            values[size++] = value;
+            onlyNumbers = false;
+        }
+
+        void addNumber(double number) {
+            grow();
+            values[size] = NUMBER;
+            numbers[size++] = number;
+            hasNumbers = true;
+            onlyInts = onlyInts && number == (int) number && (number != 0 || 1 / number > 0);
+        }
+
+        void add(JsonElement element) {
+            if (element.isJsonNull()) {
+                add((Object) null);
+            } else if (element.isJsonObject()) {
+                add(compactObject(element.getAsJsonObject()));
+            } else if (element.isJsonArray()) {
+                add(compactArray(element.getAsJsonArray()));
+            } else {
+                final JsonPrimitive primitive = element.getAsJsonPrimitive();
+
+                if (primitive.isNumber()) {
+                    addNumber(primitive.getAsDouble());
+                } else if (primitive.isBoolean()) {
+                    add(primitive.getAsBoolean() ? Boolean.TRUE : Boolean.FALSE);
+                } else {
+                    add(primitive.getAsString());
+                }
+            }
+        }
+
+        /**
+         * Replace the value at the given index, for duplicate object keys
+         */
+        void moveLastTo(int index) {
+            --size;
+            values[index] = values[size];
+            numbers[index] = numbers[size];
+        }
+
+        CompactObject object(List<String> keys) {
+            return new CompactObject(
+                CompactShape.of(keys),
+                trim(values, size),
+                hasNumbers ? trim(numbers, size) : null
+            );
+        }
+
+        CompactArray array() {
+            if (size > 0 && onlyNumbers) {
+                if (onlyInts) {
+                    final int[] ints = new int[size];
+
+                    for (int i = 0; i < size; ++i) {
+                        ints[i] = (int) numbers[i];
+                    }
+
+                    return new CompactArray(ints);
+                }
+
+                return new CompactArray(trim(numbers, size));
+            }
+
+            final Object[] items = trim(values, size);
+
+            for (int i = 0; i < size; ++i) {
+                if (items[i] == NUMBER) {
+                    items[i] = numbers[i];
+                }
+            }
+
+            return new CompactArray(items);
+        }
+
+        private void grow() {
+            if (size == values.length) {
+                final Object[] newValues = new Object[size * 2];
+                final double[] newNumbers = new double[size * 2];
+
+                System.arraycopy(values, 0, newValues, 0, size);
+                System.arraycopy(numbers, 0, newNumbers, 0, size);
+
+                values = newValues;
+                numbers = newNumbers;
+            }
+        }
+
+        static private Object[] trim(Object[] array, int size) {
+            if (array.length == size) {
+                return array;
+            }
+
+            final Object[] trimmed = new Object[size];
+            System.arraycopy(array, 0, trimmed, 0, size);
+
+            return trimmed;
+        }
+
+        static private double[] trim(double[] array, int size) {
+            if (array.length == size) {
+                return array;
+            }
+
+            final double[] trimmed = new double[size];
+            System.arraycopy(array, 0, trimmed, 0, size);
+
+            return trimmed;
+        }
+    }
+}
@@ -19,18 +19,43 @@
 
 package fr.arakne.swflangloader.parser;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 /**
  * Default (i.e. undeclared) assignation
- * Will parse as JsonElement
+ * Will parse as JsonElement, or as {@link LazyJson} for action script sources if lazy
+ * If compact, objects and arrays are parsed as {@link CompactValue}
  */
 final public class DefaultAssignationType implements AssignationType {
+    final private boolean lazy;
+    final private boolean compact;
+
+    public DefaultAssignationType() {
+        this(false);
+    }
+
+    /**
+     * @param lazy Keep the raw values of action script sources, and parse them on first access
+     */
+    public DefaultAssignationType(boolean lazy) {
+        this(lazy, false);
+    }
+
+    /**
+     * @param lazy Keep the raw values of action script sources, and parse them on first access
+     * @param compact Store objects and arrays as CompactValue
+     */
+    public DefaultAssignationType(boolean lazy, boolean compact) {
+        this.lazy = lazy;
+        this.compact = compact;
+    }
+
     @Override
     public Assignation parseSimple(String varName, String value) {
         try {
-            return Assignation.simple(varName, JsonParser.parseString(value));
+            return Assignation.simple(varName, value(value));
         } catch (JsonSyntaxException e) {
             return Assignation.NULL;
         }
@@ -41,11 +66,99 @@ final public class DefaultAssignationType implements AssignationType {
         try {
             return new Assignation(
                 varName,
-                JsonParser.parseString(key).getAsString(),
-                JsonParser.parseString(value)
+                parse(key).getAsString(),
+                value(value)
             );
         } catch (JsonSyntaxException e) {
             return Assignation.NULL;
         }
     }
+
+    @Override
+    public Assignation parseSimple(String varName, JsonElement value) {
+        return Assignation.simple(varName, value(value));
+    }
+
+    @Override
+    public Assignation parseAssociative(String varName, JsonElement key, JsonElement value) {
+        if (!key.isJsonPrimitive()) {
+            return Assignation.NULL;
+        }
+
+        return new Assignation(varName, key.getAsString(), value(value));
+    }
+
+    @Override
+    public <C> void visitSimple(String varName, String value, AssignationVisitor<C> visitor, C context) {
+        final Object parsed;
+
+        try {
+            parsed = value(value);
+        } catch (JsonSyntaxException e) {
+            return;
+        }
+
+        visitor.simple(context, varName, parsed);
+    }
+
+    @Override
+    public <C> void visitAssociative(String varName, String key, String value, AssignationVisitor<C> visitor, C context) {
+        final String parsedKey;
+        final Object parsedValue;
+
+        try {
+            parsedKey = parse(key).getAsString();
+            parsedValue = value(value);
+        } catch (JsonSyntaxException e) {
+            return;
+        }
+
+        visitor.associative(context, varName, parsedKey, parsedValue);
+    }
+
+    @Override
+    public <C> void visitSimple(String varName, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        visitor.simple(context, varName, value(value));
+    }
+
+    @Override
+    public <C> void visitAssociative(String varName, JsonElement key, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        if (key.isJsonPrimitive()) {
+            visitor.associative(context, varName, key.getAsString(), value(value));
+        }
+    }
+
+    private Object value(String value) {
+        if (lazy) {
+            return new LazyJson(value, compact);
+        }
+
+        return compact ? parseCompact(value) : parse(value);
+    }
+
+    private Object value(JsonElement value) {
+        return compact ? CompactValue.compact(value) : value;
+    }
+
+    /**
+     * Read the value without Gson's reader, or fall back to Gson for unsupported syntax
+     */
+    static JsonElement parse(String value) {
+        try {
+            return LiteralReader.readJson(value);
+        } catch (LiteralReader.UnsupportedLiteralException e) {
+            return JsonParser.parseString(value);
+        }
+    }
+
+    /**
+     * Read the value as CompactValue, or as JsonElement if it's not an object or an array
+     */
+    static Object parseCompact(String value) {
+        try {
+            return LiteralReader.readCompact(value);
+        } catch (LiteralReader.UnsupportedLiteralException e) {
+            return CompactValue.compact(JsonParser.parseString(value));
+        }
+    }
 }
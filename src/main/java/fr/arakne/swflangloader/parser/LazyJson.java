@@ -0,0 +1,124 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.JsonElement;
+
+/**
+ * JSON value kept as raw action script source, and parsed on first access
+ * The parsed value is cached, and the source is released
+ *
+ * @see AssignationParser#lazyUndeclared(boolean)
+ */
+final public class LazyJson {
+    final private boolean compact;
+
+    /**
+     * The raw source while not parsed, or the parsed value (JsonElement or CompactValue)
+     */
+    private volatile Object value;
+
+    public LazyJson(String source) {
+        this(source, false);
+    }
+
+    /**
+     * @param source The raw action script source
+     * @param compact Parse objects and arrays as {@link CompactValue}
+     */
+    public LazyJson(String source, boolean compact) {
+        this.value = source;
+        this.compact = compact;
+    }
+
+    /**
+     * Get the parsed value as JSON element
+     * The value is parsed on the first call
+     * If the value is compact, a new JSON element is created on each call
+     *
+     * @return The JSON element
+     *
+     * @throws com.google.gson.JsonParseException When the source is not a valid value
+     */
+    public JsonElement get() {
+        return CompactValue.toJson(value());
+    }
+
+    /**
+     * Get the parsed value
+     * The value is parsed on the first call
+     *
+     * @return The parsed value : a CompactValue for objects and arrays if compact, or a JsonElement
+     *
+     * @throws com.google.gson.JsonParseException When the source is not a valid value
+     */
+    public Object value() {
+        final Object current = value;
+
+        if (!(current instanceof String)) {
+            return current;
+        }
+
+        final Object parsed = compact
+            ? DefaultAssignationType.parseCompact((String) current)
+            : DefaultAssignationType.parse((String) current)
+        ;
+
+        value = parsed;
+
+        return parsed;
+    }
+
+    /**
+     * Get the raw source of the value, if not yet parsed
+     *
+     * @return The source, or null if the value has already been parsed
+     */
+    public String source() {
+        final Object current = value;
+
+        return current instanceof String ? (String) current : null;
+    }
+
+    /**
+     * @return true if objects and arrays are parsed as {@link CompactValue}
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * Get the parsed value of a lazy value, or the value itself if not lazy
+     *
+     * @param value The value. Can be a LazyJson
+     *
+     * @return The parsed value : a JsonElement, or a CompactValue if compact
+     *
+     * @throws com.google.gson.JsonParseException When the value is lazy, but its source is not valid
+     */
+    static public Object resolve(Object value) {
+        return value instanceof LazyJson ? ((LazyJson) value).value() : value;
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import java.math.BigDecimal;
+
+/**
+ * Number which keeps its literal representation, and is parsed on use
+ * Behave like the number of a JsonPrimitive created by {@link com.google.gson.JsonParser}
+ */
+final class LiteralNumber extends Number {
+    final static private long serialVersionUID = 1L;
+
+    final private String literal;
+
+    /**
+     * @param literal A valid JSON number literal
+     */
+    LiteralNumber(String literal) {
+        this.literal = literal;
+    }
+
+    @Override
+    public int intValue() {
+        try {
+            return Integer.parseInt(literal);
+        } catch (NumberFormatException e) {
+            return (int) longValue();
+        }
+    }
+
+    @Override
+    public long longValue() {
+        try {
+            return Long.parseLong(literal);
+        } catch (NumberFormatException e) {
+            return new BigDecimal(literal).longValue();
+        }
+    }
+
+    @Override
+    public float floatValue() {
+        return Float.parseFloat(literal);
+    }
+
+    @Override
+    public double doubleValue() {
+        return Double.parseDouble(literal);
+    }
+
+    @Override
+    public String toString() {
+        return literal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LiteralNumber && literal.equals(((LiteralNumber) o).literal);
+    }
+
+    @Override
+    public int hashCode() {
+        return literal.hashCode();
+    }
+}
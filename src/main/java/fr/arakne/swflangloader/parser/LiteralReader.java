@@ -0,0 +1,1102 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read action script literals directly into the target type, without building an intermediate JSON tree
+ *
+ * Only the syntax generated by the decompiler is handled : quoted or unquoted keys, single or double quoted strings,
+ * numbers, booleans, null, arrays and objects.
+ * On any other syntax or target type, {@link UnsupportedLiteralException} is thrown, and the caller should fall back to Gson,
+ * which also reports the errors
+ *
+ * The values are converted like Gson does : numbers are read as Double for Object targets,
+ * objects are instantiated using the no-arg constructor, and unknown keys are ignored
+ */
+final class LiteralReader {
+    final static private Map<Class<?>, Decoder> DECODERS = new ConcurrentHashMap<>();
+
+    final static private Decoder STRING = LiteralReader::string;
+    final static private Decoder INT = reader -> (int) reader.integer(9);
+    final static private Decoder LONG = reader -> reader.integer(18);
+    final static private Decoder DOUBLE = LiteralReader::number;
+    final static private Decoder FLOAT = reader -> (float) reader.number();
+    final static private Decoder BOOLEAN = LiteralReader::bool;
+    final static private Decoder OBJECT = LiteralReader::any;
+    final static private Decoder JSON = LiteralReader::json;
+    final static private Decoder INT_ARRAY = LiteralReader::intArray;
+    final static private Decoder UNSUPPORTED = reader -> {
+        throw UnsupportedLiteralException.INSTANCE;
+    };
+
+    final private String in;
+    final private int length;
+    private int pos = 0;
+
+    private LiteralReader(String in) {
+        this.in = in;
+        this.length = in.length();
+    }
+
+    /**
+     * Read a literal value
+     *
+     * @param value The action script literal
+     * @param type The target type
+     *
+     * @return The read value. Primitive values are boxed
+     *
+     * @throws UnsupportedLiteralException When the literal or the type is not handled
+     */
+    static public Object read(String value, Type type) {
+        if (!(type instanceof Class)) {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        final LiteralReader reader = new LiteralReader(value);
+        final Object result = reader.value(decoder((Class<?>) type));
+
+        reader.end();
+
+        return result;
+    }
+
+    /**
+     * Read a literal value as JSON element
+     * Numbers keep their literal representation, like {@link com.google.gson.JsonParser} does
+     *
+     * @param value The action script literal
+     *
+     * @return The JSON element
+     *
+     * @throws UnsupportedLiteralException When the literal is not handled
+     */
+    static public JsonElement readJson(String value) {
+        final LiteralReader reader = new LiteralReader(value);
+        final Object result = reader.value(JSON);
+
+        reader.end();
+
+        return result == null ? JsonNull.INSTANCE : (JsonElement) result;
+    }
+
+    /**
+     * Read a literal value into the compact model
+     * Objects and arrays are read as {@link CompactValue}, other values as JSON element
+     *
+     * @param value The action script literal
+     *
+     * @return The CompactValue, or the JSON element
+     *
+     * @throws UnsupportedLiteralException When the literal is not handled
+     */
+    static public Object readCompact(String value) {
+        final LiteralReader reader = new LiteralReader(value);
+        final int c = reader.skipWhitespaces();
+        final Object result = c == '[' || c == '{' ? reader.compact() : reader.value(JSON);
+
+        reader.end();
+
+        return result == null ? JsonNull.INSTANCE : result;
+    }
+
+    /**
+     * Get the decoder of the given type
+     * Object decoders are created once per class, and their fields are resolved on first use
+     */
+    static private Decoder decoder(Class<?> type) {
+        Decoder decoder = DECODERS.get(type);
+
+        if (decoder == null) {
+            decoder = create(type);
+
+            final Decoder previous = DECODERS.putIfAbsent(type, decoder);
+
+            if (previous != null) {
+                decoder = previous;
+            }
+        }
+
+        return decoder;
+    }
+
+    static private Decoder create(Class<?> type) {
+        if (type == String.class) {
+            return STRING;
+        }
+
+        if (type == int.class || type == Integer.class) {
+            return INT;
+        }
+
+        if (type == long.class || type == Long.class) {
+            return LONG;
+        }
+
+        if (type == double.class || type == Double.class) {
+            return DOUBLE;
+        }
+
+        if (type == float.class || type == Float.class) {
+            return FLOAT;
+        }
+
+        if (type == boolean.class || type == Boolean.class) {
+            return BOOLEAN;
+        }
+
+        if (type == Object.class) {
+            return OBJECT;
+        }
+
+        if (type == JsonElement.class) {
+            return JSON;
+        }
+
+        if (type == int[].class) {
+            return INT_ARRAY;
+        }
+
+        if (type.isArray()) {
+            return new ArrayDecoder(type.getComponentType());
+        }
+
+        final ObjectDecoder decoder = ObjectDecoder.create(type);
+
+        return decoder != null ? decoder : UNSUPPORTED;
+    }
+
+    /**
+     * Read a value, or null
+     */
+    private Object value(Decoder decoder) {
+        if (skipWhitespaces() == 'n') {
+            if (keyword("null")) {
+                return null;
+            }
+        }
+
+        return decoder.decode(this);
+    }
+
+    /**
+     * Check that the whole literal has been consumed
+     */
+    private void end() {
+        if (skipWhitespaces() != -1) {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+    }
+
+    private String string() {
+        final int quote = skipWhitespaces();
+
+        if (quote != '"' && quote != '\'') {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        final int start = ++pos;
+
+        for (int i = start; i < length; ++i) {
+            final char c = in.charAt(i);
+
+            if (c == quote) {
+                pos = i + 1;
+                return in.substring(start, i);
+            }
+
+            if (c == '\\') {
+                pos = i;
+                return escapedString(start, quote);
+            }
+        }
+
+        throw UnsupportedLiteralException.INSTANCE;
+    }
+
+    /**
+     * Slow path of string reading, when an escape sequence is found
+     * The current position is on the first backslash
+     */
+    private String escapedString(int start, int quote) {
+        final StringBuilder value = new StringBuilder(pos - start + 16);
+        value.append(in, start, pos);
+
+        while (pos < length) {
+            final char c = in.charAt(pos++);
+
+            if (c == quote) {
+                return value.toString();
+            }
+
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+
+            if (pos >= length) {
+                break;
+            }
+
+            final char escaped = in.charAt(pos++);
+
+            switch (escaped) {
+                case '"':
+                case '\'':
+                case '\\':
+                case '/':
+                    value.append(escaped);
+                    break;
+
+                case 'b':
+                    value.append('\b');
+                    break;
+
+                case 'f':
+                    value.append('\f');
+                    break;
+
+                case 'n':
+                    value.append('\n');
+                    break;
+
+                case 'r':
+                    value.append('\r');
+                    break;
+
+                case 't':
+                    value.append('\t');
+                    break;
+
+                case 'u':
+                    value.append(unicode());
+                    break;
+
+                default:
+                    throw UnsupportedLiteralException.INSTANCE;
+            }
+        }
+
+        throw UnsupportedLiteralException.INSTANCE;
+    }
+
+    private char unicode() {
+        if (pos + 4 > length) {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        int value = 0;
+
+        for (int end = pos + 4; pos < end; ++pos) {
+            final int digit = Character.digit(in.charAt(pos), 16);
+
+            if (digit == -1) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            value = (value << 4) | digit;
+        }
+
+        return (char) value;
+    }
+
+    /**
+     * Read a plain integer literal (i.e. without fraction nor exponent)
+     *
+     * @param maxDigits Maximum number of digits. The value must fit in an int with 9 digits, and a long with 18 digits
+     */
+    private long integer(int maxDigits) {
+        int c = skipWhitespaces();
+        final boolean negative = c == '-';
+
+        if (negative) {
+            ++pos;
+        }
+
+        final int start = pos;
+        long value = 0;
+
+        while (pos < length && (c = in.charAt(pos)) >= '0' && c <= '9') {
+            value = value * 10 + (c - '0');
+            ++pos;
+        }
+
+        final int digits = pos - start;
+
+        if (digits == 0 || digits > maxDigits || (digits > 1 && in.charAt(start) == '0') || !delimited()) {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        return negative ? -value : value;
+    }
+
+    /**
+     * Read a number literal as double
+     */
+    private double number() {
+        final String literal = numberLiteral();
+
+        // Same conversion as Gson for long values. Negative zero is parsed as a double
+        if (
+            literal.length() <= 18 && !literal.equals("-0")
+            && literal.indexOf('.') == -1 && literal.indexOf('e') == -1 && literal.indexOf('E') == -1
+        ) {
+            return Long.parseLong(literal);
+        }
+
+        return Double.parseDouble(literal);
+    }
+
+    /**
+     * Check the number syntax, and extract the literal
+     */
+    private String numberLiteral() {
+        int c = skipWhitespaces();
+        final int start = pos;
+
+        if (c == '-') {
+            c = charAt(++pos);
+        }
+
+        if (c == '0') {
+            c = charAt(++pos);
+        } else if (c >= '1' && c <= '9') {
+            c = digits();
+        } else {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        if (c == '.') {
+            ++pos;
+
+            if (!isDigit(charAt(pos))) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            c = digits();
+        }
+
+        if (c == 'e' || c == 'E') {
+            c = charAt(++pos);
+
+            if (c == '+' || c == '-') {
+                c = charAt(++pos);
+            }
+
+            if (!isDigit(c)) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            digits();
+        }
+
+        if (!delimited()) {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        return in.substring(start, pos);
+    }
+
+    /**
+     * Skip digits, and return the next char
+     */
+    private int digits() {
+        int c;
+
+        while (isDigit(c = charAt(pos))) {
+            ++pos;
+        }
+
+        return c;
+    }
+
+    private boolean bool() {
+        skipWhitespaces();
+
+        if (keyword("true")) {
+            return true;
+        }
+
+        if (keyword("false")) {
+            return false;
+        }
+
+        throw UnsupportedLiteralException.INSTANCE;
+    }
+
+    /**
+     * Read a value for an Object target : Gson creates strings, doubles, booleans, lists and maps
+     */
+    private Object any() {
+        final int c = skipWhitespaces();
+
+        switch (c) {
+            case '"':
+            case '\'':
+                return string();
+
+            case 't':
+            case 'f':
+                return bool();
+
+            case '[': {
+                ++pos;
+
+                final List<Object> list = new ArrayList<>();
+
+                if (!consume(']')) {
+                    do {
+                        list.add(value(OBJECT));
+                    } while (next(']'));
+                }
+
+                return list;
+            }
+
+            case '{': {
+                ++pos;
+
+                final Map<String, Object> map = new LinkedHashMap<>();
+
+                if (!consume('}')) {
+                    do {
+                        final String key = key();
+                        map.put(key, value(OBJECT));
+                    } while (next('}'));
+                }
+
+                return map;
+            }
+
+            default:
+                return number();
+        }
+    }
+
+    private JsonElement json() {
+        final int c = skipWhitespaces();
+
+        switch (c) {
+            case '"':
+            case '\'':
+                return new JsonPrimitive(string());
+
+            case 't':
+            case 'f':
+                return new JsonPrimitive(bool());
+
+            case '[': {
+                ++pos;
+
+                final JsonArray array = new JsonArray();
+
+                if (!consume(']')) {
+                    do {
+                        final Object item = value(JSON);
+                        array.add(item == null ? JsonNull.INSTANCE : (JsonElement) item);
+                    } while (next(']'));
+                }
+
+                return array;
+            }
+
+            case '{': {
+                ++pos;
+
+                final JsonObject object = new JsonObject();
+
+                if (!consume('}')) {
+                    do {
+                        final String key = key();
+                        final Object item = value(JSON);
+                        object.add(key, item == null ? JsonNull.INSTANCE : (JsonElement) item);
+                    } while (next('}'));
+                }
+
+                return object;
+            }
+
+            default:
+                return new JsonPrimitive(new LiteralNumber(numberLiteral()));
+        }
+    }
+
+    /**
+     * Read a value of a compact object or array, and add it to the builder
+     */
+    private void compactItem(CompactValue.Builder builder) {
+        final int c = skipWhitespaces();
+
+        switch (c) {
+            case 'n':
+                if (keyword("null")) {
+                    builder.add((Object) null);
+                    return;
+                }
+
+                throw UnsupportedLiteralException.INSTANCE;
+
+            case '"':
+            case '\'':
+                builder.add(string());
+                return;
+
+            case 't':
+            case 'f':
+                builder.add(bool() ? Boolean.TRUE : Boolean.FALSE);
+                return;
+
+            case '[':
+            case '{':
+                builder.add(compact());
+                return;
+
+            default:
+                builder.addNumber(number());
+        }
+    }
+
+    /**
+     * Read an object or an array into the compact model
+     */
+    private CompactValue compact() {
+        final CompactValue.Builder builder = new CompactValue.Builder(8);
+
+        if (skipWhitespaces() == '[') {
+            ++pos;
+
+            if (!consume(']')) {
+                do {
+                    compactItem(builder);
+                } while (next(']'));
+            }
+
+            return builder.array();
+        }
+
+        expect('{');
+
+        final List<String> keys = new ArrayList<>();
+
+        if (!consume('}')) {
+            do {
+                final String key = key();
+                final int previous = keys.indexOf(key);
+
+                compactItem(builder);
+
+                // Same as JsonObject : the last value is kept, at the first position
+                if (previous == -1) {
+                    keys.add(key);
+                } else {
+                    builder.moveLastTo(previous);
+                }
+            } while (next('}'));
+        }
+
+        return builder.object(keys);
+    }
+
+    private int[] intArray() {
+        if (skipWhitespaces() != '[') {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+
+        ++pos;
+
+        if (consume(']')) {
+            return new int[0];
+        }
+
+        int[] values = new int[8];
+        int size = 0;
+
+        do {
+            if (size == values.length) {
+                final int[] newValues = new int[size * 2];
+                System.arraycopy(values, 0, newValues, 0, size);
+                values = newValues;
+            }
+
+            values[size++] = (int) integer(9);
+        } while (next(']'));
+
+        if (size == values.length) {
+            return values;
+        }
+
+        final int[] result = new int[size];
+        System.arraycopy(values, 0, result, 0, size);
+
+        return result;
+    }
+
+    /**
+     * Read an object key, followed by the ":" separator
+     */
+    private String key() {
+        final int c = skipWhitespaces();
+        final String key;
+
+        if (c == '"' || c == '\'') {
+            key = string();
+        } else {
+            final int start = pos;
+
+            while (pos < length && isKeyChar(in.charAt(pos))) {
+                ++pos;
+            }
+
+            if (pos == start) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            key = in.substring(start, pos);
+        }
+
+        expect(':');
+
+        return key;
+    }
+
+    /**
+     * Find the field matching with the next object key, without allocating the key
+     * The ":" separator is consumed
+     *
+     * @return The field, or null if the key is not mapped
+     */
+    private FieldBinding field(FieldBinding[] fields) {
+        final int c = skipWhitespaces();
+        final int start;
+        final int end;
+
+        if (c == '"' || c == '\'') {
+            start = pos + 1;
+            end = in.indexOf(c, start);
+
+            if (end == -1 || in.lastIndexOf('\\', end) >= start) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            pos = end + 1;
+        } else {
+            start = pos;
+
+            while (pos < length && isKeyChar(in.charAt(pos))) {
+                ++pos;
+            }
+
+            end = pos;
+
+            if (end == start) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+        }
+
+        expect(':');
+
+        final int keyLength = end - start;
+
+        for (FieldBinding field : fields) {
+            if (field.name.length() == keyLength && in.regionMatches(start, field.name, 0, keyLength)) {
+                return field;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Skip a value of an unmapped key
+     */
+    private void skip() {
+        value(OBJECT);
+    }
+
+    /**
+     * Parse the separator following a list item or an object property
+     *
+     * @param close The closing char of the container
+     *
+     * @return true if there is another item, or false if the container is closed
+     */
+    private boolean next(char close) {
+        final int c = skipWhitespaces();
+
+        if (c == ',') {
+            ++pos;
+            return true;
+        }
+
+        if (c == close) {
+            ++pos;
+            return false;
+        }
+
+        throw UnsupportedLiteralException.INSTANCE;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw UnsupportedLiteralException.INSTANCE;
+        }
+    }
+
+    private boolean consume(char expected) {
+        if (skipWhitespaces() == expected) {
+            ++pos;
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Consume the keyword if it's present at the current position
+     */
+    private boolean keyword(String keyword) {
+        if (!in.startsWith(keyword, pos)) {
+            return false;
+        }
+
+        final int start = pos;
+        pos += keyword.length();
+
+        if (!delimited()) {
+            pos = start;
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Check if the current literal ends at the current position
+     */
+    private boolean delimited() {
+        if (pos >= length) {
+            return true;
+        }
+
+        switch (in.charAt(pos)) {
+            case ' ':
+            case '\t':
+            case '\r':
+            case '\n':
+            case ',':
+            case ':':
+            case ']':
+            case '}':
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Skip JSON whitespaces
+     *
+     * @return The next char, or -1 at the end of the literal
+     */
+    private int skipWhitespaces() {
+        while (pos < length) {
+            final char c = in.charAt(pos);
+
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+
+            ++pos;
+        }
+
+        return -1;
+    }
+
+    private int charAt(int index) {
+        return index < length ? in.charAt(index) : -1;
+    }
+
+    static private boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    static private boolean isKeyChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$';
+    }
+
+    /**
+     * Thrown when a literal cannot be read by this reader
+     * The stack trace is not filled, because the exception is used for falling back to Gson
+     */
+    final static class UnsupportedLiteralException extends RuntimeException {
+        final static private long serialVersionUID = 1L;
+
+        final static private UnsupportedLiteralException INSTANCE = new UnsupportedLiteralException();
+
+        private UnsupportedLiteralException() {
+            super("Unsupported literal", null, false, false);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Decoder {
+        /**
+         * Decode the value at the current position
+         * The null literal is already handled by the caller
+         */
+        Object decode(LiteralReader reader);
+    }
+
+    final static private class ArrayDecoder implements Decoder {
+        final private Class<?> componentType;
+        final private Decoder component;
+
+        private ArrayDecoder(Class<?> componentType) {
+            this.componentType = componentType;
+            this.component = decoder(componentType);
+        }
+
+        @Override
+        public Object decode(LiteralReader reader) {
+            if (reader.skipWhitespaces() != '[') {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            ++reader.pos;
+
+            final List<Object> values = new ArrayList<>();
+
+            if (!reader.consume(']')) {
+                do {
+                    values.add(reader.value(component));
+                } while (reader.next(']'));
+            }
+
+            final int size = values.size();
+            final Object array = Array.newInstance(componentType, size);
+
+            if (componentType.isPrimitive()) {
+                for (int i = 0; i < size; ++i) {
+                    final Object value = values.get(i);
+
+                    if (value == null) {
+                        throw UnsupportedLiteralException.INSTANCE;
+                    }
+
+                    Array.set(array, i, value);
+                }
+            } else {
+                values.toArray((Object[]) array);
+            }
+
+            return array;
+        }
+    }
+
+    /**
+     * Decode objects into a class instance, by mapping keys to fields with the same name
+     */
+    final static private class ObjectDecoder implements Decoder {
+        final private Constructor<?> constructor;
+        final private FieldBinding[] fields;
+
+        private ObjectDecoder(Constructor<?> constructor, FieldBinding[] fields) {
+            this.constructor = constructor;
+            this.fields = fields;
+        }
+
+        @Override
+        public Object decode(LiteralReader reader) {
+            if (reader.skipWhitespaces() != '{') {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            ++reader.pos;
+
+            final Object instance;
+
+            try {
+                instance = constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+
+            if (reader.consume('}')) {
+                return instance;
+            }
+
+            do {
+                final FieldBinding field = reader.field(fields);
+
+                if (field == null) {
+                    reader.skip();
+                } else {
+                    field.read(reader, instance);
+                }
+            } while (reader.next('}'));
+
+            return instance;
+        }
+
+        /**
+         * Create the decoder for the given class
+         * The mapped fields follows Gson rules : all non static and non transient fields, including parent classes ones
+         *
+         * @return The decoder, or null if the class cannot be handled
+         */
+        static private ObjectDecoder create(Class<?> type) {
+            if (
+                type.isPrimitive() || type.isInterface() || type.isEnum()
+                || Modifier.isAbstract(type.getModifiers())
+                || type.isAnonymousClass() || type.isLocalClass()
+                || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+            ) {
+                return null;
+            }
+
+            final List<FieldBinding> fields = new ArrayList<>();
+            final Set<String> names = new HashSet<>();
+
+            try {
+                for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+                    if (isPlatformType(current) || current.isAnnotationPresent(JsonAdapter.class)) {
+                        return null;
+                    }
+
+                    for (Field field : current.getDeclaredFields()) {
+                        final int modifiers = field.getModifiers();
+
+                        if (
+                            Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                            || field.getType().isAnonymousClass() || field.getType().isLocalClass()
+                        ) {
+                            continue;
+                        }
+
+                        if (
+                            field.isAnnotationPresent(SerializedName.class)
+                            || field.isAnnotationPresent(JsonAdapter.class)
+                            || !names.add(field.getName())
+                        ) {
+                            return null;
+                        }
+
+                        field.setAccessible(true);
+                        fields.add(new FieldBinding(field));
+                    }
+                }
+
+                final Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+
+                return new ObjectDecoder(constructor, fields.toArray(new FieldBinding[0]));
+            } catch (NoSuchMethodException | RuntimeException e) {
+                // No default constructor, or inaccessible member
+                return null;
+            }
+        }
+
+        static private boolean isPlatformType(Class<?> type) {
+            final String name = type.getName();
+
+            return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("com.google.gson.");
+        }
+    }
+
+    /**
+     * Mapping between an object key and a field
+     */
+    final static private class FieldBinding {
+        final private String name;
+        final private Field field;
+        final private Class<?> type;
+        private Decoder decoder;
+
+        private FieldBinding(Field field) {
+            this.name = field.getName();
+            this.field = field;
+            this.type = field.getType();
+        }
+
+        /**
+         * Read the value and set the field
+         * Like Gson, null values are ignored for primitive fields
+         */
+        private void read(LiteralReader reader, Object instance) {
+            try {
+                if (type.isPrimitive()) {
+                    if (reader.skipWhitespaces() == 'n' && reader.keyword("null")) {
+                        return;
+                    }
+
+                    if (type == int.class) {
+                        field.setInt(instance, (int) reader.integer(9));
+                    } else if (type == boolean.class) {
+                        field.setBoolean(instance, reader.bool());
+                    } else if (type == double.class) {
+                        field.setDouble(instance, reader.number());
+                    } else {
+                        field.set(instance, decoder().decode(reader));
+                    }
+                } else {
+                    field.set(instance, reader.value(decoder()));
+                }
+            } catch (IllegalAccessException e) {
+                throw UnsupportedLiteralException.INSTANCE;
+            }
+        }
+
+        /**
+         * Resolve the field decoder on first use, to allow recursive types
+         * Generic fields are not handled
+         */
+        private Decoder decoder() {
+            Decoder decoder = this.decoder;
+
+            if (decoder == null) {
+                this.decoder = decoder = field.getGenericType() == type ? LiteralReader.decoder(type) : UNSUPPORTED;
+            }
+
+            return decoder;
+        }
+    }
+}
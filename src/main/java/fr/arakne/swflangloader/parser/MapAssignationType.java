@@ -20,6 +20,7 @@
 package fr.arakne.swflangloader.parser;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +44,20 @@ final public class MapAssignationType implements AssignationType {
 
     @Override
     public Assignation parseAssociative(String varName, String key, String value) {
+        try {
+            return new Assignation(
+                varName,
+                parse(key, keyType),
+                parse(value, type)
+            );
+        } catch (JsonSyntaxException e) {
+            LOGGER.warn("[SWF] Cannot parse {} as JSON: {} (variable: {}[{}])", value, e.getMessage(), varName, key);
+            return Assignation.NULL;
+        }
+    }
+
+    @Override
+    public Assignation parseAssociative(String varName, JsonElement key, JsonElement value) {
         try {
             return new Assignation(
                 varName,
@@ -54,4 +69,47 @@ final public class MapAssignationType implements AssignationType {
             return Assignation.NULL;
         }
     }
+
+    @Override
+    public <C> void visitAssociative(String varName, String key, String value, AssignationVisitor<C> visitor, C context) {
+        final Object parsedKey;
+        final Object parsedValue;
+
+        try {
+            parsedKey = parse(key, keyType);
+            parsedValue = parse(value, type);
+        } catch (JsonSyntaxException e) {
+            LOGGER.warn("[SWF] Cannot parse {} as JSON: {} (variable: {}[{}])", value, e.getMessage(), varName, key);
+            return;
+        }
+
+        visitor.associative(context, varName, parsedKey, parsedValue);
+    }
+
+    @Override
+    public <C> void visitAssociative(String varName, JsonElement key, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        final Object parsedKey;
+        final Object parsedValue;
+
+        try {
+            parsedKey = GSON.fromJson(key, keyType);
+            parsedValue = GSON.fromJson(value, type);
+        } catch (JsonSyntaxException e) {
+            LOGGER.warn("[SWF] Cannot parse {} as JSON: {} (variable: {}[{}])", value, e.getMessage(), varName, key);
+            return;
+        }
+
+        visitor.associative(context, varName, parsedKey, parsedValue);
+    }
+
+    /**
+     * Read the value directly into the declared type, or fall back to Gson for unsupported syntax or type
+     */
+    static private Object parse(String value, Type type) {
+        try {
+            return LiteralReader.read(value, type);
+        } catch (LiteralReader.UnsupportedLiteralException e) {
+            return GSON.fromJson(value, type);
+        }
+    }
 }
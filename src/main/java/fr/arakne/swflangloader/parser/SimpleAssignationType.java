@@ -20,6 +20,7 @@
 package fr.arakne.swflangloader.parser;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonSyntaxException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,6 +31,7 @@ import org.slf4j.LoggerFactory;
 final public class SimpleAssignationType implements AssignationType {
     final static private Logger LOGGER = LoggerFactory.getLogger(AssignationParser.class);
     final static private Gson GSON = new Gson();
+    final static private Object INVALID = new Object();
 
     final private Class<?> type;
 
@@ -39,11 +41,60 @@ final public class SimpleAssignationType implements AssignationType {
 
     @Override
     public Assignation parseSimple(String varName, String value) {
+        final Object parsed = parse(varName, value);
+
+        return parsed == INVALID ? Assignation.NULL : Assignation.simple(varName, parsed);
+    }
+
+    @Override
+    public Assignation parseSimple(String varName, JsonElement value) {
+        final Object parsed = parse(varName, value);
+
+        return parsed == INVALID ? Assignation.NULL : Assignation.simple(varName, parsed);
+    }
+
+    @Override
+    public <C> void visitSimple(String varName, String value, AssignationVisitor<C> visitor, C context) {
+        final Object parsed = parse(varName, value);
+
+        if (parsed != INVALID) {
+            visitor.simple(context, varName, parsed);
+        }
+    }
+
+    @Override
+    public <C> void visitSimple(String varName, JsonElement value, AssignationVisitor<C> visitor, C context) {
+        final Object parsed = parse(varName, value);
+
+        if (parsed != INVALID) {
+            visitor.simple(context, varName, parsed);
+        }
+    }
+
+    /**
+     * Read the value directly into the declared type, or fall back to Gson for unsupported syntax or type
+     *
+     * @return The parsed value, or INVALID on syntax error
+     */
+    private Object parse(String varName, String value) {
+        try {
+            try {
+                return LiteralReader.read(value, type);
+            } catch (LiteralReader.UnsupportedLiteralException e) {
+                return GSON.fromJson(value, type);
+            }
+        } catch (JsonSyntaxException e) {
+            LOGGER.warn("[SWF] Cannot parse {} as JSON: {} (variable: {})", value, e.getMessage(), varName);
+            return INVALID;
+        }
+    }
+
+    private Object parse(String varName, JsonElement value) {
         try {
-            return Assignation.simple(varName, GSON.fromJson(value, type));
+            return GSON.fromJson(value, type);
         } catch (JsonSyntaxException e) {
             LOGGER.warn("[SWF] Cannot parse {} as JSON: {} (variable: {})", value, e.getMessage(), varName);
-            return Assignation.NULL;
+            return INVALID;
         }
     }
 }
@@ -0,0 +1,790 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.avm;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interpreter for AVM1 DoAction bytecode
+ *
+ * Only straight-line code is handled : literals are pushed, arrays and objects are built,
+ * and each SetVariable / SetMember is forwarded to the handler like ffdec would render it
+ * (i.e. {@code A.b = value} for identifier members, and {@code A.b[key] = value} for other keys).
+ *
+ * Function bodies are skipped, and values which cannot be computed statically (function calls, new objects...)
+ * are ignored. Control flow actions are not supported, so {@link ActionInterpreter#validate(byte[], int, int)}
+ * must be called before the execution.
+ */
+final class ActionInterpreter {
+    final static private int ACTION_END = 0x00;
+    final static private int ACTION_PLAY = 0x06;
+    final static private int ACTION_STOP = 0x07;
+    final static private int ACTION_ADD = 0x0A;
+    final static private int ACTION_SUBTRACT = 0x0B;
+    final static private int ACTION_MULTIPLY = 0x0C;
+    final static private int ACTION_DIVIDE = 0x0D;
+    final static private int ACTION_NOT = 0x12;
+    final static private int ACTION_POP = 0x17;
+    final static private int ACTION_GET_VARIABLE = 0x1C;
+    final static private int ACTION_SET_VARIABLE = 0x1D;
+    final static private int ACTION_STRING_ADD = 0x21;
+    final static private int ACTION_DEFINE_LOCAL = 0x3C;
+    final static private int ACTION_CALL_FUNCTION = 0x3D;
+    final static private int ACTION_NEW_OBJECT = 0x40;
+    final static private int ACTION_DEFINE_LOCAL2 = 0x41;
+    final static private int ACTION_INIT_ARRAY = 0x42;
+    final static private int ACTION_INIT_OBJECT = 0x43;
+    final static private int ACTION_ADD2 = 0x47;
+    final static private int ACTION_TO_NUMBER = 0x4A;
+    final static private int ACTION_TO_STRING = 0x4B;
+    final static private int ACTION_PUSH_DUPLICATE = 0x4C;
+    final static private int ACTION_STACK_SWAP = 0x4D;
+    final static private int ACTION_GET_MEMBER = 0x4E;
+    final static private int ACTION_SET_MEMBER = 0x4F;
+    final static private int ACTION_CALL_METHOD = 0x52;
+    final static private int ACTION_STORE_REGISTER = 0x87;
+    final static private int ACTION_CONSTANT_POOL = 0x88;
+    final static private int ACTION_DEFINE_FUNCTION2 = 0x8E;
+    final static private int ACTION_PUSH = 0x96;
+    final static private int ACTION_DEFINE_FUNCTION = 0x9B;
+
+    final static private int PUSH_STRING = 0;
+    final static private int PUSH_FLOAT = 1;
+    final static private int PUSH_NULL = 2;
+    final static private int PUSH_UNDEFINED = 3;
+    final static private int PUSH_REGISTER = 4;
+    final static private int PUSH_BOOLEAN = 5;
+    final static private int PUSH_DOUBLE = 6;
+    final static private int PUSH_INTEGER = 7;
+    final static private int PUSH_CONSTANT8 = 8;
+    final static private int PUSH_CONSTANT16 = 9;
+
+    /**
+     * Value which cannot be computed by the interpreter (e.g. function call result)
+     */
+    final static private Object UNKNOWN = new Object();
+
+    /**
+     * Reference to a named variable, or to a member of a named variable
+     */
+    final static private class VariableReference {
+        final private String path;
+
+        public VariableReference(String path) {
+            this.path = path;
+        }
+    }
+
+    final private byte[] data;
+    final private SwfActionReader.AssignationHandler handler;
+
+    final private List<Object> stack = new ArrayList<>();
+    final private Object[] registers = new Object[256];
+    private String[] constants = new String[0];
+
+    public ActionInterpreter(byte[] data, SwfActionReader.AssignationHandler handler) {
+        this.data = data;
+        this.handler = handler;
+    }
+
+    /**
+     * Execute the action block
+     *
+     * @param start Start offset of the block
+     * @param end End offset (exclusive) of the block
+     *
+     * @throws UnsupportedSwfException When an invalid bytecode is found
+     */
+    public void execute(int start, int end) throws UnsupportedSwfException {
+        for (int pos = start; pos < end;) {
+            final int code = data[pos++] & 0xFF;
+            int length = 0;
+
+            if (code >= 0x80) {
+                length = readU16(data, pos);
+                pos += 2;
+            }
+
+            final int next = pos + length;
+
+            switch (code) {
+                case ACTION_END:
+                    return;
+
+                case ACTION_PLAY:
+                case ACTION_STOP:
+                    break;
+
+                case ACTION_CONSTANT_POOL:
+                    readConstantPool(pos, next);
+                    break;
+
+                case ACTION_PUSH:
+                    readPush(pos, next);
+                    break;
+
+                case ACTION_POP:
+                    pop();
+                    break;
+
+                case ACTION_PUSH_DUPLICATE: {
+                    final Object value = pop();
+                    push(value);
+                    push(value);
+                    break;
+                }
+
+                case ACTION_STACK_SWAP: {
+                    final Object first = pop();
+                    final Object second = pop();
+                    push(first);
+                    push(second);
+                    break;
+                }
+
+                case ACTION_STORE_REGISTER:
+                    registers[data[pos] & 0xFF] = peek();
+                    break;
+
+                case ACTION_GET_VARIABLE:
+                    push(reference(null, pop()));
+                    break;
+
+                case ACTION_GET_MEMBER: {
+                    final Object name = pop();
+                    push(reference(pop(), name));
+                    break;
+                }
+
+                case ACTION_SET_VARIABLE:
+                case ACTION_DEFINE_LOCAL: {
+                    final Object value = pop();
+                    setVariable(pop(), value);
+                    break;
+                }
+
+                case ACTION_DEFINE_LOCAL2:
+                    pop();
+                    break;
+
+                case ACTION_SET_MEMBER: {
+                    final Object value = pop();
+                    final Object name = pop();
+                    setMember(pop(), name, value);
+                    break;
+                }
+
+                case ACTION_INIT_ARRAY:
+                    push(initArray());
+                    break;
+
+                case ACTION_INIT_OBJECT:
+                    push(initObject());
+                    break;
+
+                case ACTION_NEW_OBJECT: {
+                    pop(); // Class name
+                    popArguments();
+                    push(UNKNOWN);
+                    break;
+                }
+
+                case ACTION_CALL_FUNCTION: {
+                    final Object name = pop();
+                    push(callFunction(name, popArguments()));
+                    break;
+                }
+
+                case ACTION_CALL_METHOD: {
+                    pop(); // Method name
+                    pop(); // Object
+                    popArguments();
+                    push(UNKNOWN);
+                    break;
+                }
+
+                case ACTION_TO_NUMBER:
+                    push(toNumber(pop()));
+                    break;
+
+                case ACTION_TO_STRING:
+                    push(toStringValue(pop()));
+                    break;
+
+                case ACTION_NOT: {
+                    final Object value = pop();
+                    push(value instanceof JsonElement ? new JsonPrimitive(!toBoolean((JsonElement) value)) : UNKNOWN);
+                    break;
+                }
+
+                case ACTION_ADD2: {
+                    final Object right = pop();
+                    push(add(pop(), right));
+                    break;
+                }
+
+                case ACTION_STRING_ADD: {
+                    final Object right = pop();
+                    final Object left = pop();
+                    push(concat(toStringValue(left), toStringValue(right)));
+                    break;
+                }
+
+                case ACTION_ADD:
+                case ACTION_SUBTRACT:
+                case ACTION_MULTIPLY:
+                case ACTION_DIVIDE: {
+                    final Object right = pop();
+                    push(arithmetic(code, pop(), right));
+                    break;
+                }
+
+                case ACTION_DEFINE_FUNCTION:
+                case ACTION_DEFINE_FUNCTION2:
+                    // Function bodies are not executed
+                    if (data[pos] == 0) {
+                        push(UNKNOWN);
+                    }
+
+                    pos = next + readU16(data, next - 2);
+                    continue;
+
+                default:
+                    throw new UnsupportedSwfException("Unsupported action 0x" + Integer.toHexString(code));
+            }
+
+            pos = next;
+        }
+    }
+
+    /**
+     * Check that all actions of the block can be interpreted
+     *
+     * @param data The SWF data
+     * @param start Start offset of the block
+     * @param end End offset (exclusive) of the block
+     *
+     * @throws UnsupportedSwfException When an unsupported action is found
+     */
+    static public void validate(byte[] data, int start, int end) throws UnsupportedSwfException {
+        for (int pos = start; pos < end;) {
+            final int code = data[pos++] & 0xFF;
+            int length = 0;
+
+            if (code >= 0x80) {
+                if (pos + 2 > end) {
+                    throw new UnsupportedSwfException("Truncated action 0x" + Integer.toHexString(code));
+                }
+
+                length = readU16(data, pos);
+                pos += 2;
+            }
+
+            if (pos + length > end) {
+                throw new UnsupportedSwfException("Truncated action 0x" + Integer.toHexString(code));
+            }
+
+            switch (code) {
+                case ACTION_END:
+                    return;
+
+                case ACTION_DEFINE_FUNCTION:
+                case ACTION_DEFINE_FUNCTION2:
+                    if (length < 2) {
+                        throw new UnsupportedSwfException("Invalid function definition");
+                    }
+
+                    pos += readU16(data, pos + length - 2);
+                    break;
+
+                case ACTION_PLAY:
+                case ACTION_STOP:
+                case ACTION_ADD:
+                case ACTION_SUBTRACT:
+                case ACTION_MULTIPLY:
+                case ACTION_DIVIDE:
+                case ACTION_NOT:
+                case ACTION_POP:
+                case ACTION_GET_VARIABLE:
+                case ACTION_SET_VARIABLE:
+                case ACTION_STRING_ADD:
+                case ACTION_DEFINE_LOCAL:
+                case ACTION_CALL_FUNCTION:
+                case ACTION_NEW_OBJECT:
+                case ACTION_DEFINE_LOCAL2:
+                case ACTION_INIT_ARRAY:
+                case ACTION_INIT_OBJECT:
+                case ACTION_ADD2:
+                case ACTION_TO_NUMBER:
+                case ACTION_TO_STRING:
+                case ACTION_PUSH_DUPLICATE:
+                case ACTION_STACK_SWAP:
+                case ACTION_GET_MEMBER:
+                case ACTION_SET_MEMBER:
+                case ACTION_CALL_METHOD:
+                case ACTION_STORE_REGISTER:
+                case ACTION_CONSTANT_POOL:
+                case ACTION_PUSH:
+                    break;
+
+                default:
+                    throw new UnsupportedSwfException("Unsupported action 0x" + Integer.toHexString(code));
+            }
+
+            pos += length;
+        }
+    }
+
+    private void readConstantPool(int pos, int end) throws UnsupportedSwfException {
+        requireBytes(ACTION_CONSTANT_POOL, pos, 2, end);
+
+        final int count = readU16(data, pos);
+        pos += 2;
+
+        constants = new String[count];
+
+        for (int i = 0; i < count; ++i) {
+            final int strEnd = stringEnd(ACTION_CONSTANT_POOL, pos, end);
+            constants[i] = new String(data, pos, strEnd - pos, StandardCharsets.UTF_8);
+            pos = strEnd + 1;
+        }
+    }
+
+    private void readPush(int pos, int end) throws UnsupportedSwfException {
+        while (pos < end) {
+            final int type = data[pos++] & 0xFF;
+
+            switch (type) {
+                case PUSH_STRING: {
+                    final int strEnd = stringEnd(ACTION_PUSH, pos, end);
+                    push(new JsonPrimitive(new String(data, pos, strEnd - pos, StandardCharsets.UTF_8)));
+                    pos = strEnd + 1;
+                    break;
+                }
+
+                case PUSH_FLOAT:
+                    requireBytes(ACTION_PUSH, pos, 4, end);
+                    push(number(Float.intBitsToFloat(readS32(data, pos))));
+                    pos += 4;
+                    break;
+
+                case PUSH_NULL:
+                case PUSH_UNDEFINED:
+                    push(JsonNull.INSTANCE);
+                    break;
+
+                case PUSH_REGISTER: {
+                    requireBytes(ACTION_PUSH, pos, 1, end);
+                    final Object value = registers[data[pos++] & 0xFF];
+                    push(value != null ? value : JsonNull.INSTANCE);
+                    break;
+                }
+
+                case PUSH_BOOLEAN:
+                    requireBytes(ACTION_PUSH, pos, 1, end);
+                    push(new JsonPrimitive(data[pos++] != 0));
+                    break;
+
+                case PUSH_DOUBLE: // Stored as two little endian 32 bits words, high word first
+                    requireBytes(ACTION_PUSH, pos, 8, end);
+                    push(number(Double.longBitsToDouble(((long) readS32(data, pos) << 32) | (readS32(data, pos + 4) & 0xFFFFFFFFL))));
+                    pos += 8;
+                    break;
+
+                case PUSH_INTEGER:
+                    requireBytes(ACTION_PUSH, pos, 4, end);
+                    push(new JsonPrimitive(readS32(data, pos)));
+                    pos += 4;
+                    break;
+
+                case PUSH_CONSTANT8:
+                    requireBytes(ACTION_PUSH, pos, 1, end);
+                    push(constant(data[pos++] & 0xFF));
+                    break;
+
+                case PUSH_CONSTANT16:
+                    requireBytes(ACTION_PUSH, pos, 2, end);
+                    push(constant(readU16(data, pos)));
+                    pos += 2;
+                    break;
+
+                default:
+                    throw new UnsupportedSwfException("Unsupported push type " + type);
+            }
+        }
+    }
+
+    private JsonPrimitive constant(int index) throws UnsupportedSwfException {
+        if (index >= constants.length) {
+            throw new UnsupportedSwfException("Invalid constant index " + index);
+        }
+
+        return new JsonPrimitive(constants[index]);
+    }
+
+    private void setVariable(Object name, Object value) {
+        if (name instanceof JsonPrimitive && value instanceof JsonElement) {
+            handler.assign(((JsonPrimitive) name).getAsString(), null, (JsonElement) value);
+        }
+    }
+
+    private void setMember(Object object, Object name, Object value) {
+        if (!(object instanceof VariableReference) || !(name instanceof JsonPrimitive) || !(value instanceof JsonElement)) {
+            return;
+        }
+
+        final String path = ((VariableReference) object).path;
+        final JsonPrimitive key = (JsonPrimitive) name;
+
+        if (key.isString() && isIdentifier(key.getAsString())) {
+            handler.assign(path + "." + key.getAsString(), null, (JsonElement) value);
+        } else {
+            handler.assign(path, key, (JsonElement) value);
+        }
+    }
+
+    private Object reference(Object object, Object name) {
+        if (!(name instanceof JsonPrimitive)) {
+            return UNKNOWN;
+        }
+
+        final JsonPrimitive key = (JsonPrimitive) name;
+
+        if (object == null) {
+            return new VariableReference(key.getAsString());
+        }
+
+        if (!(object instanceof VariableReference)) {
+            return UNKNOWN;
+        }
+
+        final String path = ((VariableReference) object).path;
+
+        if (key.isString() && isIdentifier(key.getAsString())) {
+            return new VariableReference(path + "." + key.getAsString());
+        }
+
+        return new VariableReference(path + "[" + key + "]");
+    }
+
+    private Object initArray() throws UnsupportedSwfException {
+        final int count = popCount();
+        final JsonArray array = new JsonArray();
+        boolean valid = true;
+
+        // The first element is on the top of the stack
+        for (int i = 0; i < count; ++i) {
+            final Object value = pop();
+
+            if (value instanceof JsonElement) {
+                array.add((JsonElement) value);
+            } else {
+                valid = false;
+            }
+        }
+
+        return valid ? array : UNKNOWN;
+    }
+
+    private Object initObject() throws UnsupportedSwfException {
+        final int count = popCount();
+        final Object[] values = new Object[count * 2];
+
+        // The last property is on the top of the stack
+        for (int i = count - 1; i >= 0; --i) {
+            values[2 * i + 1] = pop();
+            values[2 * i] = pop();
+        }
+
+        final JsonObject object = new JsonObject();
+
+        for (int i = 0; i < count; ++i) {
+            final Object name = values[2 * i];
+            final Object value = values[2 * i + 1];
+
+            if (!(name instanceof JsonPrimitive) || !(value instanceof JsonElement)) {
+                return UNKNOWN;
+            }
+
+            object.add(((JsonPrimitive) name).getAsString(), (JsonElement) value);
+        }
+
+        return object;
+    }
+
+    private Object callFunction(Object name, Object[] arguments) {
+        if (!(name instanceof JsonPrimitive) || arguments.length != 1 || !(arguments[0] instanceof JsonElement)) {
+            return UNKNOWN;
+        }
+
+        switch (((JsonPrimitive) name).getAsString()) {
+            case "Number":
+                return toNumber(arguments[0]);
+
+            case "String":
+                return toStringValue(arguments[0]);
+
+            case "Boolean":
+                return new JsonPrimitive(toBoolean((JsonElement) arguments[0]));
+
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    private Object add(Object left, Object right) {
+        if (isString(left) || isString(right)) {
+            return concat(toStringValue(left), toStringValue(right));
+        }
+
+        return arithmetic(ACTION_ADD, left, right);
+    }
+
+    private Object arithmetic(int action, Object left, Object right) {
+        final Object leftNumber = toNumber(left);
+        final Object rightNumber = toNumber(right);
+
+        if (!(leftNumber instanceof JsonPrimitive) || !(rightNumber instanceof JsonPrimitive)) {
+            return UNKNOWN;
+        }
+
+        final double a = ((JsonPrimitive) leftNumber).getAsDouble();
+        final double b = ((JsonPrimitive) rightNumber).getAsDouble();
+
+        switch (action) {
+            case ACTION_ADD:
+                return number(a + b);
+            case ACTION_SUBTRACT:
+                return number(a - b);
+            case ACTION_MULTIPLY:
+                return number(a * b);
+            default:
+                return number(a / b);
+        }
+    }
+
+    private Object concat(Object left, Object right) {
+        if (!(left instanceof JsonPrimitive) || !(right instanceof JsonPrimitive)) {
+            return UNKNOWN;
+        }
+
+        return new JsonPrimitive(((JsonPrimitive) left).getAsString() + ((JsonPrimitive) right).getAsString());
+    }
+
+    private Object toNumber(Object value) {
+        if (value instanceof JsonNull) {
+            return number(Double.NaN);
+        }
+
+        if (!(value instanceof JsonPrimitive)) {
+            return UNKNOWN;
+        }
+
+        final JsonPrimitive primitive = (JsonPrimitive) value;
+
+        if (primitive.isNumber()) {
+            return primitive;
+        }
+
+        if (primitive.isBoolean()) {
+            return new JsonPrimitive(primitive.getAsBoolean() ? 1 : 0);
+        }
+
+        try {
+            return number(Double.parseDouble(primitive.getAsString().trim()));
+        } catch (NumberFormatException e) {
+            return number(Double.NaN);
+        }
+    }
+
+    private Object toStringValue(Object value) {
+        if (value instanceof JsonNull) {
+            return new JsonPrimitive("null");
+        }
+
+        if (!(value instanceof JsonPrimitive)) {
+            return UNKNOWN;
+        }
+
+        final JsonPrimitive primitive = (JsonPrimitive) value;
+
+        if (primitive.isString()) {
+            return primitive;
+        }
+
+        if (primitive.isNumber()) {
+            return new JsonPrimitive(formatNumber(primitive.getAsDouble()));
+        }
+
+        return new JsonPrimitive(primitive.getAsString());
+    }
+
+    private boolean toBoolean(JsonElement value) {
+        if (!value.isJsonPrimitive()) {
+            return !value.isJsonNull();
+        }
+
+        final JsonPrimitive primitive = value.getAsJsonPrimitive();
+
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+
+        if (primitive.isNumber()) {
+            final double number = primitive.getAsDouble();
+
+            return number != 0 && !Double.isNaN(number);
+        }
+
+        return !primitive.getAsString().isEmpty();
+    }
+
+    private boolean isString(Object value) {
+        return value instanceof JsonPrimitive && ((JsonPrimitive) value).isString();
+    }
+
+    private Object[] popArguments() throws UnsupportedSwfException {
+        final int count = popCount();
+        final Object[] arguments = new Object[count];
+
+        for (int i = 0; i < count; ++i) {
+            arguments[i] = pop();
+        }
+
+        return arguments;
+    }
+
+    private int popCount() throws UnsupportedSwfException {
+        final Object value = pop();
+
+        if (!(value instanceof JsonPrimitive) || !((JsonPrimitive) value).isNumber()) {
+            throw new UnsupportedSwfException("Expects a number of elements");
+        }
+
+        final int count = ((JsonPrimitive) value).getAsInt();
+
+        if (count < 0 || count > stack.size()) {
+            throw new UnsupportedSwfException("Invalid number of elements " + count);
+        }
+
+        return count;
+    }
+
+    private void push(Object value) {
+        stack.add(value);
+    }
+
+    private Object pop() throws UnsupportedSwfException {
+        if (stack.isEmpty()) {
+            throw new UnsupportedSwfException("Stack underflow");
+        }
+
+        return stack.remove(stack.size() - 1);
+    }
+
+    private Object peek() throws UnsupportedSwfException {
+        if (stack.isEmpty()) {
+            throw new UnsupportedSwfException("Stack underflow");
+        }
+
+        return stack.get(stack.size() - 1);
+    }
+
+    /**
+     * Find the null terminator of a string
+     *
+     * @param code The current action code
+     * @param pos The string start offset
+     * @param end End offset (exclusive) of the current action
+     *
+     * @return The terminator offset
+     *
+     * @throws UnsupportedSwfException When the string is not terminated before the end of the action
+     */
+    private int stringEnd(int code, int pos, int end) throws UnsupportedSwfException {
+        while (pos < end && data[pos] != 0) {
+            ++pos;
+        }
+
+        if (pos >= end) {
+            throw new UnsupportedSwfException("Truncated action 0x" + Integer.toHexString(code));
+        }
+
+        return pos;
+    }
+
+    /**
+     * Check that the value to read does not overflow the current action
+     */
+    static private void requireBytes(int code, int pos, int size, int end) throws UnsupportedSwfException {
+        if (pos + size > end) {
+            throw new UnsupportedSwfException("Truncated action 0x" + Integer.toHexString(code));
+        }
+    }
+
+    /**
+     * Create a number primitive. Integral values are stored as integer, like the decompiler renders them
+     */
+    static private JsonPrimitive number(double value) {
+        if (value == Math.rint(value) && Math.abs(value) <= Integer.MAX_VALUE && (value != 0 || 1 / value > 0)) {
+            return new JsonPrimitive((int) value);
+        }
+
+        return new JsonPrimitive(value);
+    }
+
+    static private String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+
+        return Double.toString(value);
+    }
+
+    static private boolean isIdentifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+
+        for (int i = 1; i < name.length(); ++i) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static private int readU16(byte[] data, int pos) {
+        return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8;
+    }
+
+    static private int readS32(byte[] data, int pos) {
+        return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8 | (data[pos + 2] & 0xFF) << 16 | (data[pos + 3] & 0xFF) << 24;
+    }
+}
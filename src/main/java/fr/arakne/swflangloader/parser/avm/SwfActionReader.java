@@ -0,0 +1,238 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.avm;
+
+import com.google.gson.JsonElement;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Extract variables assignations directly from the DoAction tags of a SWF file
+ * No decompiler nor temporary files are used : the action bytecode is interpreted by {@link ActionInterpreter}
+ *
+ * Only uncompressed (FWS) and zlib compressed (CWS) files are supported.
+ * If the file uses an unsupported feature, or is truncated or corrupted, an {@link UnsupportedSwfException} is thrown before any assignation is emitted.
+ */
+final public class SwfActionReader {
+    final static private int TAG_END = 0;
+    final static private int TAG_DO_ACTION = 12;
+    final static private int TAG_DEFINE_SPRITE = 39;
+    final static private int TAG_DO_INIT_ACTION = 59;
+
+    /**
+     * Handle an assignation extracted from the SWF file
+     */
+    @FunctionalInterface
+    public interface AssignationHandler {
+        /**
+         * @param varName The assigned variable name
+         * @param key The assignation key. Null if not associative assignation
+         * @param value The assigned value
+         */
+        public void assign(String varName, JsonElement key, JsonElement value);
+    }
+
+    /**
+     * A DoAction bytecode block
+     */
+    final static private class ActionBlock {
+        final private int start;
+        final private int end;
+
+        public ActionBlock(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Assignation extracted from the bytecode, not yet sent to the handler
+     */
+    final static private class PendingAssignation {
+        final private String varName;
+        final private JsonElement key;
+        final private JsonElement value;
+
+        public PendingAssignation(String varName, JsonElement key, JsonElement value) {
+            this.varName = varName;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Read the SWF file and extract all assignations
+     *
+     * @param stream The SWF file stream
+     * @param handler The assignation handler
+     *
+     * @throws UnsupportedSwfException When the SWF file cannot be interpreted
+     * @throws IOException When cannot read the stream
+     */
+    public void read(InputStream stream, AssignationHandler handler) throws IOException {
+        final byte[] swf = readBody(stream);
+        final List<ActionBlock> blocks = new ArrayList<>();
+
+        readTags(swf, headerSize(swf), swf.length, blocks);
+
+        // Check all blocks before interpreting, to ensure that the handler will not receive partial data
+        for (ActionBlock block : blocks) {
+            ActionInterpreter.validate(swf, block.start, block.end);
+        }
+
+        // Invalid bytecode can still be found during the execution : assignations are sent only once all blocks are interpreted
+        final List<PendingAssignation> assignations = new ArrayList<>();
+
+        for (ActionBlock block : blocks) {
+            new ActionInterpreter(swf, (varName, key, value) -> assignations.add(new PendingAssignation(varName, key, value))).execute(block.start, block.end);
+        }
+
+        for (PendingAssignation assignation : assignations) {
+            handler.assign(assignation.varName, assignation.key, assignation.value);
+        }
+    }
+
+    /**
+     * Read the SWF file, and inflate the body if compressed
+     * The 8 bytes header (signature, version and length) is skipped
+     *
+     * @throws UnsupportedSwfException When the header is invalid, or the body is corrupted or shorter than the declared length
+     */
+    private byte[] readBody(InputStream stream) throws IOException {
+        final byte[] header = new byte[8];
+
+        if (readFully(stream, header) != header.length) {
+            throw new UnsupportedSwfException("Invalid SWF header");
+        }
+
+        final int length = (header[4] & 0xFF) | (header[5] & 0xFF) << 8 | (header[6] & 0xFF) << 16 | (header[7] & 0xFF) << 24;
+
+        if (header[1] != 'W' || header[2] != 'S') {
+            throw new UnsupportedSwfException("Invalid SWF signature");
+        }
+
+        final byte[] body;
+
+        switch (header[0]) {
+            case 'F':
+                body = readAll(stream, length - 8);
+                break;
+
+            case 'C':
+                try {
+                    body = readAll(new InflaterInputStream(stream), length - 8);
+                } catch (ZipException | EOFException e) {
+                    throw new UnsupportedSwfException("Invalid compressed SWF body: " + e.getMessage(), e);
+                }
+                break;
+
+            default:
+                throw new UnsupportedSwfException("Unsupported SWF compression " + (char) header[0]);
+        }
+
+        if (body.length < length - 8) {
+            throw new UnsupportedSwfException("Truncated SWF body");
+        }
+
+        return body;
+    }
+
+    /**
+     * Compute the size of the SWF header following the signature (i.e. frame size, rate and count)
+     */
+    private int headerSize(byte[] swf) throws UnsupportedSwfException {
+        if (swf.length == 0) {
+            throw new UnsupportedSwfException("Empty SWF file");
+        }
+
+        final int rectBits = (swf[0] & 0xFF) >>> 3;
+
+        return (5 + 4 * rectBits + 7) / 8 + 4;
+    }
+
+    private void readTags(byte[] swf, int pos, int end, List<ActionBlock> blocks) throws UnsupportedSwfException {
+        while (pos + 2 <= end) {
+            final int header = (swf[pos] & 0xFF) | (swf[pos + 1] & 0xFF) << 8;
+            final int code = header >>> 6;
+            int length = header & 0x3F;
+            pos += 2;
+
+            if (length == 0x3F) {
+                if (pos + 4 > end) {
+                    throw new UnsupportedSwfException("Truncated SWF tag " + code);
+                }
+
+                length = (swf[pos] & 0xFF) | (swf[pos + 1] & 0xFF) << 8 | (swf[pos + 2] & 0xFF) << 16 | (swf[pos + 3] & 0xFF) << 24;
+                pos += 4;
+            }
+
+            if (length < 0 || pos + length > end) {
+                throw new UnsupportedSwfException("Truncated SWF tag " + code);
+            }
+
+            switch (code) {
+                case TAG_END:
+                    return;
+
+                case TAG_DO_ACTION:
+                    blocks.add(new ActionBlock(pos, pos + length));
+                    break;
+
+                case TAG_DO_INIT_ACTION: // Skip the sprite id
+                    blocks.add(new ActionBlock(pos + 2, pos + length));
+                    break;
+
+                case TAG_DEFINE_SPRITE: // Skip the sprite id and frame count
+                    readTags(swf, pos + 4, pos + length, blocks);
+                    break;
+            }
+
+            pos += length;
+        }
+    }
+
+    private static int readFully(InputStream stream, byte[] buffer) throws IOException {
+        int read = 0;
+
+        for (int len; read < buffer.length && (len = stream.read(buffer, read, buffer.length - read)) != -1;) {
+            read += len;
+        }
+
+        return read;
+    }
+
+    private static byte[] readAll(InputStream stream, int expectedSize) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(Math.min(expectedSize, 1 << 26), 32));
+        final byte[] buffer = new byte[8192];
+
+        for (int len; (len = stream.read(buffer)) != -1;) {
+            out.write(buffer, 0, len);
+        }
+
+        return out.toByteArray();
+    }
+}
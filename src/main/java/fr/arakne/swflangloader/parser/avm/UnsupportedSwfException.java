@@ -0,0 +1,38 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.avm;
+
+import java.io.IOException;
+
+/**
+ * The SWF file uses a feature which is not handled by the action interpreter
+ * A decompiler should be used instead
+ */
+public class UnsupportedSwfException extends IOException {
+    final static private long serialVersionUID = 1L;
+
+    public UnsupportedSwfException(String message) {
+        super(message);
+    }
+
+    public UnsupportedSwfException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.mapper;
+
+/**
+ * Declare the properties of a SWF structure without reflection
+ * Implementations are generated at compile time by {@link fr.arakne.swflangloader.parser.mapper.processor.SwfHydratorProcessor}
+ *
+ * @param <T> The structure type
+ *
+ * @see MapperHydrator#parseAnnotations(Class)
+ */
+public interface GeneratedHydrator<T> {
+    /**
+     * Declare all mapped properties of the structure
+     *
+     * @param hydrator The hydrator to configure
+     */
+    public void declare(MapperHydrator<T> hydrator);
+}
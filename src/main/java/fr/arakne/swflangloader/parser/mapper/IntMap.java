@@ -0,0 +1,485 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.mapper;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Map indexed by primitive int, using open addressing
+ * Keys are not boxed, and entries are stored in two arrays, without node per entry
+ * If keys are a compact range, {@link IntMap#compact()} switches to an array indexed by the key
+ *
+ * Can be used as field type of a {@link SwfVariable} associative variable, instead of Map<Integer, V>
+ *
+ * @param <V> The value type
+ */
+final public class IntMap<V> extends AbstractMap<Integer, V> {
+    final static private int MIN_CAPACITY = 8;
+
+    /**
+     * Stored instead of null values, because null marks an empty slot
+     */
+    final static private Object NULL = new Object();
+
+    /**
+     * The keys of the hash table, or null if dense storage is used
+     */
+    private int[] keys;
+    private Object[] values;
+    private int size = 0;
+
+    /**
+     * The key of the first slot, on dense storage
+     */
+    private int base = 0;
+
+    public IntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize Number of entries to store without resizing
+     */
+    public IntMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Get a value by its key, without boxing
+     *
+     * @param key The key
+     *
+     * @return The value, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (keys == null) {
+            final int index = key - base;
+
+            return index >= 0 && index < values.length ? (V) unmask(values[index]) : null;
+        }
+
+        final int index = indexOf(key);
+
+        return index < 0 ? null : (V) unmask(values[index]);
+    }
+
+    /**
+     * Check if the key is present, without boxing
+     *
+     * @param key The key
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Set a value
+     *
+     * @param key The key
+     * @param value The value
+     *
+     * @return The previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (keys == null) {
+            final int index = key - base;
+
+            if (index >= 0 && index < values.length) {
+                final Object last = values[index];
+
+                if (last == null) {
+                    ++size;
+                }
+
+                values[index] = mask(value);
+
+                return (V) unmask(last);
+            }
+
+            // Out of the dense range : go back to the hash table
+            rehash(capacityFor(size + 1));
+        }
+
+        final int mask = keys.length - 1;
+
+        for (int i = hash(key) & mask;; i = (i + 1) & mask) {
+            final Object current = values[i];
+
+            if (current == null) {
+                keys[i] = key;
+                values[i] = mask(value);
+
+                if (++size > keys.length * 3 / 4) {
+                    rehash(keys.length * 2);
+                }
+
+                return null;
+            }
+
+            if (keys[i] == key) {
+                values[i] = mask(value);
+
+                return (V) unmask(current);
+            }
+        }
+    }
+
+    /**
+     * Remove a value, without boxing
+     *
+     * @param key The key
+     *
+     * @return The removed value, or null if not found
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        final int index = indexOf(key);
+
+        if (index < 0) {
+            return null;
+        }
+
+        final V removed = (V) unmask(values[index]);
+
+        delete(index);
+
+        return removed;
+    }
+
+    /**
+     * Switch to a dense storage if the keys are a compact range, to remove hashing on lookup
+     * The values are stored into an array indexed by the key, starting at the lowest key
+     * Should be called once the map is filled. Adding a key out of the range switches back to the hash table.
+     *
+     * @return true if the dense storage is used
+     */
+    public boolean compact() {
+        if (keys == null) {
+            return true;
+        }
+
+        if (size == 0) {
+            return false;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                min = Math.min(min, keys[i]);
+                max = Math.max(max, keys[i]);
+            }
+        }
+
+        final long range = (long) max - min + 1;
+
+        // The dense array must not be larger than the hash table
+        if (range > 2L * size) {
+            return false;
+        }
+
+        final Object[] dense = new Object[(int) range];
+
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                dense[keys[i] - min] = values[i];
+            }
+        }
+
+        keys = null;
+        values = dense;
+        base = min;
+
+        return true;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Integer ? get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && containsKey(((Integer) key).intValue());
+    }
+
+    @Override
+    public V put(Integer key, V value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return key instanceof Integer ? remove(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super Integer, ? super V> action) {
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                action.accept(keyAt(i), (V) unmask(values[i]));
+            }
+        }
+    }
+
+    @Override
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new SlotIterator<V>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V slot(int index) {
+                        return (V) unmask(values[index]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Map.Entry<Integer, V>>() {
+            @Override
+            public Iterator<Map.Entry<Integer, V>> iterator() {
+                return new SlotIterator<Map.Entry<Integer, V>>() {
+                    @Override
+                    Map.Entry<Integer, V> slot(int index) {
+                        return new Entry(index);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int indexOf(int key) {
+        if (keys == null) {
+            final int index = key - base;
+
+            return index >= 0 && index < values.length && values[index] != null ? index : -1;
+        }
+
+        final int mask = keys.length - 1;
+
+        for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Remove the slot, and shift back the following entries of the probe sequence
+     */
+    private void delete(int index) {
+        if (keys == null) {
+            values[index] = null;
+            --size;
+            return;
+        }
+
+        final int mask = keys.length - 1;
+        int hole = index;
+
+        for (int i = (index + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+            final int ideal = hash(keys[i]) & mask;
+
+            // Move the entry only if its ideal slot is not between the hole and its current position
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+
+        values[hole] = null;
+        --size;
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int oldBase = base;
+
+        allocate(capacity);
+        base = 0;
+
+        final int mask = capacity - 1;
+
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                final int key = oldKeys == null ? oldBase + i : oldKeys[i];
+                int j = hash(key) & mask;
+
+                while (values[j] != null) {
+                    j = (j + 1) & mask;
+                }
+
+                keys[j] = key;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private int keyAt(int index) {
+        return keys == null ? base + index : keys[index];
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    static private int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity *= 2;
+        }
+
+        return capacity;
+    }
+
+    static private Object mask(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    static private Object unmask(Object value) {
+        return value == NULL ? null : value;
+    }
+
+    static private int hash(int key) {
+        return key ^ (key >>> 16);
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        private int next = advance(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < values.length;
+        }
+
+        @Override
+        public E next() {
+            if (next >= values.length) {
+                throw new NoSuchElementException();
+            }
+
+            last = next;
+            next = advance(next + 1);
+
+            return slot(last);
+        }
+
+        private int advance(int index) {
+            while (index < values.length && values[index] == null) {
+                ++index;
+            }
+
+            return index;
+        }
+
+        abstract E slot(int index);
+    }
+
+    final private class Entry implements Map.Entry<Integer, V> {
+        final private int index;
+
+        private Entry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Integer getKey() {
+            return keyAt(index);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V getValue() {
+            return (V) unmask(values[index]);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V setValue(V value) {
+            final V last = (V) unmask(values[index]);
+            values[index] = mask(value);
+
+            return last;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+
+            final Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+
+            return getKey().equals(other.getKey()) && Objects.equals(getValue(), other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return keyAt(index) ^ Objects.hashCode(getValue());
+        }
+    }
+}
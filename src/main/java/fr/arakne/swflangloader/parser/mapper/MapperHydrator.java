@@ -19,13 +19,19 @@
 
 package fr.arakne.swflangloader.parser.mapper;
 
-import fr.arakne.swflangloader.parser.Assignation;
+import com.google.gson.JsonElement;
 import fr.arakne.swflangloader.parser.AssignationParser;
+import fr.arakne.swflangloader.parser.AssignationVisitor;
+import fr.arakne.swflangloader.parser.mapper.processor.SwfHydratorProcessor;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Hydrator for an SWF structure using mapped properties
@@ -33,17 +39,91 @@ import java.util.Map;
  * @param <T> The target structure type
  */
 final public class MapperHydrator<T> {
-    final private AssignationParser parser = new AssignationParser();
+    final private AssignationParser parser = new AssignationParser().ignoreUndeclared(true);
     final private Map<String, PropertyHydrator<T, ?>> hydrators = new HashMap<>();
+    final private Set<Class<?>> propertyTypes = new HashSet<>();
     private PropertyHydrator<T, Map<String, Object>> defaultHydrator;
+    private Set<String> projection = null;
+
+    /**
+     * Visit the parsed assignations, with the hydrated structure as context
+     * The visitor is shared by all hydrated structures, so no object is created for each line
+     */
+    final private AssignationVisitor<T> visitor = new AssignationVisitor<T>() {
+        @Override
+        public void simple(T target, String varName, Object value) {
+            @SuppressWarnings("unchecked")
+            final PropertyHydrator<T, Object> hydrator = (PropertyHydrator<T, Object>) hydrators.get(varName);
+
+            if (hydrator == null) {
+                hydrateUndeclared(target, varName, null, value);
+                return;
+            }
+
+            hydrator.set(target, value);
+        }
+
+        @Override
+        public void associative(T target, String varName, Object key, Object value) {
+            @SuppressWarnings("unchecked")
+            final PropertyHydrator<T, Object> hydrator = (PropertyHydrator<T, Object>) hydrators.get(varName);
+
+            if (hydrator == null) {
+                hydrateUndeclared(target, varName, key, value);
+                return;
+            }
+
+            @SuppressWarnings("unchecked")
+            Map<Object, Object> map = (Map<Object, Object>) hydrator.get(target);
+
+            if (map == null) {
+                map = new HashMap<>();
+                hydrator.set(target, map);
+            }
+
+            map.put(key, value);
+        }
+    };
 
     /**
      * Define the default property (i.e. for undeclared variable) hydrator
+     * Without default hydrator, the values of undeclared variables are not parsed
      *
      * @param defaultHydrator The hydrator instance to use.
      */
     public void setDefaultHydrator(PropertyHydrator<T, Map<String, Object>> defaultHydrator) {
+        setDefaultHydrator(defaultHydrator, false);
+    }
+
+    /**
+     * Define the default property (i.e. for undeclared variable) hydrator
+     * Without default hydrator, the values of undeclared variables are not parsed
+     *
+     * @param defaultHydrator The hydrator instance to use.
+     * @param lazy Store the values as {@link fr.arakne.swflangloader.parser.LazyJson}, parsed on first access
+     *
+     * @see AssignationParser#lazyUndeclared(boolean)
+     */
+    public void setDefaultHydrator(PropertyHydrator<T, Map<String, Object>> defaultHydrator, boolean lazy) {
+        setDefaultHydrator(defaultHydrator, lazy, false);
+    }
+
+    /**
+     * Define the default property (i.e. for undeclared variable) hydrator
+     * Without default hydrator, the values of undeclared variables are not parsed
+     *
+     * @param defaultHydrator The hydrator instance to use.
+     * @param lazy Store the values as {@link fr.arakne.swflangloader.parser.LazyJson}, parsed on first access
+     * @param compact Store objects and arrays as {@link fr.arakne.swflangloader.parser.CompactValue}
+     *
+     * @see AssignationParser#lazyUndeclared(boolean)
+     * @see AssignationParser#compactUndeclared(boolean)
+     */
+    public void setDefaultHydrator(PropertyHydrator<T, Map<String, Object>> defaultHydrator, boolean lazy, boolean compact) {
         this.defaultHydrator = defaultHydrator;
+        parser.ignoreUndeclared(defaultHydrator == null);
+        parser.lazyUndeclared(lazy);
+        parser.compactUndeclared(compact);
     }
 
     /**
@@ -58,6 +138,7 @@ final public class MapperHydrator<T> {
     public <V> void declareSimpleProperty(String varName, Class<V> type, PropertyHydrator<T, V> hydrator) {
         parser.declareSimple(varName, type);
         hydrators.put(varName, hydrator);
+        propertyTypes.add(type);
     }
 
     /**
@@ -74,93 +155,283 @@ final public class MapperHydrator<T> {
     public <K, V> void declareMapProperty(String varName, Class<K> keyType, Class<V> type, PropertyHydrator<T, Map<K, V>> hydrator) {
         parser.declareMap(varName, keyType, type);
         hydrators.put(varName, hydrator);
+        propertyTypes.add(keyType);
+        propertyTypes.add(type);
     }
 
     /**
-     * Hydrator the target structure using the given action script line
+     * Define a property for a map variable indexed by int, stored into an {@link IntMap}
+     * If the property is null, a new IntMap is set on the first assignation
      *
-     * @param target The structure to hydrate
-     * @param line The action script line
+     * @param varName The SWF variable name
+     * @param type The map value type
+     * @param hydrator Hydrator to use
+     *
+     * @param <V> The variable type
      */
-    public void hydrate(T target, String line) {
-        Assignation assignation = parser.parseLine(line);
+    public <V> void declareIntMapProperty(String varName, Class<V> type, PropertyHydrator<T, IntMap<V>> hydrator) {
+        parser.declareMap(varName, Integer.class, type);
+        propertyTypes.add(type);
+        hydrators.put(varName, new PropertyHydrator<T, IntMap<V>>() {
+            @Override
+            public IntMap<V> get(T source) {
+                IntMap<V> value = hydrator.get(source);
+
+                if (value == null) {
+                    value = new IntMap<>();
+                    hydrator.set(source, value);
+                }
 
-        if (assignation.isNull()) {
-            return;
-        }
+                return value;
+            }
 
-        if (!hydrators.containsKey(assignation.variableName())) {
-            hydrateUndeclared(target, assignation);
-            return;
-        }
+            @Override
+            public void set(T target, IntMap<V> value) {
+                hydrator.set(target, value);
+            }
+        });
+    }
 
-        @SuppressWarnings("unchecked")
-        PropertyHydrator<T, Object> hydrator = (PropertyHydrator<T, Object>) hydrators.get(assignation.variableName());
+    /**
+     * Get the types of the declared properties : the variable type for simple properties, and the key and value types for maps
+     *
+     * @return The types
+     */
+    public Set<Class<?>> propertyTypes() {
+        return Collections.unmodifiableSet(propertyTypes);
+    }
 
-        if (!assignation.isAssociative()) {
-            hydrator.set(target, assignation.value());
-            return;
-        }
+    /**
+     * Only hydrate the given variables
+     * Other variables are skipped before parsing their value, and ignored when restoring values
+     *
+     * @param variables The variables names. Use null to hydrate all variables
+     */
+    public void project(Collection<String> variables) {
+        projection = variables == null ? null : new HashSet<>(variables);
+        parser.project(variables);
+    }
 
-        @SuppressWarnings("unchecked")
-        Map<Object, Object> value = (Map<Object, Object>) hydrator.get(target);
+    /**
+     * Check if only a part of the variables are hydrated
+     * In this case, the exported values should not be used as a full structure cache
+     *
+     * @return true if a projection is defined
+     *
+     * @see MapperHydrator#project(Collection)
+     */
+    public boolean isPartial() {
+        return projection != null;
+    }
 
-        if (value == null) {
-            value = new HashMap<>();
-            hydrator.set(target, value);
-        }
+    /**
+     * Check if the given variable is hydrated
+     *
+     * @param varName The variable name, without the key for associative variables
+     *
+     * @return false if the variable is ignored
+     *
+     * @see AssignationParser#accepts(String)
+     */
+    public boolean accepts(String varName) {
+        return parser.accepts(varName);
+    }
 
-        value.put(assignation.key(), assignation.value());
+    /**
+     * Hydrator the target structure using the given action script line
+     *
+     * @param target The structure to hydrate
+     * @param line The action script line
+     */
+    public void hydrate(T target, String line) {
+        parser.parseLine(line, visitor, target);
+    }
+
+    /**
+     * Hydrate the target structure using an assignation decoded from the SWF bytecode
+     *
+     * @param target The structure to hydrate
+     * @param varName The assigned variable name
+     * @param key The assignation key. Null if not associative assignation
+     * @param value The assigned value
+     *
+     * @see AssignationParser#parse(String, JsonElement, JsonElement)
+     */
+    public void hydrate(T target, String varName, JsonElement key, JsonElement value) {
+        parser.parse(varName, key, value, visitor, target);
     }
 
     @SuppressWarnings("unchecked")
-    private void hydrateUndeclared(T target, Assignation assignation) {
+    private void hydrateUndeclared(T target, String varName, Object key, Object value) {
         if (defaultHydrator == null) {
             return;
         }
 
-        Map<String, Object> value = defaultHydrator.get(target);
+        Map<String, Object> values = defaultHydrator.get(target);
 
-        if (value == null) {
-            value = new HashMap<>();
-            defaultHydrator.set(target, value);
+        if (values == null) {
+            values = new HashMap<>();
+            defaultHydrator.set(target, values);
         }
 
-        if (!assignation.isAssociative()) {
-            value.put(assignation.variableName(), assignation.value());
+        if (key == null) {
+            values.put(varName, value);
             return;
         }
 
-        final Object lastValue = value.get(assignation.variableName());
+        final Object lastValue = values.get(varName);
         Map<Object, Object> mapValue;
 
         if (!(lastValue instanceof Map)) {
             mapValue = new HashMap<>();
-            value.put(assignation.variableName(), mapValue);
+            values.put(varName, mapValue);
         } else {
             mapValue = (Map<Object, Object>) lastValue;
         }
 
-        mapValue.put(assignation.key(), assignation.value());
+        mapValue.put(key, value);
+    }
+
+    /**
+     * Extract the values of all declared properties of the hydrated structure
+     * The default property value is stored with a null key. Null values are ignored.
+     *
+     * @param source The hydrated structure
+     *
+     * @return Properties values, indexed by the variable name
+     *
+     * @see MapperHydrator#restore(Object, Map) For the reverse operation
+     */
+    public Map<String, Object> export(T source) {
+        final Map<String, Object> values = new HashMap<>();
+
+        hydrators.forEach((varName, hydrator) -> {
+            final Object value = hydrator.get(source);
+
+            if (value != null) {
+                values.put(varName, value);
+            }
+        });
+
+        if (defaultHydrator != null && defaultHydrator.get(source) != null) {
+            values.put(null, defaultHydrator.get(source));
+        }
+
+        return values;
+    }
+
+    /**
+     * Restore values extracted by {@link MapperHydrator#export(Object)} into a new structure
+     * Map properties already initialized on the target are filled instead of being replaced
+     * If a projection is defined, other variables are ignored
+     *
+     * @param target The structure to hydrate
+     * @param values Properties values, indexed by the variable name
+     */
+    @SuppressWarnings("unchecked")
+    public void restore(T target, Map<String, Object> values) {
+        values.forEach((varName, value) -> {
+            if (projection != null) {
+                if (varName != null && !projection.contains(varName)) {
+                    return;
+                }
+
+                if (varName == null && value instanceof Map) {
+                    final Map<String, Object> projected = new HashMap<>();
+
+                    ((Map<String, Object>) value).forEach((name, variable) -> {
+                        if (projection.contains(name)) {
+                            projected.put(name, variable);
+                        }
+                    });
+
+                    value = projected;
+                }
+            }
+
+            final PropertyHydrator<T, Object> hydrator = varName == null
+                ? (PropertyHydrator<T, Object>) (PropertyHydrator<T, ?>) defaultHydrator
+                : (PropertyHydrator<T, Object>) hydrators.get(varName)
+            ;
+
+            if (hydrator == null) {
+                return;
+            }
+
+            final Object current = hydrator.get(target);
+
+            if (current instanceof Map && value instanceof Map) {
+                ((Map<Object, Object>) current).putAll((Map<Object, Object>) value);
+            } else {
+                hydrator.set(target, value);
+            }
+        });
     }
 
     /**
      * Create the hydrator instance by parsing annotations
+     * If a hydrator has been generated at compile time for the structure, it's used instead of reflection
      *
      * @param type The structure class
      * @param <T> The structure type
      *
      * @return The hydrator instance
+     *
+     * @see fr.arakne.swflangloader.parser.mapper.processor.SwfHydratorProcessor
      */
     static public <T> MapperHydrator<T> parseAnnotations(Class<T> type) {
+        final GeneratedHydrator<T> generated = generated(type);
+
+        if (generated == null) {
+            return reflection(type);
+        }
+
+        final MapperHydrator<T> hydrator = new MapperHydrator<>();
+        generated.declare(hydrator);
+
+        return hydrator;
+    }
+
+    /**
+     * Load the hydrator generated for the given structure
+     *
+     * @return The generated hydrator, or null if not available
+     */
+    @SuppressWarnings("unchecked")
+    static <T> GeneratedHydrator<T> generated(Class<T> type) {
+        final String packageName = type.getPackage() == null ? "" : type.getPackage().getName();
+        final String simpleName = type.getName().substring(packageName.isEmpty() ? 0 : packageName.length() + 1).replace('$', '_');
+        final String className = (packageName.isEmpty() ? "" : packageName + ".") + simpleName + SwfHydratorProcessor.SUFFIX;
+
+        try {
+            final Class<?> generated = Class.forName(className, true, type.getClassLoader());
+
+            if (!GeneratedHydrator.class.isAssignableFrom(generated)) {
+                return null;
+            }
+
+            return (GeneratedHydrator<T>) generated.getConstructor().newInstance();
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate the generated hydrator " + className, e);
+        }
+    }
+
+    /**
+     * Create the hydrator instance by parsing annotations using reflection
+     */
+    static <T> MapperHydrator<T> reflection(Class<T> type) {
         MapperHydrator<T> hydrator = new MapperHydrator<>();
 
         Class<?> current = type;
 
         while (current.getSuperclass() != null) {
             for (Field field : current.getDeclaredFields()) {
-                if (field.isAnnotationPresent(SwfDefault.class)) {
-                    defineDefaultField(hydrator, field);
+                final SwfDefault defaultAnnotation = field.getAnnotation(SwfDefault.class);
+
+                if (defaultAnnotation != null) {
+                    defineDefaultField(hydrator, field, defaultAnnotation);
                     continue;
                 }
 
@@ -180,7 +451,13 @@ final public class MapperHydrator<T> {
     private static <T> void defineSwfField(MapperHydrator<T> hydrator, Field field, SwfVariable annotation) {
         final String varName = annotation.value().isEmpty() ? field.getName() : annotation.value();
 
-        if (field.getType().equals(Map.class)) {
+        if (field.getType().equals(IntMap.class)) {
+            hydrator.declareIntMapProperty(
+                varName,
+                (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0],
+                new ReflectionPropertyHydrator<>(field)
+            );
+        } else if (field.getType().equals(Map.class)) {
             ParameterizedType mapType = (ParameterizedType) field.getGenericType();
 
             hydrator.declareMapProperty(
@@ -194,11 +471,11 @@ final public class MapperHydrator<T> {
         }
     }
 
-    private static <T> void defineDefaultField(MapperHydrator<T> hydrator, Field field) {
+    private static <T> void defineDefaultField(MapperHydrator<T> hydrator, Field field, SwfDefault annotation) {
         if (!field.getType().equals(Map.class)) {
             throw new IllegalArgumentException("Default swf field must be declared as Map<String, Object>");
         }
 
-        hydrator.setDefaultHydrator(new ReflectionPropertyHydrator<>(field));
+        hydrator.setDefaultHydrator(new ReflectionPropertyHydrator<>(field), annotation.lazy(), annotation.compact());
     }
 }
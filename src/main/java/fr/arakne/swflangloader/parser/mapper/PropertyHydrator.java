@@ -25,7 +25,7 @@ package fr.arakne.swflangloader.parser.mapper;
  * @param <T> Type of target object (i.e. SWF structure)
  * @param <V> Type of the SWF variable
  */
-interface PropertyHydrator<T, V> {
+public interface PropertyHydrator<T, V> {
     /**
      * @param source The structure
      * @return The value of the variable
@@ -31,4 +31,18 @@ import java.lang.annotation.Target;
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface SwfDefault {
+    /**
+     * Keep the raw values, and parse them on first access
+     * The values are stored as {@link fr.arakne.swflangloader.parser.LazyJson}
+     *
+     * @see fr.arakne.swflangloader.parser.AssignationParser#lazyUndeclared(boolean)
+     */
+    public boolean lazy() default false;
+
+    /**
+     * Store objects and arrays as {@link fr.arakne.swflangloader.parser.CompactValue} instead of JsonElement
+     *
+     * @see fr.arakne.swflangloader.parser.AssignationParser#compactUndeclared(boolean)
+     */
+    public boolean compact() default false;
 }
@@ -0,0 +1,409 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.mapper.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generate a hydrator class for each SWF structure, to declare the properties without parsing annotations at runtime
+ *
+ * For a structure class "Foo", the class "Foo_SwfHydrator" is generated in the same package (for nested classes, enclosing class names are joined by "_").
+ * Only classes declaring a {@link fr.arakne.swflangloader.parser.mapper.SwfVariable} or {@link fr.arakne.swflangloader.parser.mapper.SwfDefault} field are processed.
+ * The generated hydrator accesses directly to the fields visible from the package. Final fields, and fields which are not visible (e.g. private fields),
+ * are accessed using reflection, like {@link fr.arakne.swflangloader.parser.mapper.MapperHydrator}.
+ * The structure is skipped if it's private, or if the mapping cannot be resolved at compile time : in this case, reflection is used for the whole structure.
+ *
+ * The processor is not registered as a service : it must be enabled explicitly (e.g. using the "-processor" option of javac).
+ * The annotations are referenced by name, so this processor can be compiled before the rest of the library
+ */
+@SupportedAnnotationTypes({"fr.arakne.swflangloader.parser.mapper.SwfVariable", "fr.arakne.swflangloader.parser.mapper.SwfDefault"})
+final public class SwfHydratorProcessor extends AbstractProcessor {
+    final static public String SUFFIX = "_SwfHydrator";
+
+    final static private String SWF_VARIABLE = "fr.arakne.swflangloader.parser.mapper.SwfVariable";
+    final static private String SWF_DEFAULT = "fr.arakne.swflangloader.parser.mapper.SwfDefault";
+    final static private String MAPPER = "fr.arakne.swflangloader.parser.mapper";
+
+    final private Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (VariableElement field : ElementFilter.fieldsIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                processType((TypeElement) field.getEnclosingElement());
+            }
+        }
+
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || !type.getTypeParameters().isEmpty() || !generated.add(type.getQualifiedName().toString())) {
+            return;
+        }
+
+        final List<String> declarations = new ArrayList<>();
+        final String packageName = packageOf(type).getQualifiedName().toString();
+
+        try {
+            if (!declareFields(type, packageName, declarations) || declarations.isEmpty()) {
+                return;
+            }
+        } catch (UnsupportedFieldException e) {
+            // Only report fields declared by the type : inherited fields (e.g. from BaseLangFile) are reported on the parent class
+            if (type.equals(e.field.getEnclosingElement())) {
+                processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.NOTE,
+                    "No hydrator generated, reflection will be used: " + e.getMessage(),
+                    e.field
+                );
+            }
+
+            return;
+        }
+
+        try {
+            write(type, packageName, declarations);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate hydrator: " + e.getMessage(), type);
+        }
+    }
+
+    /**
+     * Generate the declarations of all mapped fields, including parent classes ones
+     * The fields are declared in the same order as the reflection mapper, so overridden variables are resolved the same way
+     *
+     * @return false if the type is not accessible
+     */
+    private boolean declareFields(TypeElement type, String packageName, List<String> declarations) throws UnsupportedFieldException {
+        for (Element current = type; current.getKind() == ElementKind.CLASS; current = current.getEnclosingElement()) {
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+
+        final String typeName = type.getQualifiedName().toString();
+        int depth = 0;
+
+        for (TypeElement current = type; current != null; current = superclass(current), ++depth) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                final AnnotationMirror variable = annotation(field, SWF_VARIABLE);
+                final AnnotationMirror defaultAnnotation = annotation(field, SWF_DEFAULT);
+                final boolean isDefault = defaultAnnotation != null;
+
+                if (variable == null && !isDefault) {
+                    continue;
+                }
+
+                // Final fields cannot be assigned directly, so reflection is used to behave like the reflection mapper
+                final String reflectionField = isAccessible(field, current, packageName) && !field.getModifiers().contains(Modifier.FINAL)
+                    ? null
+                    : "field(" + typeName + ".class, " + depth + ", " + literal(field.getSimpleName().toString()) + ")"
+                ;
+
+                if (isDefault) {
+                    declarations.add(declareDefault(typeName, field, defaultAnnotation, reflectionField));
+                } else {
+                    declarations.add(declareVariable(typeName, field, variable, reflectionField));
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private String declareDefault(String typeName, VariableElement field, AnnotationMirror annotation, String reflectionField) throws UnsupportedFieldException {
+        if (!isMap(field.asType())) {
+            throw new UnsupportedFieldException(field, "default swf field must be declared as Map<String, Object>");
+        }
+
+        boolean lazy = false;
+        boolean compact = false;
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("lazy")) {
+                lazy = Boolean.TRUE.equals(entry.getValue().getValue());
+            } else if (entry.getKey().getSimpleName().contentEquals("compact")) {
+                compact = Boolean.TRUE.equals(entry.getValue().getValue());
+            }
+        }
+
+        return "hydrator.setDefaultHydrator(" + propertyHydrator(typeName, "java.util.Map<java.lang.String, java.lang.Object>", field, "(java.util.Map) ", reflectionField) + ", " + lazy + ", " + compact + ");";
+    }
+
+    private String declareVariable(String typeName, VariableElement field, AnnotationMirror annotation, String reflectionField) throws UnsupportedFieldException {
+        String varName = field.getSimpleName().toString();
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals("value") && !entry.getValue().getValue().toString().isEmpty()) {
+                varName = entry.getValue().getValue().toString();
+            }
+        }
+
+        final TypeMirror fieldType = field.asType();
+
+        if (isType(fieldType, MAPPER + ".IntMap")) {
+            final List<? extends TypeMirror> arguments = ((DeclaredType) fieldType).getTypeArguments();
+
+            if (arguments.size() != 1 || !isRawClass(arguments.get(0))) {
+                throw new UnsupportedFieldException(field, "the map field " + field.getSimpleName() + " must declare the value class");
+            }
+
+            final String valueType = arguments.get(0).toString();
+
+            return "hydrator.declareIntMapProperty(" + literal(varName) + ", " + valueType + ".class, "
+                + propertyHydrator(typeName, MAPPER + ".IntMap<" + valueType + ">", field, "", reflectionField) + ");"
+            ;
+        }
+
+        if (isMap(fieldType)) {
+            final List<? extends TypeMirror> arguments = ((DeclaredType) fieldType).getTypeArguments();
+
+            if (arguments.size() != 2 || !isRawClass(arguments.get(0)) || !isRawClass(arguments.get(1))) {
+                throw new UnsupportedFieldException(field, "the map field " + field.getSimpleName() + " must declare key and value classes");
+            }
+
+            final String keyType = arguments.get(0).toString();
+            final String valueType = arguments.get(1).toString();
+
+            return "hydrator.declareMapProperty(" + literal(varName) + ", " + keyType + ".class, " + valueType + ".class, "
+                + propertyHydrator(typeName, "java.util.Map<" + keyType + ", " + valueType + ">", field, "", reflectionField) + ");"
+            ;
+        }
+
+        final TypeMirror erasure = processingEnv.getTypeUtils().erasure(fieldType);
+        final String valueType = erasure.getKind().isPrimitive()
+            ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) erasure).getQualifiedName().toString()
+            : erasure.toString()
+        ;
+
+        return "hydrator.declareSimpleProperty(" + literal(varName) + ", " + erasure + ".class, "
+            + propertyHydrator(typeName, valueType, field, "", reflectionField) + ");"
+        ;
+    }
+
+    /**
+     * Generate the property hydrator instance, using direct field access, or reflection if the field expression is given
+     *
+     * @param reflectionField Expression of the reflection field, or null to access directly to the field
+     */
+    private String propertyHydrator(String typeName, String valueType, VariableElement field, String cast, String reflectionField) {
+        if (reflectionField != null) {
+            return "new " + MAPPER + ".ReflectionPropertyHydrator<" + typeName + ", " + valueType + ">(" + reflectionField + ")";
+        }
+
+        final String name = field.getSimpleName().toString();
+
+        return "new " + MAPPER + ".PropertyHydrator<" + typeName + ", " + valueType + ">() {\n" +
+            "            @Override\n" +
+            "            public " + valueType + " get(" + typeName + " source) {\n" +
+            "                return " + cast + "source." + name + ";\n" +
+            "            }\n\n" +
+            "            @Override\n" +
+            "            public void set(" + typeName + " target, " + valueType + " value) {\n" +
+            "                target." + name + " = " + cast + "value;\n" +
+            "            }\n" +
+            "        }"
+        ;
+    }
+
+    private void write(TypeElement type, String packageName, List<String> declarations) throws IOException {
+        final String className = generatedName(type);
+        final String typeName = type.getQualifiedName().toString();
+        final String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("/**\n * Hydrator of {@link " + typeName + "}\n * Generated by " + SwfHydratorProcessor.class.getName() + ". Do not edit.\n */\n");
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.write("final public class " + className + " implements " + MAPPER + ".GeneratedHydrator<" + typeName + "> {\n");
+            writer.write("    @Override\n");
+            writer.write("    public void declare(" + MAPPER + ".MapperHydrator<" + typeName + "> hydrator) {\n");
+
+            for (String declaration : declarations) {
+                writer.write("        " + declaration + "\n");
+            }
+
+            writer.write("    }\n\n");
+            writer.write("    /**\n     * Get a field declared by the structure, or by its n-th parent class\n     */\n");
+            writer.write("    static private java.lang.reflect.Field field(java.lang.Class<?> type, int depth, java.lang.String name) {\n");
+            writer.write("        for (int i = 0; i < depth; ++i) {\n");
+            writer.write("            type = type.getSuperclass();\n");
+            writer.write("        }\n\n");
+            writer.write("        try {\n");
+            writer.write("            return type.getDeclaredField(name);\n");
+            writer.write("        } catch (java.lang.NoSuchFieldException e) {\n");
+            writer.write("            throw new java.lang.IllegalStateException(\"The field \" + name + \" is not found\", e);\n");
+            writer.write("        }\n");
+            writer.write("    }\n}\n");
+        }
+    }
+
+    /**
+     * Get the generated class name, without package
+     * Nested classes names are joined with "_"
+     */
+    static private String generatedName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+
+        for (Element current = type.getEnclosingElement(); current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            name = current.getSimpleName() + "_" + name;
+        }
+
+        return name + SUFFIX;
+    }
+
+    private boolean isAccessible(VariableElement field, TypeElement declaringType, String packageName) {
+        final Set<Modifier> modifiers = field.getModifiers();
+
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            return false;
+        }
+
+        if (packageOf(declaringType).getQualifiedName().contentEquals(packageName)) {
+            return true;
+        }
+
+        if (!modifiers.contains(Modifier.PUBLIC)) {
+            return false;
+        }
+
+        for (Element current = declaringType; current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            if (!current.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Check if the type is exactly java.util.Map (like the reflection mapper)
+     */
+    private boolean isMap(TypeMirror type) {
+        return isType(type, "java.util.Map");
+    }
+
+    static private boolean isType(TypeMirror type, String qualifiedName) {
+        return type.getKind() == TypeKind.DECLARED
+            && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(qualifiedName)
+        ;
+    }
+
+    static private boolean isRawClass(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            final TypeMirror component = ((ArrayType) type).getComponentType();
+
+            return component.getKind().isPrimitive() || isRawClass(component);
+        }
+
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        final TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+
+    static private AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return annotation;
+            }
+        }
+
+        return null;
+    }
+
+    static private String literal(String value) {
+        final StringBuilder literal = new StringBuilder("\"");
+
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c < ' ' || c > '~') {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    /**
+     * The field mapping cannot be generated
+     */
+    final static private class UnsupportedFieldException extends Exception {
+        final static private long serialVersionUID = 1L;
+
+        final private transient Element field;
+
+        private UnsupportedFieldException(Element field, String message) {
+            super(message);
+            this.field = field;
+        }
+    }
+}
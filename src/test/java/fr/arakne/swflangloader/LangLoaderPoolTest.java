@@ -0,0 +1,120 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader;
+
+import fr.arakne.swflangloader.loader.ExtractionMode;
+import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.loader.TxtVersionsLoader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LangLoaderPoolTest {
+    private LangLoaderPool pool;
+
+    @BeforeEach
+    void setUp() throws MalformedURLException {
+        pool = new LangLoaderPool(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            new TxtVersionsLoader(),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE)
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.clear();
+        pool.close();
+    }
+
+    @Test
+    void get() throws IOException, InterruptedException {
+        assertSame(pool.get("fr"), pool.get("fr"));
+        assertNotSame(pool.get("fr"), pool.get("en"));
+
+        assertEquals("fr", pool.get("fr").lang().language());
+        assertEquals(801, pool.get("fr").lang().version());
+        assertEquals("en", pool.get("en").lang().language());
+        assertEquals(812, pool.get("en").lang().version());
+    }
+
+    @Test
+    void preload() throws IOException, InterruptedException {
+        pool.preload(Arrays.asList("fr", "en", "de"), Arrays.asList("lang", "maps", "audio"));
+
+        assertEquals(801, pool.get("fr").lang().version());
+        assertEquals(812, pool.get("en").lang().version());
+        assertEquals(828, pool.get("de").lang().version());
+        assertEquals(366, pool.get("fr").maps().version());
+        assertEquals(56, pool.get("fr").load("audio").version());
+
+        assertThrows(IOException.class, () -> pool.preload(Collections.singleton("xx"), Collections.singleton("lang")));
+    }
+
+    @Test
+    void preloadAll() throws IOException, InterruptedException {
+        pool.preloadAll(Arrays.asList("fr", "en"));
+
+        final URL url = Paths.get("assets/lang-1-29").toUri().toURL();
+        final LangCacheStats fr = pool.get("fr").cacheStats();
+        final LangCacheStats en = pool.get("en").cacheStats();
+
+        assertEquals(new TxtVersionsLoader().forLanguage(url, "fr").size(), fr.size());
+        assertEquals(fr.size(), fr.misses());
+        assertEquals(0, fr.hits());
+        assertEquals(new TxtVersionsLoader().forLanguage(url, "en").size(), en.size());
+        assertEquals(en.size(), en.misses());
+
+        // Preloaded instances are returned without new load
+        assertEquals(801, pool.get("fr").lang().version());
+        assertEquals(369, pool.get("fr").monsters().version());
+        assertEquals(fr.misses(), pool.get("fr").cacheStats().misses());
+        assertEquals(2, pool.get("fr").cacheStats().hits());
+    }
+
+    @Test
+    void cachePolicyAppliedToEachLanguage() throws IOException, InterruptedException {
+        try (LangLoaderPool pool = new LangLoaderPool(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            new TxtVersionsLoader(),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE),
+            LangCachePolicy.maxEntries(2)
+        )) {
+            pool.preload(Arrays.asList("fr", "en"), Arrays.asList("lang", "audio", "alignment"));
+
+            for (String language : Arrays.asList("fr", "en")) {
+                final LangCacheStats stats = pool.get(language).cacheStats();
+
+                assertEquals(2, stats.size());
+                assertEquals(3, stats.misses());
+                assertEquals(1, stats.evictions());
+            }
+        }
+    }
+}
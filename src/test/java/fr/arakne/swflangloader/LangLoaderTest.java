@@ -22,14 +22,34 @@ package fr.arakne.swflangloader;
 import com.google.gson.JsonPrimitive;
 import fr.arakne.swflangloader.lang.BaseLangFile;
 import fr.arakne.swflangloader.lang.maps.MapsFile;
+import fr.arakne.swflangloader.loader.AbstractSwfFile;
+import fr.arakne.swflangloader.loader.ExtractionMode;
+import fr.arakne.swflangloader.loader.SwfFileLoader;
+import fr.arakne.swflangloader.loader.TxtVersionsLoader;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -100,6 +120,33 @@ class LangLoaderTest {
         assertEquals("Pour des raisons de maintenances, le serveur va être redémarré dans %1.", loader.lang().error(15));
     }
 
+    @Test
+    void items() throws IOException, InterruptedException {
+        assertEquals("items", loader.items().name());
+        assertEquals("fr", loader.items().language());
+        assertEquals(447, loader.items().version());
+        assertSame(loader.items(), loader.items());
+        assertEquals("Petite Amulette du Hibou", loader.items().get(39).name());
+    }
+
+    @Test
+    void spells() throws IOException, InterruptedException {
+        assertEquals("spells", loader.spells().name());
+        assertEquals("fr", loader.spells().language());
+        assertEquals(350, loader.spells().version());
+        assertSame(loader.spells(), loader.spells());
+        assertEquals("Coup de poing", loader.spells().get(0).name());
+    }
+
+    @Test
+    void monsters() throws IOException, InterruptedException {
+        assertEquals("monsters", loader.monsters().name());
+        assertEquals("fr", loader.monsters().language());
+        assertEquals(369, loader.monsters().version());
+        assertSame(loader.monsters(), loader.monsters());
+        assertEquals("Bouftou", loader.monsters().get(36).name());
+    }
+
     @Test
     void clear() throws IOException, InterruptedException {
         MapsFile maps = loader.maps();
@@ -108,4 +155,366 @@ class LangLoaderTest {
         loader.clear();
         assertNotSame(maps, loader.maps());
     }
+
+    @Test
+    void preload() throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            LangLoader loader = new LangLoader(
+                Paths.get("assets/lang-1-29").toUri().toURL(),
+                "fr",
+                new TxtVersionsLoader(),
+                new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE),
+                executor
+            );
+
+            loader.preload(Arrays.asList("alignment", "audio", "maps", "classes", "hints", "lang", "alignment"));
+
+            assertEquals(147, loader.load("alignment").version());
+            assertEquals(56, loader.load("audio").version());
+            assertEquals(-26, loader.maps().position(5989).x());
+            assertEquals("Enutrof", loader.classes().get(3).shortName());
+            assertEquals("Green", loader.hints().category(3).color());
+            assertEquals(801, loader.lang().version());
+
+            assertThrows(NoSuchElementException.class, () -> loader.preload(Arrays.asList("audio", "not_found")));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void preloadAll() throws IOException, InterruptedException {
+        loader.preloadAll();
+
+        assertEquals(147, loader.load("alignment").version());
+        assertEquals(206, loader.load("states").version());
+        assertEquals(366, loader.maps().version());
+        assertEquals(801, loader.lang().version());
+    }
+
+    @Test
+    void asyncWithDefaultExecutor() throws Exception {
+        ExecutionException error = assertThrows(ExecutionException.class, () -> loader.loadAsync("not_found").get());
+        assertTrue(error.getCause() instanceof NoSuchElementException);
+
+        assertTrue(Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> thread.getName().startsWith("swf-lang-loader-") && thread.isDaemon()));
+    }
+
+    @Test
+    void async() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            LangLoader loader = new LangLoader(
+                Paths.get("assets/lang-1-29").toUri().toURL(),
+                "fr",
+                new TxtVersionsLoader(),
+                new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE),
+                executor
+            );
+
+            CompletableFuture<BaseLangFile> alignment = loader.loadAsync("alignment");
+            CompletableFuture<MapsFile> maps = loader.mapsAsync();
+
+            assertSame(alignment, loader.loadAsync("alignment"));
+            assertSame(maps, loader.mapsAsync());
+
+            assertEquals(147, alignment.get().version());
+            assertEquals(-26, maps.get().position(5989).x());
+            assertEquals("Enutrof", loader.classesAsync().get().get(3).shortName());
+            assertEquals("Green", loader.hintsAsync().get().category(3).color());
+            assertEquals(801, loader.langAsync().get().version());
+
+            assertSame(alignment.get(), loader.load("alignment"));
+            assertSame(maps.get(), loader.maps());
+            assertNotSame(loader.load("maps"), loader.maps());
+
+            CompletableFuture<BaseLangFile> notFound = loader.loadAsync("not_found");
+            ExecutionException error = assertThrows(ExecutionException.class, notFound::get);
+            assertTrue(error.getCause() instanceof NoSuchElementException);
+            assertNotSame(notFound, loader.loadAsync("not_found"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void refresh() throws IOException, InterruptedException {
+        Map<String, Integer> versions = new HashMap<>();
+        versions.put("alignment", 147);
+        versions.put("audio", 56);
+        versions.put("maps", 366);
+
+        LangLoader loader = new LangLoader(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            "fr",
+            (baseUrl, language) -> new HashMap<>(versions),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE)
+        );
+
+        assertEquals(Collections.emptySet(), loader.refresh());
+
+        BaseLangFile alignment = loader.load("alignment");
+        BaseLangFile audio = loader.load("audio");
+        MapsFile maps = loader.maps();
+
+        assertEquals(Collections.emptySet(), loader.refresh());
+        assertSame(alignment, loader.load("alignment"));
+        assertSame(audio, loader.load("audio"));
+        assertSame(maps, loader.maps());
+
+        versions.remove("audio");
+
+        assertEquals(Collections.singleton("audio"), loader.refresh());
+        assertSame(alignment, loader.load("alignment"));
+        assertSame(maps, loader.maps());
+        assertThrows(NoSuchElementException.class, () -> loader.load("audio"));
+    }
+
+    @Test
+    void refreshReloadChangedFiles() throws IOException, InterruptedException {
+        Map<String, Integer> versions = new HashMap<>();
+        versions.put("alignment", 147);
+        versions.put("states", 206);
+
+        LangLoader loader = new LangLoader(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            "fr",
+            (baseUrl, language) -> new HashMap<>(versions),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE)
+        );
+
+        BaseLangFile alignment = loader.load("alignment");
+        BaseLangFile states = loader.load("states");
+
+        assertEquals(206, states.version());
+
+        versions.put("states", 205);
+        versions.put("not_found", 1);
+
+        assertEquals(Collections.singleton("states"), loader.refresh());
+        assertSame(alignment, loader.load("alignment"));
+        assertNotSame(states, loader.load("states"));
+        assertEquals(205, loader.load("states").version());
+
+        // Failed reload keeps previous files
+        states = loader.load("states");
+        versions.put("states", 1);
+
+        assertThrows(IOException.class, loader::refresh);
+        assertSame(states, loader.load("states"));
+        assertEquals(205, loader.load("states").version());
+    }
+
+    @Test
+    void refreshPublishVersionsWithReloadedFiles() throws Exception {
+        Files.createDirectories(Paths.get("./tmp/refresh/swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/alignment_fr_147.swf"), Paths.get("./tmp/refresh/swf/alignment_fr_147.swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/alignment_fr_147.swf"), Paths.get("./tmp/refresh/swf/alignment_fr_148.swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/audio_fr_56.swf"), Paths.get("./tmp/refresh/swf/audio_fr_56.swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/audio_fr_56.swf"), Paths.get("./tmp/refresh/swf/audio_fr_57.swf"));
+
+        Map<String, Integer> versions = new HashMap<>();
+        versions.put("alignment", 147);
+        versions.put("audio", 56);
+
+        AtomicBoolean blocking = new AtomicBoolean();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SwfFileLoader swfFileLoader = new SwfFileLoader(Paths.get("./tmp/refresh"), false, ExtractionMode.NATIVE);
+
+        LangLoader loader = new LangLoader(
+            Paths.get("./tmp/refresh").toUri().toURL(),
+            "fr",
+            (baseUrl, language) -> new HashMap<>(versions),
+            swfFileLoader,
+            task -> new Thread(() -> {
+                if (blocking.get()) {
+                    started.countDown();
+
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+
+                task.run();
+            }).start()
+        );
+
+        try {
+            BaseLangFile alignment = loader.load("alignment");
+
+            versions.put("alignment", 148);
+            versions.put("audio", 57);
+            blocking.set(true);
+
+            CompletableFuture<Set<String>> refresh = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.refresh();
+                } catch (IOException | InterruptedException e) {
+                    throw new CompletionException(e);
+                }
+            });
+
+            started.await();
+
+            // The new versions are not visible during the reload
+            assertSame(alignment, loader.load("alignment"));
+            assertEquals(56, loader.load("audio").version());
+
+            release.countDown();
+
+            // audio has been loaded during the refresh with the previous version : it's removed
+            assertEquals(new HashSet<>(Arrays.asList("alignment", "audio")), refresh.get());
+            assertEquals(148, loader.load("alignment").version());
+            assertEquals(57, loader.load("audio").version());
+        } finally {
+            release.countDown();
+            swfFileLoader.clear();
+        }
+    }
+
+    @Test
+    void refreshDropStaleLoad() throws Exception {
+        Files.createDirectories(Paths.get("./tmp/refresh/swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/alignment_fr_147.swf"), Paths.get("./tmp/refresh/swf/alignment_fr_147.swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/alignment_fr_147.swf"), Paths.get("./tmp/refresh/swf/alignment_fr_148.swf"));
+
+        Map<String, Integer> versions = new HashMap<>();
+        versions.put("alignment", 147);
+
+        BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        SwfFileLoader swfFileLoader = new SwfFileLoader(Paths.get("./tmp/refresh"), false, ExtractionMode.NATIVE);
+
+        LangLoader loader = new LangLoader(
+            Paths.get("./tmp/refresh").toUri().toURL(),
+            "fr",
+            (baseUrl, language) -> new HashMap<>(versions),
+            swfFileLoader,
+            tasks::add
+        );
+
+        try {
+            assertEquals(Collections.emptySet(), loader.refresh());
+
+            CompletableFuture<BaseLangFile> stale = loader.loadAsync("alignment");
+            Runnable staleTask = tasks.take();
+
+            versions.put("alignment", 148);
+
+            CompletableFuture<Set<String>> refresh = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.refresh();
+                } catch (IOException | InterruptedException e) {
+                    throw new CompletionException(e);
+                }
+            });
+
+            tasks.take().run();
+            assertEquals(Collections.singleton("alignment"), refresh.get());
+
+            BaseLangFile reloaded = loader.load("alignment");
+            assertEquals(148, reloaded.version());
+
+            // The pending load completes after the refresh : the refreshed file is kept
+            staleTask.run();
+            assertNotSame(reloaded, stale.get());
+            assertSame(reloaded, loader.load("alignment"));
+            assertEquals(1, loader.cacheStats().size());
+        } finally {
+            swfFileLoader.clear();
+        }
+    }
+
+    @Test
+    void clearDropPendingLoad() throws Exception {
+        BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+
+        LangLoader loader = new LangLoader(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            "fr",
+            new TxtVersionsLoader(),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE),
+            tasks::add
+        );
+
+        CompletableFuture<BaseLangFile> pending = loader.loadAsync("alignment");
+        Runnable task = tasks.take();
+
+        loader.clear();
+        task.run();
+
+        assertEquals(147, pending.get().version());
+        assertEquals(0, loader.cacheStats().size());
+        assertNotSame(pending.get(), loader.load("alignment"));
+        assertEquals(1, loader.cacheStats().size());
+    }
+
+    @Test
+    void cachePolicyMaxEntries() throws IOException, InterruptedException {
+        LangLoader loader = new LangLoader(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            "fr",
+            new TxtVersionsLoader(),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE),
+            Runnable::run,
+            LangCachePolicy.maxEntries(2)
+        );
+
+        BaseLangFile alignment = loader.load("alignment");
+        BaseLangFile audio = loader.load("audio");
+
+        assertSame(alignment, loader.load("alignment"));
+        assertEquals(2, loader.cacheStats().size());
+        assertEquals(0, loader.cacheStats().evictions());
+
+        // audio is the least recently used
+        MapsFile maps = loader.maps();
+
+        assertEquals(2, loader.cacheStats().size());
+        assertEquals(1, loader.cacheStats().evictions());
+        assertSame(alignment, loader.load("alignment"));
+        assertSame(maps, loader.maps());
+
+        BaseLangFile reloaded = loader.load("audio");
+        assertNotSame(audio, reloaded);
+        assertEquals(56, reloaded.version());
+
+        LangCacheStats stats = loader.cacheStats();
+
+        assertEquals(3, stats.hits());
+        assertEquals(4, stats.misses());
+        assertEquals(2, stats.evictions());
+        assertEquals(2, stats.size());
+        assertEquals(2, stats.weight());
+    }
+
+    @Test
+    void cachePolicyMaxWeight() throws IOException, InterruptedException {
+        LangLoader loader = new LangLoader(
+            Paths.get("assets/lang-1-29").toUri().toURL(),
+            "fr",
+            new TxtVersionsLoader(),
+            new SwfFileLoader(Paths.get("./tmp"), false, ExtractionMode.NATIVE),
+            Runnable::run,
+            LangCachePolicy.maxWeight(200, AbstractSwfFile::version)
+        );
+
+        BaseLangFile alignment = loader.load("alignment");
+        assertEquals(147, loader.cacheStats().weight());
+
+        loader.load("audio");
+        assertEquals(56, loader.cacheStats().weight());
+        assertEquals(1, loader.cacheStats().evictions());
+        assertNotSame(alignment, loader.load("alignment"));
+
+        // A file larger than the limit is kept until the next load
+        loader.lang();
+        assertEquals(801, loader.cacheStats().weight());
+        assertEquals(1, loader.cacheStats().size());
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2020 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedIndexTest {
+    final private int[] types = new int[] {2, 1, 2, 1, 3, -1};
+    final private int[] levels = new int[] {10, 20, 5, 10, 10, 10};
+
+    @Test
+    void rows() {
+        SortedIndex index = SortedIndex.rows(4);
+
+        assertEquals(Arrays.asList(0, 1, 2, 3), index.all(row -> row));
+        assertEquals(Arrays.asList(1, 2), index.range(row -> row < 1, row -> row <= 2, row -> row));
+    }
+
+    @Test
+    void sortBy() {
+        SortedIndex byLevel = SortedIndex.rows(types.length).sortBy(row -> levels[row]);
+
+        assertEquals(Arrays.asList(2, 0, 3, 4, 5, 1), byLevel.all(row -> row));
+    }
+
+    @Test
+    void sortByKeepPreviousOrderForEqualKeys() {
+        SortedIndex byTypeAndLevel = SortedIndex.rows(types.length).sortBy(row -> levels[row]).sortBy(row -> types[row]);
+
+        assertEquals(Arrays.asList(5, 3, 1, 2, 0, 4), byTypeAndLevel.all(row -> row));
+    }
+
+    @Test
+    void sortByExtremeKeys() {
+        final int[] keys = new int[] {Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1};
+
+        assertEquals(Arrays.asList(2, 3, 1, 0), SortedIndex.rows(keys.length).sortBy(row -> keys[row]).all(row -> row));
+    }
+
+    @Test
+    void range() {
+        SortedIndex byLevel = SortedIndex.rows(types.length).sortBy(row -> levels[row]);
+
+        assertEquals(Arrays.asList(0, 3, 4, 5), byLevel.range(row -> levels[row] < 10, row -> levels[row] <= 10, row -> row));
+        assertEquals(Arrays.asList(2, 0, 3, 4, 5, 1), byLevel.range(row -> levels[row] < 0, row -> levels[row] <= 100, row -> row));
+        assertEquals(Collections.emptyList(), byLevel.range(row -> levels[row] < 30, row -> levels[row] <= 40, row -> row));
+        assertEquals(Collections.emptyList(), byLevel.range(row -> levels[row] < 20, row -> levels[row] <= 5, row -> row));
+    }
+
+    @Test
+    void rangeGet() {
+        List<String> range = SortedIndex.rows(types.length).sortBy(row -> levels[row]).range(row -> levels[row] < 10, row -> levels[row] <= 10, row -> "row" + row);
+
+        assertEquals(4, range.size());
+        assertEquals("row0", range.get(0));
+        assertEquals("row5", range.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> range.get(-1));
+    }
+
+    @Test
+    void empty() {
+        SortedIndex index = SortedIndex.rows(0).sortBy(row -> row);
+
+        assertTrue(index.all(row -> row).isEmpty());
+        assertTrue(index.range(row -> false, row -> true, row -> row).isEmpty());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.items;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemsFileTest {
+    static private ItemsFile items;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, InterruptedException {
+        items = new ItemsFile(Paths.get("assets/lang-1-29/swf/items_fr_447.swf").toUri().toURL());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        items = null;
+    }
+
+    @Test
+    void filename() {
+        assertEquals("items", items.name());
+        assertEquals("fr", items.language());
+        assertEquals(447, items.version());
+    }
+
+    @Test
+    void all() {
+        assertEquals(9930, items.all().size());
+        assertEquals(39, items.all().get(0).id());
+        assertEquals(114, items.allTypes().size());
+    }
+
+    @Test
+    void get() {
+        Item item = items.get(40);
+
+        assertEquals(40, item.id());
+        assertEquals("Petite Epée de Boisaille", item.name());
+        assertEquals("Epée de simple facture, elle ne fera pas de votre héros une légende.", item.description());
+        assertEquals(6, item.typeId());
+        assertEquals("Épée", item.type().name());
+        assertEquals(2, item.level());
+        assertEquals(20, item.weight());
+        assertEquals(200, item.price());
+        assertEquals(7, item.gfxId());
+        assertEquals(1, item.ep());
+        assertEquals(14, item.animation());
+        assertEquals(0, item.itemSetId());
+        assertEquals("CS>4", item.conditions());
+        assertTrue(item.wd());
+        assertTrue(item.fm());
+        assertFalse(item.ethereal());
+        assertFalse(item.usable());
+
+        assertNull(items.get(1));
+    }
+
+    @Test
+    void weapon() {
+        Weapon weapon = items.get(40).weapon();
+
+        assertEquals(5, weapon.criticalBonus());
+        assertEquals(4, weapon.actionPointCost());
+        assertEquals(1, weapon.minRange());
+        assertEquals(1, weapon.maxRange());
+        assertEquals(50, weapon.criticalRate());
+        assertEquals(30, weapon.failureRate());
+        assertFalse(weapon.lineOnly());
+        assertFalse(weapon.lineOfSight());
+
+        assertNull(items.get(39).weapon());
+    }
+
+    @Test
+    void byType() {
+        List<Item> amulets = items.byType(1);
+
+        assertEquals(191, amulets.size());
+        assertTrue(amulets.stream().allMatch(item -> item.typeId() == 1));
+
+        for (int i = 1; i < amulets.size(); ++i) {
+            assertTrue(amulets.get(i - 1).level() <= amulets.get(i).level());
+        }
+
+        assertEquals(
+            items.all().stream().filter(item -> item.typeId() == 1 && item.level() <= 20).collect(Collectors.toSet()),
+            items.byType(1, 20).stream().collect(Collectors.toSet())
+        );
+        assertEquals(51, items.byType(1, 20).size());
+        assertEquals(
+            items.all().stream().filter(item -> item.typeId() == 6 && item.level() >= 10 && item.level() <= 30).count(),
+            items.byType(6, 10, 30).size()
+        );
+
+        assertTrue(items.byType(999).isEmpty());
+        assertTrue(items.byType(6, 10, 5).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> items.byType(1, 20).get(51));
+    }
+
+    @Test
+    void byLevel() {
+        List<Item> level100 = items.byLevel(100, 100);
+
+        assertEquals(164, level100.size());
+        assertTrue(level100.stream().allMatch(item -> item.level() == 100));
+        assertEquals(
+            items.all().stream().filter(item -> item.level() >= 50 && item.level() < 60).count(),
+            items.byLevel(50, 59).size()
+        );
+    }
+
+    @Test
+    void types() {
+        ItemType type = items.type(2);
+
+        assertEquals(2, type.id());
+        assertEquals("Arc", type.name());
+        assertEquals(2, type.superType());
+        assertEquals("Pa", type.zone());
+        assertNull(items.type(1).zone());
+        assertNull(items.type(999));
+    }
+
+    @Test
+    void superTypePositions() {
+        assertArrayEquals(new int[] {2, 4}, items.superTypePositions(3));
+        assertArrayEquals(new int[0], items.superTypePositions(999));
+    }
+
+    @Test
+    void equalsAndHash() {
+        assertEquals(items.get(40), items.get(40));
+        assertEquals(items.get(40).hashCode(), items.get(40).hashCode());
+        assertNotEquals(items.get(39), items.get(40));
+        assertEquals("Item{Petite Amulette du Hibou (39)}", items.get(39).toString());
+    }
+}
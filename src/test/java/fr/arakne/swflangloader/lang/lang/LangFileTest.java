@@ -21,6 +21,7 @@ package fr.arakne.swflangloader.lang.lang;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import fr.arakne.swflangloader.lang.BaseLangFile;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -68,6 +69,20 @@ class LangFileTest {
         assertThrows(NoSuchElementException.class, () -> lang.assoc("undefined"));
     }
 
+    @Test
+    void assocFromJsonObject() {
+        JsonObject object = new JsonObject();
+        object.addProperty("a", 12);
+        object.addProperty("b", "foo");
+
+        BaseLangFile.AssocVariable assoc = new BaseLangFile.AssocVariable("X", object);
+
+        assertEquals(12, assoc.integer("a"));
+        assertEquals("foo", assoc.string("b"));
+        assertEquals(2, assoc.all().size());
+        assertThrows(NoSuchElementException.class, () -> assoc.json("c"));
+    }
+
     @Test
     void json() {
         assertTrue(lang.json("C.SERVER_PORT") instanceof JsonArray);
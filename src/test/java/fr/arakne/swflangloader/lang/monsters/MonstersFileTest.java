@@ -0,0 +1,180 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.monsters;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonstersFileTest {
+    static private MonstersFile monsters;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, InterruptedException {
+        monsters = new MonstersFile(Paths.get("assets/lang-1-29/swf/monsters_fr_369.swf").toUri().toURL());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        monsters = null;
+    }
+
+    @Test
+    void filename() {
+        assertEquals("monsters", monsters.name());
+        assertEquals("fr", monsters.language());
+        assertEquals(369, monsters.version());
+    }
+
+    @Test
+    void all() {
+        assertEquals(1416, monsters.all().size());
+        assertEquals(31, monsters.all().get(0).id());
+        assertEquals(2930, monsters.all().get(1415).id());
+        assertEquals(86, monsters.allRaces().size());
+    }
+
+    @Test
+    void get() {
+        Monster monster = monsters.get(36);
+
+        assertEquals(36, monster.id());
+        assertEquals("Bouftou", monster.name());
+        assertEquals(1566, monster.gfxId());
+        assertEquals(0, monster.raceId());
+        assertEquals("Invocations de classe", monster.race().name());
+        assertEquals(-1, monster.alignment());
+        assertFalse(monster.kickable());
+        assertEquals(6, monster.grades().size());
+        assertEquals(monster, monsters.get(36));
+
+        assertNull(monsters.get(-1));
+        assertNull(monsters.get(100000));
+    }
+
+    @Test
+    void grade() {
+        MonsterGrade grade = monsters.grade(36, 1);
+
+        assertEquals(36, grade.monster().id());
+        assertEquals(1, grade.grade());
+        assertEquals(1, grade.level());
+        assertEquals(30, grade.lifePoints());
+        assertEquals(5, grade.actionPoints());
+        assertEquals(2, grade.movementPoints());
+        assertEquals(25, grade.resistance(MonsterGrade.RESISTANCE_NEUTRAL));
+        assertEquals(0, grade.resistance(MonsterGrade.RESISTANCE_EARTH));
+        assertEquals(-12, grade.resistance(MonsterGrade.RESISTANCE_FIRE));
+        assertEquals(6, grade.resistance(MonsterGrade.RESISTANCE_WATER));
+        assertEquals(-50, grade.resistance(MonsterGrade.RESISTANCE_AIR));
+        assertEquals(15, grade.resistance(MonsterGrade.DODGE_ACTION_POINTS));
+        assertEquals(15, grade.resistance(MonsterGrade.DODGE_MOVEMENT_POINTS));
+        assertArrayEquals(new int[] {25, 0, -12, 6, -50, 15, 15}, grade.resistances());
+        assertThrows(IndexOutOfBoundsException.class, () -> monsters.grade(36, 1).resistance(7));
+
+        grade = monsters.grade(36, 6);
+
+        assertEquals(6, grade.level());
+        assertEquals(140, grade.lifePoints());
+        assertEquals(4, grade.movementPoints());
+
+        grade = monsters.grade(31, 1);
+
+        assertEquals(2, grade.level());
+        assertEquals(0, grade.lifePoints());
+        assertArrayEquals(new int[] {1, 5, 5, -9, -9, 5, 3}, grade.resistances());
+
+        assertEquals(200, monsters.grade(160, 10).level());
+        assertNull(monsters.grade(36, 7));
+        assertNull(monsters.grade(36, 0));
+        assertNull(monsters.grade(100000, 1));
+    }
+
+    @Test
+    void grades() {
+        List<Integer> levels = monsters.get(36).grades().stream()
+            .map(MonsterGrade::level)
+            .collect(Collectors.toList())
+        ;
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), levels);
+        assertThrows(IndexOutOfBoundsException.class, () -> monsters.get(31).grades().get(5));
+    }
+
+    @Test
+    void byRace() {
+        List<Integer> ids = monsters.byRace(9).stream().map(Monster::id).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(101, 134, 147, 148, 149, 793, 952, 1232), ids);
+        assertEquals(16, monsters.byRace(-1).size());
+        assertTrue(monsters.byRace(999).isEmpty());
+    }
+
+    @Test
+    void gradesByLevel() {
+        List<MonsterGrade> grades = monsters.gradesByLevel(1, 2);
+
+        assertEquals(651, grades.size());
+        assertEquals(36, grades.get(0).monster().id());
+        assertEquals(1, grades.get(0).grade());
+        assertTrue(grades.stream().allMatch(grade -> grade.level() >= 1 && grade.level() <= 2));
+
+        assertEquals(7262, monsters.gradesByLevel(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+        assertTrue(monsters.gradesByLevel(10, 5).isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> monsters.gradesByLevel(1, 2).get(651));
+    }
+
+    @Test
+    void gradesByRace() {
+        List<MonsterGrade> grades = monsters.gradesByRace(9, 1, 3);
+
+        assertEquals(16, grades.size());
+        assertEquals(134, grades.get(0).monster().id());
+        assertEquals(1, grades.get(0).level());
+        assertEquals(1232, grades.get(15).monster().id());
+        assertEquals(3, grades.get(15).level());
+        assertTrue(grades.stream().allMatch(grade -> grade.monster().raceId() == 9));
+
+        assertTrue(monsters.gradesByRace(999, 1, 200).isEmpty());
+        assertTrue(monsters.gradesByRace(9, 3, 1).isEmpty());
+    }
+
+    @Test
+    void races() {
+        MonsterRace race = monsters.race(9);
+
+        assertEquals(9, race.id());
+        assertEquals("Bouftous", race.name());
+        assertEquals(2, race.superRace());
+        assertEquals("Créatures des champs", monsters.superRace(2).name());
+        assertEquals(2, monsters.superRace(2).id());
+
+        assertNull(monsters.race(999));
+        assertNull(monsters.superRace(999));
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.lang.spells;
+
+import fr.arakne.swflangloader.lang.classes.ClassesFile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpellsFileTest {
+    static private SpellsFile spells;
+
+    @BeforeAll
+    static void beforeAll() throws IOException, InterruptedException {
+        spells = new SpellsFile(Paths.get("assets/lang-1-29/swf/spells_fr_350.swf").toUri().toURL());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        spells = null;
+    }
+
+    @Test
+    void filename() {
+        assertEquals("spells", spells.name());
+        assertEquals("fr", spells.language());
+        assertEquals(350, spells.version());
+    }
+
+    @Test
+    void all() {
+        assertEquals(2476, spells.all().size());
+        assertEquals(0, spells.all().get(0).id());
+        assertEquals(2574, spells.all().get(2475).id());
+        assertEquals(892, spells.all().stream().filter(spell -> spell.maxLevel() == 6).count());
+    }
+
+    @Test
+    void get() {
+        Spell spell = spells.get(1);
+
+        assertEquals(1, spell.id());
+        assertEquals("Armure Incandescente", spell.name());
+        assertEquals("Cette armure prévient des dégâts de Feu.", spell.description());
+        assertEquals(6, spell.maxLevel());
+        assertEquals(6, spell.levels().size());
+        assertEquals(spell, spells.get(1));
+
+        assertNull(spells.get(-1));
+        assertNull(spells.get(100000));
+    }
+
+    @Test
+    void level() {
+        SpellLevel level = spells.level(0, 1);
+
+        assertEquals(0, level.spell().id());
+        assertEquals(1, level.level());
+        assertEquals(4, level.apCost());
+        assertEquals(1, level.minRange());
+        assertEquals(1, level.maxRange());
+        assertEquals(20, level.criticalRate());
+        assertEquals(50, level.failureRate());
+        assertFalse(level.lineOnly());
+        assertTrue(level.lineOfSight());
+        assertFalse(level.freeCell());
+        assertFalse(level.modifiableRange());
+        assertTrue(level.failureEndsTurn());
+        assertEquals(0, level.classId());
+        assertEquals(0, level.launchPerTurn());
+        assertEquals(0, level.launchPerTarget());
+        assertEquals(0, level.delay());
+        assertEquals(0, level.minPlayerLevel());
+        assertEquals("PaPa", level.effectZones());
+        assertArrayEquals(new int[0], level.requiredStates());
+        assertArrayEquals(new int[] {19, 41, 3, 1, 18}, level.forbiddenStates());
+
+        level = spells.level(1, 6);
+
+        assertEquals(6, level.level());
+        assertEquals(2, level.apCost());
+        assertEquals(5, level.delay());
+        assertEquals(109, level.minPlayerLevel());
+        assertEquals("CcCc", level.effectZones());
+        assertFalse(level.failureEndsTurn());
+
+        assertArrayEquals(new int[] {27}, spells.level(551, 1).requiredStates());
+
+        assertNull(spells.level(0, 6));
+        assertNull(spells.level(0, 0));
+        assertNull(spells.level(100000, 1));
+    }
+
+    @Test
+    void effects() {
+        SpellLevel level = spells.level(0, 1);
+
+        assertEquals(1, level.effects().size());
+        assertEquals(100, level.effects().get(0).effectId());
+        assertEquals(2, level.effects().get(0).min());
+        assertEquals(6, level.effects().get(0).max());
+        assertEquals(0, level.effects().get(0).special());
+        assertEquals(0, level.effects().get(0).duration());
+        assertEquals(0, level.effects().get(0).chance());
+
+        assertEquals(1, level.criticalEffects().size());
+        assertEquals(100, level.criticalEffects().get(0).effectId());
+        assertEquals(5, level.criticalEffects().get(0).min());
+        assertEquals(9, level.criticalEffects().get(0).max());
+
+        level = spells.level(17, 6);
+
+        assertEquals(1, level.effects().size());
+        assertEquals(401, level.effects().get(0).effectId());
+        assertEquals(1503, level.effects().get(0).min());
+        assertEquals(6, level.effects().get(0).max());
+        assertEquals(2, level.effects().get(0).special());
+        assertEquals(4, level.effects().get(0).duration());
+        assertTrue(level.criticalEffects().isEmpty());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> spells.level(17, 6).criticalEffects().get(0));
+    }
+
+    @Test
+    void levels() {
+        List<Integer> minDamages = spells.get(3).levels().stream()
+            .map(level -> level.effects().get(0).min())
+            .collect(Collectors.toList())
+        ;
+
+        assertEquals(Arrays.asList(2, 3, 4, 5, 7, 9), minDamages);
+        assertThrows(IndexOutOfBoundsException.class, () -> spells.get(0).levels().get(5));
+    }
+
+    @Test
+    void byIds() {
+        assertEquals(
+            Arrays.asList("Attaque Naturelle", "Coup de poing"),
+            spells.get(new int[] {3, 100000, 0}).stream().map(Spell::name).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void classSpells() throws IOException, InterruptedException {
+        ClassesFile classes = new ClassesFile(Paths.get("assets/lang-1-29/swf/classes_fr_180.swf").toUri().toURL());
+        List<Spell> classSpells = spells.classSpells(classes.get(1));
+
+        assertEquals(21, classSpells.size());
+        assertEquals("Attaque Naturelle", classSpells.get(0).name());
+        assertEquals("Invocation de Dopeul Féca", classSpells.get(20).name());
+    }
+}
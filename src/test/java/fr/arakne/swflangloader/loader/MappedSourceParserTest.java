@@ -0,0 +1,154 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+import com.github.valfirst.slf4jtest.TestLogger;
+import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import fr.arakne.swflangloader.lang.BaseLangFile;
+import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
+import fr.arakne.swflangloader.parser.mapper.SwfDefault;
+import fr.arakne.swflangloader.parser.mapper.SwfVariable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSourceParserTest {
+    private final TestLogger logger = TestLoggerFactory.getTestLogger(SwfFileLoader.class);
+
+    static public class Structure extends AbstractSwfFile {
+        @SwfVariable
+        public String NAME;
+        @SwfVariable("I.u")
+        public Map<Integer, String> items = new HashMap<>();
+    }
+
+    static public class StructureWithDefault extends AbstractSwfFile {
+        @SwfVariable
+        public String NAME;
+        @SwfDefault
+        public Map<String, Object> values = new HashMap<>();
+    }
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logger.clearAll();
+        Files.createDirectories(Paths.get("./tmp"));
+        file = Paths.get("./tmp/test.as");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        new SwfFileLoader().clear();
+    }
+
+    @Test
+    void parse() throws IOException {
+        write(
+            "NAME = \"Féca\";\r\n" +
+            "I.u[12] = \"Épée\";\n" +
+            "I.u[13] = \"日本\";\n" +
+            "OTHER = invalid json;\n" +
+            "// comment\n" +
+            "\n" +
+            "I.u[14] = \"last\";"
+        );
+
+        Structure structure = new Structure();
+        MappedSourceParser.parse(file, structure, MapperHydrator.parseAnnotations(Structure.class));
+
+        assertEquals("Féca", structure.NAME);
+        assertEquals("Épée", structure.items.get(12));
+        assertEquals("日本", structure.items.get(13));
+        assertEquals("last", structure.items.get(14));
+        assertEquals(3, structure.items.size());
+        assertTrue(logger.getLoggingEvents().isEmpty());
+    }
+
+    @Test
+    void parseWithDefault() throws IOException {
+        write("NAME = \"Féca\";\nOTHER = \"é\";\nASSOC[\"é\"] = 5;\n");
+
+        StructureWithDefault structure = new StructureWithDefault();
+        MappedSourceParser.parse(file, structure, MapperHydrator.parseAnnotations(StructureWithDefault.class));
+
+        assertEquals("Féca", structure.NAME);
+        assertEquals(new JsonPrimitive("é"), structure.values.get("OTHER"));
+        assertEquals(Collections.singletonMap("é", new JsonPrimitive(5)), structure.values.get("ASSOC"));
+    }
+
+    @Test
+    void parseProjection() throws IOException {
+        write("A.a[1] = {n: \"Bonta\"};\nA.b[1] = {n: \"Brâkmar\"};\nVERSION = 12;\n");
+
+        MapperHydrator<BaseLangFile> hydrator = MapperHydrator.parseAnnotations(BaseLangFile.class);
+        hydrator.project(Collections.singleton("A.a"));
+
+        BaseLangFile lang = new BaseLangFile();
+        MappedSourceParser.parse(file, lang, hydrator);
+
+        assertEquals("Bonta", lang.assoc("A.a").json("1").getAsJsonObject().get("n").getAsString());
+        assertThrows(NoSuchElementException.class, () -> lang.assoc("A.b"));
+        assertThrows(NoSuchElementException.class, () -> lang.integer("VERSION"));
+    }
+
+    @Test
+    void parseInvalidLazyValue() throws IOException {
+        write("A.a[1] = {n: \"Bonta\"};\nA.a[2] = {n: ;\nVAR = [1, ;\n");
+
+        BaseLangFile lang = new BaseLangFile();
+        MappedSourceParser.parse(file, lang, MapperHydrator.parseAnnotations(BaseLangFile.class));
+
+        assertEquals("Bonta", lang.assoc("A.a").json("1").getAsJsonObject().get("n").getAsString());
+        assertEquals("Invalid value for variable A.a[2]", assertThrows(JsonParseException.class, () -> lang.assoc("A.a").json("2")).getMessage());
+        assertThrows(JsonParseException.class, () -> lang.assoc("A.a").all());
+        assertEquals("Invalid value for variable VAR", assertThrows(JsonParseException.class, () -> lang.json("VAR")).getMessage());
+    }
+
+    @Test
+    void parseEmptyFile() throws IOException {
+        write("");
+
+        Structure structure = new Structure();
+        MappedSourceParser.parse(file, structure, MapperHydrator.parseAnnotations(Structure.class));
+
+        assertNull(structure.NAME);
+        assertTrue(structure.items.isEmpty());
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.loader;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import fr.arakne.swflangloader.lang.maps.MapsFile;
+import fr.arakne.swflangloader.parser.CompactObject;
+import fr.arakne.swflangloader.parser.CompactValue;
+import fr.arakne.swflangloader.parser.LazyJson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StructureSnapshotTest {
+    static public class Value {
+        private int id;
+        private String name;
+        private int[] ints;
+        private int[][] matrix;
+        private Integer[] boxed;
+        private Object[] mixed;
+        private Value child;
+    }
+
+    static public class Cyclic {
+        private Cyclic self;
+    }
+
+    static public class Other {
+        static private boolean created = false;
+
+        private int id;
+
+        public Other() {
+            created = true;
+        }
+    }
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.createDirectories(Paths.get("./tmp"));
+        file = Paths.get("./tmp/test.snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        new SwfFileLoader().clear();
+    }
+
+    @Test
+    void writeAndRead() throws IOException {
+        Value value = new Value();
+        value.id = 12;
+        value.name = "foo";
+        value.ints = new int[] {1, 2, 3};
+        value.matrix = new int[][] {{1, 2}, {3}};
+        value.boxed = new Integer[] {4, null};
+        value.mixed = new Object[] {1.5, true, "bar"};
+        value.child = new Value();
+        value.child.id = 13;
+
+        Map<Integer, Value> map = new HashMap<>();
+        map.put(5, value);
+
+        JsonObject json = new JsonObject();
+        json.addProperty("a", 1);
+        json.addProperty("b", "c");
+        json.add("d", new JsonArray());
+        json.add("e", JsonNull.INSTANCE);
+        json.add("f", JsonParser.parseString("12.30"));
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("MAP", map);
+        values.put("STR", "hello");
+        values.put(null, json);
+
+        StructureSnapshot.write(file, Value.class, values);
+        Map<String, Object> read = StructureSnapshot.read(file, Value.class, Collections.singleton(Value.class));
+
+        assertEquals(3, read.size());
+        assertEquals("hello", read.get("STR"));
+        assertEquals(json, read.get(null));
+        assertEquals("12.30", ((JsonObject) read.get(null)).get("f").getAsString());
+
+        Value restored = (Value) ((Map<?, ?>) read.get("MAP")).get(5);
+
+        assertEquals(12, restored.id);
+        assertEquals("foo", restored.name);
+        assertArrayEquals(new int[] {1, 2, 3}, restored.ints);
+        assertArrayEquals(new int[][] {{1, 2}, {3}}, restored.matrix);
+        assertArrayEquals(new Integer[] {4, null}, restored.boxed);
+        assertArrayEquals(new Object[] {1.5, true, "bar"}, restored.mixed);
+        assertEquals(13, restored.child.id);
+        assertNull(restored.child.name);
+        assertNull(restored.child.child);
+    }
+
+    @Test
+    void writeAndReadLazyJson() throws IOException {
+        LazyJson parsed = new LazyJson("[1, 2]");
+        parsed.get();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("LAZY", new LazyJson("{a: \"b\"}"));
+        values.put("PARSED", parsed);
+
+        StructureSnapshot.write(file, Value.class, values);
+        Map<String, Object> read = StructureSnapshot.read(file, Value.class, Collections.singleton(Value.class));
+
+        assertEquals("{a: \"b\"}", ((LazyJson) read.get("LAZY")).source());
+        assertEquals(JsonParser.parseString("{a: \"b\"}"), ((LazyJson) read.get("LAZY")).get());
+        assertEquals(JsonParser.parseString("[1, 2]"), read.get("PARSED"));
+    }
+
+    @Test
+    void writeAndReadCompact() throws IOException {
+        LazyJson parsed = new LazyJson("[1, 2.5]", true);
+        parsed.value();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("LAZY", new LazyJson("{a: \"b\"}", true));
+        values.put("PARSED", parsed);
+        values.put("COMPACT", CompactValue.compact(JsonParser.parseString("{a: [1, 2], b: {c: null}}")));
+
+        StructureSnapshot.write(file, Value.class, values);
+        Map<String, Object> read = StructureSnapshot.read(file, Value.class, Collections.singleton(Value.class));
+
+        assertTrue(((LazyJson) read.get("LAZY")).isCompact());
+        assertEquals("b", ((CompactObject) ((LazyJson) read.get("LAZY")).value()).string("a"));
+        assertEquals(parsed.value(), read.get("PARSED"));
+        assertEquals(values.get("COMPACT"), read.get("COMPACT"));
+    }
+
+    @Test
+    void readWithOtherStructureClass() throws IOException {
+        StructureSnapshot.write(file, Value.class, new HashMap<>());
+
+        assertThrows(IOException.class, () -> StructureSnapshot.read(file, Cyclic.class, Collections.singleton(Cyclic.class)));
+    }
+
+    @Test
+    void readInvalidFile() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6});
+
+        assertThrows(IOException.class, () -> StructureSnapshot.read(file, Value.class, Collections.singleton(Value.class)));
+    }
+
+    @Test
+    void readClassNotReachableFromPropertyTypes() throws IOException {
+        Other other = new Other();
+        other.id = 5;
+
+        Map<Integer, Object> map = new HashMap<>();
+        map.put(1, other);
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("MAP", map);
+
+        StructureSnapshot.write(file, Value.class, values);
+        Other.created = false;
+
+        IOException error = assertThrows(IOException.class, () -> StructureSnapshot.read(file, Value.class, Collections.singleton(Value.class)));
+
+        assertTrue(error.getMessage().contains(Other.class.getName() + " is not allowed"));
+        assertFalse(Other.created);
+        assertEquals(5, ((Other) ((Map<?, ?>) StructureSnapshot.read(file, Value.class, Collections.singleton(Other.class)).get("MAP")).get(1)).id);
+    }
+
+    @Test
+    void writeCyclicReference() {
+        Cyclic cyclic = new Cyclic();
+        cyclic.self = cyclic;
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("CYCLIC", cyclic);
+
+        assertThrows(IOException.class, () -> StructureSnapshot.write(file, Cyclic.class, values));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void mapsFile() throws IOException, InterruptedException {
+        SwfFileLoader loader = new SwfFileLoader(Paths.get("./tmp"), CacheMode.SNAPSHOT, ExtractionMode.NATIVE);
+
+        MapsFile loaded = new MapsFile(Paths.get("assets/lang-1-29/swf/maps_fr_366.swf").toUri().toURL(), loader);
+        MapsFile restored = new MapsFile(Paths.get("assets/lang-1-29/swf/maps_fr_366.swf").toUri().toURL(), loader);
+
+        assertTrue(Files.exists(Paths.get("./tmp/maps_fr_366/" + MapsFile.class.getName() + ".snapshot")));
+        assertEquals(loaded.allMapPositions().size(), restored.allMapPositions().size());
+        assertEquals(-31, restored.position(5769).x());
+        assertEquals(-56, restored.position(5769).y());
+        assertEquals("Quartier des Tailleurs", restored.position(5769).subArea().name());
+        assertEquals("Continent Amaknien", restored.position(5769).subArea().area().superArea());
+        assertArrayEquals(new Integer[] {31}, restored.subArea(515).musics());
+        assertArrayEquals(new int[] {61, 72, 75}, restored.subArea(515).adjacentSubAreaIds());
+    }
+}
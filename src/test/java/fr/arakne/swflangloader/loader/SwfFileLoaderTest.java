@@ -23,6 +23,9 @@ import com.github.valfirst.slf4jtest.Assertions;
 import com.github.valfirst.slf4jtest.LoggingEvent;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
+import fr.arakne.swflangloader.lang.BaseLangFile;
+import fr.arakne.swflangloader.parser.CompactValue;
+import fr.arakne.swflangloader.parser.LazyJson;
 import fr.arakne.swflangloader.parser.mapper.MapperHydrator;
 import fr.arakne.swflangloader.parser.mapper.SwfVariable;
 import org.junit.jupiter.api.AfterEach;
@@ -36,7 +39,19 @@ import java.io.IOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,8 +107,10 @@ class SwfFileLoaderTest {
         assertEquals("Structure", logs.get(0).getArguments().get(1).toString());
 
         assertEquals(Level.DEBUG, logs.get(1).getLevel());
-        assertEquals("[SWF] {} is not cached. Load from SWF", logs.get(1).getMessage());
+        assertEquals("[SWF] {} is not cached. Decompile to {} (extraction mode: {}, cache mode: {})", logs.get(1).getMessage());
         assertTrue(logs.get(1).getArguments().get(0).toString().endsWith("assets/lang-1-29/swf/lang_fr_801.swf"));
+        assertEquals(ExtractionMode.DECOMPILER, logs.get(1).getArguments().get(2));
+        assertEquals(CacheMode.SOURCES, logs.get(1).getArguments().get(3));
 
         logger.clearAll();
         // Should be loaded from cache
@@ -119,13 +136,15 @@ class SwfFileLoaderTest {
         assertEquals("fr", structure.language());
         assertEquals(801, structure.version());
 
-        assertFalse(Files.exists(Paths.get("./tmp/lang_fr_801/frame_1/DoAction.as")));
+        assertFalse(Files.exists(Paths.get("./tmp/lang_fr_801")));
 
         List<LoggingEvent> logs = logger.getLoggingEvents();
 
         assertEquals(2, logs.size());
         assertEquals("[SWF] Loading {} to {}", logs.get(0).getMessage());
-        assertEquals("[SWF] {} is not cached. Load from SWF", logs.get(1).getMessage());
+        assertEquals("[SWF] Decompile {} in memory (extraction mode: {}, cache mode: {})", logs.get(1).getMessage());
+        assertEquals(ExtractionMode.DECOMPILER, logs.get(1).getArguments().get(1));
+        assertEquals(CacheMode.NONE, logs.get(1).getArguments().get(2));
 
         logger.clearAll();
         loader.load(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL(), structure, MapperHydrator.parseAnnotations(Structure.class));
@@ -134,7 +153,163 @@ class SwfFileLoaderTest {
         // Cache is ignored
         assertEquals(2, logs.size());
         assertEquals("[SWF] Loading {} to {}", logs.get(0).getMessage());
-        assertEquals("[SWF] {} is not cached. Load from SWF", logs.get(1).getMessage());
+        assertEquals("[SWF] Decompile {} in memory (extraction mode: {}, cache mode: {})", logs.get(1).getMessage());
+    }
+
+    @Test
+    void loadNative() throws IOException, InterruptedException {
+        Structure structure = new Structure();
+        SwfFileLoader loader = new SwfFileLoader(Paths.get("./tmp"), true, ExtractionMode.NATIVE);
+        loader.load(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL(), structure, MapperHydrator.parseAnnotations(Structure.class));
+
+        assertEquals(801, structure.VERSION);
+        assertTrue(structure.FILE_BEGIN);
+        assertTrue(structure.FILE_END);
+        assertEquals("Accepter", structure.ACCEPT);
+
+        assertEquals("lang", structure.name());
+        assertEquals("fr", structure.language());
+        assertEquals(801, structure.version());
+
+        assertFalse(Files.exists(Paths.get("./tmp/lang_fr_801")));
+
+        List<LoggingEvent> logs = logger.getLoggingEvents();
+
+        assertEquals(1, logs.size());
+        assertEquals("[SWF] Loading {} to {}", logs.get(0).getMessage());
+    }
+
+    @Test
+    void loadWithSnapshot() throws IOException, InterruptedException {
+        Structure structure = new Structure();
+        SwfFileLoader loader = new SwfFileLoader(Paths.get("./tmp"), CacheMode.SNAPSHOT, ExtractionMode.NATIVE);
+        loader.load(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL(), structure, MapperHydrator.parseAnnotations(Structure.class));
+
+        assertTrue(Files.exists(Paths.get("./tmp/lang_fr_801/" + Structure.class.getName() + ".snapshot")));
+        assertEquals(1, logger.getLoggingEvents().size());
+
+        logger.clearAll();
+
+        Structure restored = new Structure();
+        loader.load(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL(), restored, MapperHydrator.parseAnnotations(Structure.class));
+
+        assertEquals(801, restored.VERSION);
+        assertTrue(restored.FILE_BEGIN);
+        assertTrue(restored.FILE_END);
+        assertEquals("Accepter", restored.ACCEPT);
+
+        assertEquals("lang", restored.name());
+        assertEquals("fr", restored.language());
+        assertEquals(801, restored.version());
+
+        List<LoggingEvent> logs = logger.getLoggingEvents();
+
+        assertEquals(2, logs.size());
+        assertEquals("[SWF] Loading {} to {}", logs.get(0).getMessage());
+        assertEquals("[SWF] {} loaded from snapshot", logs.get(1).getMessage());
+    }
+
+    @Test
+    void loadProjection() throws IOException, InterruptedException {
+        SwfFileLoader loader = new SwfFileLoader(Paths.get("./tmp"), CacheMode.SNAPSHOT, ExtractionMode.NATIVE);
+        URL url = Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL();
+
+        BaseLangFile projected = BaseLangFile.load(url, loader, new HashSet<>(Arrays.asList("ACCEPT", "ABR")));
+
+        assertEquals("Accepter", projected.string("ACCEPT"));
+        assertEquals(4, projected.assoc("ABR").all().size());
+        assertThrows(NoSuchElementException.class, () -> projected.string("SELECT_SET_PRICE"));
+        assertThrows(NoSuchElementException.class, () -> projected.integer("VERSION"));
+        assertEquals(801, projected.version());
+
+        // Partial structure is not stored as snapshot
+        assertFalse(Files.exists(Paths.get("./tmp/lang_fr_801/" + BaseLangFile.class.getName() + ".snapshot")));
+
+        BaseLangFile full = BaseLangFile.load(url, loader);
+        assertEquals(801, full.integer("VERSION"));
+        assertTrue(Files.exists(Paths.get("./tmp/lang_fr_801/" + BaseLangFile.class.getName() + ".snapshot")));
+
+        // Projection is applied on the snapshot
+        BaseLangFile restored = BaseLangFile.load(url, loader, Collections.singleton("ACCEPT"));
+
+        assertEquals("Accepter", restored.string("ACCEPT"));
+        assertThrows(NoSuchElementException.class, () -> restored.integer("VERSION"));
+        assertEquals("[SWF] {} loaded from snapshot", logger.getLoggingEvents().get(logger.getLoggingEvents().size() - 1).getMessage());
+    }
+
+    @Test
+    void loadWithInvalidSnapshot() throws IOException, InterruptedException {
+        SwfFileLoader loader = new SwfFileLoader(Paths.get("./tmp"), CacheMode.SNAPSHOT, ExtractionMode.NATIVE);
+
+        Files.createDirectories(Paths.get("./tmp/lang_fr_801"));
+        Files.write(Paths.get("./tmp/lang_fr_801/" + Structure.class.getName() + ".snapshot"), "invalid".getBytes());
+
+        Structure structure = new Structure();
+        loader.load(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL(), structure, MapperHydrator.parseAnnotations(Structure.class));
+
+        assertEquals(801, structure.VERSION);
+        assertEquals("Accepter", structure.ACCEPT);
+
+        List<LoggingEvent> logs = logger.getLoggingEvents();
+
+        assertEquals(2, logs.size());
+        assertEquals(Level.WARN, logs.get(1).getLevel());
+        assertEquals("[SWF] Cannot read snapshot {}: {}", logs.get(1).getMessage());
+
+        // Snapshot is rewritten
+        logger.clearAll();
+        loader.load(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf").toUri().toURL(), new Structure(), MapperHydrator.parseAnnotations(Structure.class));
+        assertEquals("[SWF] {} loaded from snapshot", logger.getLoggingEvents().get(1).getMessage());
+    }
+
+    @Test
+    void loadWithContentKey() throws IOException, InterruptedException {
+        SwfFileLoader loader = new SwfFileLoader(Paths.get("./tmp"), CacheMode.SNAPSHOT, ExtractionMode.NATIVE, CacheKey.CONTENT);
+        MapperHydrator<Structure> hydrator = MapperHydrator.parseAnnotations(Structure.class);
+
+        Files.createDirectories(Paths.get("./tmp/mirror1"));
+        Files.createDirectories(Paths.get("./tmp/mirror2"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf"), Paths.get("./tmp/mirror1/lang_fr_801.swf"));
+        Files.copy(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf"), Paths.get("./tmp/mirror2/lang_fr_801.swf"));
+
+        loader.load(Paths.get("./tmp/mirror1/lang_fr_801.swf").toUri().toURL(), new Structure(), hydrator);
+
+        assertTrue(Files.exists(Paths.get("./tmp/index.properties")));
+        assertEquals("[SWF] {} indexed with digest {}", logger.getLoggingEvents().get(1).getMessage());
+
+        String digest = (String) logger.getLoggingEvents().get(1).getArguments().get(1);
+        assertTrue(Files.exists(Paths.get("./tmp/" + digest + "/" + Structure.class.getName() + ".snapshot")));
+
+        // Same content on another URL
+        logger.clearAll();
+        Structure structure = new Structure();
+        loader.load(Paths.get("./tmp/mirror2/lang_fr_801.swf").toUri().toURL(), structure, hydrator);
+
+        assertEquals(801, structure.VERSION);
+        assertEquals("Accepter", structure.ACCEPT);
+        assertEquals(801, structure.version());
+        assertEquals("[SWF] {} indexed with digest {}", logger.getLoggingEvents().get(1).getMessage());
+        assertEquals(digest, logger.getLoggingEvents().get(1).getArguments().get(1));
+        assertEquals("[SWF] {} loaded from snapshot", logger.getLoggingEvents().get(2).getMessage());
+
+        // Already indexed
+        logger.clearAll();
+        loader.load(Paths.get("./tmp/mirror2/lang_fr_801.swf").toUri().toURL(), new Structure(), hydrator);
+
+        assertEquals(2, logger.getLoggingEvents().size());
+        assertEquals("[SWF] {} loaded from snapshot", logger.getLoggingEvents().get(1).getMessage());
+
+        // Republished file with the same version
+        Files.copy(Paths.get("assets/lang-1-29/swf/lang_en_812.swf"), Paths.get("./tmp/mirror2/lang_fr_801.swf"), StandardCopyOption.REPLACE_EXISTING);
+        Files.setLastModifiedTime(Paths.get("./tmp/mirror2/lang_fr_801.swf"), FileTime.fromMillis(System.currentTimeMillis() + 10000));
+
+        logger.clearAll();
+        structure = new Structure();
+        loader.load(Paths.get("./tmp/mirror2/lang_fr_801.swf").toUri().toURL(), structure, hydrator);
+
+        assertEquals(812, structure.VERSION);
+        assertEquals("[SWF] {} indexed with digest {}", logger.getLoggingEvents().get(1).getMessage());
+        assertNotEquals(digest, logger.getLoggingEvents().get(1).getArguments().get(1));
     }
 
     @Test
@@ -147,4 +322,72 @@ class SwfFileLoaderTest {
         assertFalse(Files.exists(Paths.get("./tmp/lang_fr_801/frame_1/DoAction.as")));
         assertFalse(Files.exists(Paths.get("./tmp")));
     }
+
+    @Test
+    void loadConcurrently() throws Exception {
+        assertConcurrentLoad(loader);
+    }
+
+    @Test
+    void loadConcurrentlyWithoutCache() throws Exception {
+        assertConcurrentLoad(new SwfFileLoader(Paths.get("./tmp"), false));
+    }
+
+    @Test
+    void loadConcurrentlyWithSnapshot() throws Exception {
+        assertConcurrentLoad(new SwfFileLoader(Paths.get("./tmp"), CacheMode.SNAPSHOT, ExtractionMode.NATIVE));
+    }
+
+    /**
+     * Load several times each file concurrently, and compare with a sequential load
+     */
+    private void assertConcurrentLoad(SwfFileLoader loader) throws Exception {
+        final String[] files = new String[] {"lang_fr_801", "alignment_fr_147", "audio_fr_56", "hints_fr_116", "classes_fr_180", "maps_fr_366"};
+        final MapperHydrator<BaseLangFile> hydrator = MapperHydrator.parseAnnotations(BaseLangFile.class);
+        final SwfFileLoader sequentialLoader = new SwfFileLoader(Paths.get("./tmp/sequential"), false, ExtractionMode.NATIVE);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            final List<Future<BaseLangFile>> results = new ArrayList<>();
+
+            for (int i = 0; i < 4; ++i) {
+                for (String file : files) {
+                    results.add(executor.submit(() -> BaseLangFile.load(url(file), loader)));
+                }
+            }
+
+            for (int i = 0; i < results.size(); ++i) {
+                final String file = files[i % files.length];
+                final BaseLangFile loaded = results.get(i).get();
+                final BaseLangFile expected = BaseLangFile.load(url(file), sequentialLoader);
+                final Map<String, Object> values = hydrator.export(loaded);
+
+                assertEquals(file, loaded.name() + "_" + loaded.language() + "_" + loaded.version());
+                assertFalse(values.isEmpty());
+                assertEquals(resolved(hydrator.export(expected)), resolved(values));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Parse the lazy values, which are kept as raw source when loaded from action script files,
+     * and convert compact values to JSON, which are not comparable with values parsed as JSON
+     */
+    private Object resolved(Object value) {
+        if (value instanceof Map) {
+            final Map<Object, Object> resolved = new HashMap<>();
+
+            ((Map<?, ?>) value).forEach((key, item) -> resolved.put(key, resolved(item)));
+
+            return resolved;
+        }
+
+        return CompactValue.toJson(LazyJson.resolve(value));
+    }
+
+    private URL url(String file) throws IOException {
+        return Paths.get("assets/lang-1-29/swf/" + file + ".swf").toUri().toURL();
+    }
 }
@@ -30,6 +30,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.org.lidalia.slf4jext.Level;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -156,6 +158,80 @@ class AssignationParserTest {
         assertEquals("[SWF] Cannot parse {invalid} as JSON: com.google.gson.stream.MalformedJsonException: Expected ':' at line 1 column 10 path $.invalid (variable: COMPLEX)", logs.get(2).getFormattedMessage());
     }
 
+    @Test
+    void parseIgnoreUndeclared() {
+        parser
+            .declareSimple("FOO", String.class)
+            .declareIntegerMap("FOO.m", String.class)
+            .ignoreUndeclared(true)
+        ;
+
+        assertEquals(new Assignation("FOO", null, "bar"), parser.parseLine("FOO = \"bar\";"));
+        assertEquals(new Assignation("FOO.m", 12, "bar"), parser.parseLine("FOO.m[12] = \"bar\";"));
+        assertTrue(parser.parseLine("BAR = \"bar\";").isNull());
+        assertTrue(parser.parseLine("FOOBAR = \"bar\";").isNull());
+        assertTrue(parser.parseLine("FOO.a[12] = \"bar\";").isNull());
+        assertTrue(parser.parseLine("BAR = invalid json;").isNull());
+        assertTrue(parser.parse("BAR", null, new JsonPrimitive("bar")).isNull());
+        assertTrue(logger.getLoggingEvents().isEmpty());
+
+        parser.ignoreUndeclared(false);
+        assertEquals(new JsonPrimitive("bar"), parser.parseLine("BAR = \"bar\";").value());
+    }
+
+    @Test
+    void parseProjection() {
+        parser
+            .declareSimple("FOO", String.class)
+            .project(Arrays.asList("FOO", "A.a"))
+        ;
+
+        assertEquals(new Assignation("FOO", null, "bar"), parser.parseLine("FOO = \"bar\";"));
+        assertEquals(new Assignation("A.a", "12", new JsonPrimitive("bar")), parser.parseLine("A.a[12] = \"bar\";"));
+        assertTrue(parser.parseLine("A.b[12] = \"bar\";").isNull());
+        assertTrue(parser.parseLine("BAR = \"bar\";").isNull());
+        assertTrue(parser.parse("BAR", null, new JsonPrimitive("bar")).isNull());
+        assertEquals(new Assignation("A.a", "12", new JsonPrimitive("bar")), parser.parse("A.a", new JsonPrimitive(12), new JsonPrimitive("bar")));
+
+        parser.project(null);
+        assertEquals(new JsonPrimitive("bar"), parser.parseLine("BAR = \"bar\";").value());
+    }
+
+    @Test
+    void parseLineWithVisitor() {
+        parser
+            .declareSimple("FOO", String.class)
+            .declareIntegerMap("BAR", Integer.class)
+        ;
+
+        List<Assignation> visited = new ArrayList<>();
+        AssignationVisitor<List<Assignation>> visitor = new AssignationVisitor<List<Assignation>>() {
+            @Override
+            public void simple(List<Assignation> context, String varName, Object value) {
+                context.add(Assignation.simple(varName, value));
+            }
+
+            @Override
+            public void associative(List<Assignation> context, String varName, Object key, Object value) {
+                context.add(new Assignation(varName, key, value));
+            }
+        };
+
+        parser.parseLine("FOO = \"bar\";", visitor, visited);
+        parser.parseLine("BAR[12] = 34;", visitor, visited);
+        parser.parseLine("BAZ[\"a\"] = true;", visitor, visited);
+        parser.parseLine("invalid", visitor, visited);
+        parser.parseLine("BAR[1] = \"invalid\";", visitor, visited);
+        parser.parse("BAZ", null, new JsonPrimitive(1), visitor, visited);
+
+        assertEquals(Arrays.asList(
+            Assignation.simple("FOO", "bar"),
+            new Assignation("BAR", 12, 34),
+            new Assignation("BAZ", "a", new JsonPrimitive(true)),
+            Assignation.simple("BAZ", new JsonPrimitive(1))
+        ), visited);
+    }
+
     /**
      * See: https://github.com/Arakne/SwfLangLoader/issues/1
      */
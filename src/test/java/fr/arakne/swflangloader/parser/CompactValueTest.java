@@ -0,0 +1,145 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactValueTest {
+    @Test
+    void readObject() {
+        CompactObject object = (CompactObject) LiteralReader.readCompact("{n: 'Epée', t: 6, l: 12, w: 1.5, ep: null, fm: true, c: [1, 2, 3]}");
+
+        assertEquals(7, object.size());
+        assertTrue(object.has("ep"));
+        assertFalse(object.has("foo"));
+
+        assertEquals("Epée", object.string("n"));
+        assertEquals(6, object.integer("t"));
+        assertEquals(12.0, object.decimal("l"));
+        assertEquals(1.5, object.decimal("w"));
+        assertEquals("12", object.string("l"));
+        assertTrue(object.bool("fm"));
+        assertNull(object.get("ep"));
+        assertEquals(JsonNull.INSTANCE, object.json("ep"));
+        assertEquals(12.0, object.get("l"));
+        assertEquals(3, ((CompactArray) object.get("c")).integer(2));
+
+        assertThrows(NoSuchElementException.class, () -> object.json("foo"));
+        assertThrows(NoSuchElementException.class, () -> object.integer("foo"));
+    }
+
+    @Test
+    void readArray() {
+        CompactArray ints = (CompactArray) LiteralReader.readCompact("[1, -2, 3]");
+        CompactArray doubles = (CompactArray) LiteralReader.readCompact("[1, 2.5]");
+        CompactArray mixed = (CompactArray) LiteralReader.readCompact("[1, 'a', false, null, {b: 2}]");
+        CompactArray empty = (CompactArray) LiteralReader.readCompact("[]");
+
+        assertEquals(3, ints.size());
+        assertEquals(-2, ints.integer(1));
+        assertEquals(-2, ints.get(1));
+        assertEquals(2.5, doubles.decimal(1));
+        assertEquals(1, doubles.integer(0));
+
+        assertEquals(5, mixed.size());
+        assertEquals(1, mixed.integer(0));
+        assertEquals("a", mixed.string(1));
+        assertEquals(new JsonPrimitive(false), mixed.json(2));
+        assertNull(mixed.get(3));
+        assertEquals(2, ((CompactObject) mixed.get(4)).integer("b"));
+
+        assertEquals(0, empty.size());
+        assertEquals(new JsonArray(), empty.toJson());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ints.integer(3));
+    }
+
+    @Test
+    void readScalarsAsJson() {
+        assertEquals(new JsonPrimitive("foo"), LiteralReader.readCompact("'foo'"));
+        assertEquals(JsonNull.INSTANCE, LiteralReader.readCompact("null"));
+        assertEquals("1.50", ((JsonElement) LiteralReader.readCompact("1.50")).getAsString());
+    }
+
+    @Test
+    void readInvalid() {
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.readCompact("{a: 1"));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.readCompact("[1, 2] 3"));
+    }
+
+    @Test
+    void duplicateKeyKeepLastValue() {
+        CompactObject object = (CompactObject) LiteralReader.readCompact("{a: 1, b: 2, a: 'c'}");
+
+        assertEquals(2, object.size());
+        assertEquals("c", object.string("a"));
+        assertEquals(JsonParser.parseString("{a: 'c', b: 2}"), object.toJson());
+    }
+
+    @Test
+    void toJsonSameAsGson() {
+        String value = "{a: [1, null, 'b', [2.5, -3]], c: 1.5, \"d\": false, e: {f: -0, g: 123456789012}, h: []}";
+
+        assertEquals(JsonParser.parseString(value), ((CompactValue) LiteralReader.readCompact(value)).toJson());
+        assertEquals(JsonParser.parseString(value), ((CompactValue) CompactValue.compact(JsonParser.parseString(value))).toJson());
+        assertEquals(JsonParser.parseString(value), JsonParser.parseString(LiteralReader.readCompact(value).toString()));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(((CompactObject) LiteralReader.readCompact("{f: -0}")).decimal("f")));
+    }
+
+    @Test
+    void compactFromJson() {
+        JsonElement json = JsonParser.parseString("{a: 1, b: [1, 2]}");
+
+        assertEquals(LiteralReader.readCompact("{a: 1, b: [1, 2]}"), CompactValue.compact(json));
+        assertEquals(json, ((CompactValue) CompactValue.compact(json)).toJson());
+        assertNotEquals(json, CompactValue.compact(json));
+        assertNotEquals(CompactValue.compact(json), json);
+        assertSame(JsonNull.INSTANCE, CompactValue.compact(JsonNull.INSTANCE));
+        assertEquals(new JsonPrimitive(5), CompactValue.compact(new JsonPrimitive(5)));
+    }
+
+    @Test
+    void sharedShape() {
+        Object first = LiteralReader.readCompact("{a: 1, b: 'c'}");
+        Object second = LiteralReader.readCompact("{a: 1, b: 'c'}");
+        Object other = LiteralReader.readCompact("{b: 'c', a: 1}");
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertNotEquals(first, other);
+        assertNotEquals(first, LiteralReader.readCompact("{a: 2, b: 'c'}"));
+    }
+
+    @Test
+    void toJsonValue() {
+        assertEquals(JsonNull.INSTANCE, CompactValue.toJson(null));
+        assertEquals(new JsonPrimitive(1), CompactValue.toJson(new JsonPrimitive(1)));
+        assertEquals(JsonParser.parseString("[1, 2]"), CompactValue.toJson(LiteralReader.readCompact("[1, 2]")));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import fr.arakne.swflangloader.lang.classes.DofusClass;
+import fr.arakne.swflangloader.lang.maps.MapSubArea;
+import fr.arakne.swflangloader.parser._fixtures.Item;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiteralReaderTest {
+    static public class WithoutDefaultConstructor {
+        public int a;
+
+        public WithoutDefaultConstructor(int a) {
+            this.a = a;
+        }
+    }
+
+    static public class WithGenericField {
+        public List<String> values;
+    }
+
+    @Test
+    void readScalars() {
+        assertEquals(123, LiteralReader.read("123", int.class));
+        assertEquals(-42, LiteralReader.read(" -42 ", Integer.class));
+        assertEquals(123456789012L, LiteralReader.read("123456789012", long.class));
+        assertEquals(12.5, LiteralReader.read("12.5", double.class));
+        assertEquals(1.5e3, LiteralReader.read("1.5e3", Double.class));
+        assertEquals(-0.0, LiteralReader.read("-0", double.class));
+        assertEquals(1.5f, LiteralReader.read("1.5", float.class));
+        assertEquals(true, LiteralReader.read("true", boolean.class));
+        assertEquals(false, LiteralReader.read("false", Boolean.class));
+        assertNull(LiteralReader.read("null", int.class));
+        assertNull(LiteralReader.read("null", String.class));
+    }
+
+    @Test
+    void readString() {
+        assertEquals("foo", LiteralReader.read("\"foo\"", String.class));
+        assertEquals("foo", LiteralReader.read("'foo'", String.class));
+        assertEquals("c'est \"ok\"", LiteralReader.read("\"c\\'est \\\"ok\\\"\"", String.class));
+        assertEquals("a\nb\t\\/é", LiteralReader.read("'a\\nb\\t\\\\\\/\\u00e9'", String.class));
+    }
+
+    @Test
+    void readArrays() {
+        assertArrayEquals(new int[] {1, 2, 3}, (int[]) LiteralReader.read("[1, 2, 3]", int[].class));
+        assertArrayEquals(new int[0], (int[]) LiteralReader.read("[]", int[].class));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, (int[]) LiteralReader.read("[1,2,3,4,5,6,7,8,9,10]", int[].class));
+        assertArrayEquals(new int[][] {{1, 2}, {}, {3}}, (int[][]) LiteralReader.read("[[1, 2], [], [3]]", int[][].class));
+        assertArrayEquals(new Integer[] {1, null, 3}, (Integer[]) LiteralReader.read("[1, null, 3]", Integer[].class));
+        assertArrayEquals(new Object[] {1.0, "a", true, null}, (Object[]) LiteralReader.read("[1, 'a', true, null]", Object[].class));
+        assertArrayEquals(new double[] {1.0, 2.5}, (double[]) LiteralReader.read("[1, 2.5]", double[].class));
+    }
+
+    @Test
+    void readObjectValue() {
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("a", 1.0);
+        expected.put("b", Arrays.asList("c", 2.0));
+
+        assertEquals(expected, LiteralReader.read("{a: 1, \"b\": ['c', 2]}", Object.class));
+    }
+
+    @Test
+    void readStructure() {
+        Item item = (Item) LiteralReader.read("{n: \"Dagues\", t: 5, unknown: [{x: 1}], wd: true, e: [15, [1, 2], false], c: null, p: null}", Item.class);
+
+        assertEquals("Dagues", item.n);
+        assertEquals(5, item.t);
+        assertTrue(item.wd);
+        assertArrayEquals(new Object[] {15.0, Arrays.asList(1.0, 2.0), false}, item.e);
+        assertNull(item.c);
+        assertEquals(0, item.p);
+    }
+
+    @Test
+    void readShouldBeSameAsGson() {
+        Gson gson = new Gson();
+        String subArea = "{n: \"Astrub\", a: 15, m: [1, null, 12], v: [4, 5]}";
+        String dofusClass = "{sn: \"Féca\", ep: 1, s: [3, 17], cc: [[[100, 1, 5, 1]], 3, 4], b10: [[0, 1], [100, 2]], b11: [[0, 3, 1]]}";
+
+        assertEquals(gson.toJson(gson.fromJson(subArea, MapSubArea.class)), gson.toJson(LiteralReader.read(subArea, MapSubArea.class)));
+        assertEquals(gson.toJson(gson.fromJson(dofusClass, DofusClass.class)), gson.toJson(LiteralReader.read(dofusClass, DofusClass.class)));
+    }
+
+    @Test
+    void readJson() {
+        JsonObject expected = new JsonObject();
+        JsonArray array = new JsonArray();
+        array.add(1);
+        array.add(JsonNull.INSTANCE);
+        array.add("b");
+        expected.add("a", array);
+        expected.addProperty("c", 1.50);
+        expected.addProperty("d", false);
+
+        assertEquals(expected, LiteralReader.readJson("{a: [1, null, 'b'], c: 1.50, \"d\": false}"));
+        assertEquals(JsonNull.INSTANCE, LiteralReader.readJson("null"));
+        assertEquals(new JsonPrimitive("foo"), LiteralReader.readJson("'foo'"));
+        assertEquals(JsonParser.parseString("1.50").getAsString(), LiteralReader.readJson("1.50").getAsString());
+        assertEquals(JsonParser.parseString("-0").getAsString(), LiteralReader.readJson("-0").getAsString());
+    }
+
+    @Test
+    void readJsonNumber() {
+        for (String literal : new String[] {"1.50", "-0", "12", "12345678901", "123456789012345678901", "1e3", "-2.5E-3"}) {
+            JsonPrimitive expected = JsonParser.parseString(literal).getAsJsonPrimitive();
+            JsonPrimitive actual = LiteralReader.readJson(literal).getAsJsonPrimitive();
+
+            assertEquals(expected, actual);
+            assertEquals(expected.hashCode(), actual.hashCode());
+            assertEquals(expected.getAsString(), actual.getAsString());
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(expected.getAsInt(), actual.getAsInt());
+            assertEquals(expected.getAsLong(), actual.getAsLong());
+            assertEquals(expected.getAsDouble(), actual.getAsDouble());
+            assertEquals(expected.getAsBigDecimal(), actual.getAsBigDecimal());
+        }
+    }
+
+    @Test
+    void unsupportedSyntax() {
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("invalid json", String.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("\"12\"", int.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("1.0", int.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("12345678901", int.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("01", int.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("[1, 2,]", int[].class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("[1, null]", int[].class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("{a: 1; b: 2}", Object.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("'\\x'", String.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("'unterminated", String.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("1 2", int.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("TRUE", boolean.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.readJson("{invalid}"));
+    }
+
+    @Test
+    void unsupportedType() {
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("{a: 1}", WithoutDefaultConstructor.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("{values: ['a']}", WithGenericField.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("{a: 1}", Map.class));
+        assertThrows(LiteralReader.UnsupportedLiteralException.class, () -> LiteralReader.read("'a'", char.class));
+
+        // Generic field not present : no error
+        assertNull(((WithGenericField) LiteralReader.read("{}", WithGenericField.class)).values);
+    }
+}
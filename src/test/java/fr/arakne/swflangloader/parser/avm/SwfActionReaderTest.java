@@ -0,0 +1,206 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.avm;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import fr.arakne.swflangloader.parser.Assignation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SwfActionReaderTest {
+    private SwfActionReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new SwfActionReader();
+    }
+
+    @Test
+    void readSimpleAssignations() throws IOException {
+        List<Assignation> assignations = read("assets/lang-1-29/swf/lang_fr_801.swf");
+
+        assertEquals(2317, assignations.size());
+        assertEquals(Assignation.simple("FILE_BEGIN", new JsonPrimitive(true)), assignations.get(0));
+        assertTrue(assignations.contains(Assignation.simple("VERSION", new JsonPrimitive(801))));
+        assertTrue(assignations.contains(Assignation.simple("ACCEPT", new JsonPrimitive("Accepter"))));
+        assertEquals(Assignation.simple("FILE_END", new JsonPrimitive(true)), assignations.get(assignations.size() - 1));
+    }
+
+    @Test
+    void readMembersAndCasts() throws IOException {
+        List<Assignation> assignations = read("assets/lang-1-29/swf/lang_fr_801.swf");
+
+        JsonArray ports = new JsonArray();
+        ports.add(443);
+        ports.add(5555);
+
+        assertTrue(assignations.contains(Assignation.simple("C.SERVER_PORT", ports)));
+        assertTrue(assignations.contains(Assignation.simple("C.AUTO_RECONNECT", new JsonPrimitive(false))));
+        assertTrue(assignations.contains(Assignation.simple("C.MAXIMUM_CLIENT_OCCURENCES", new JsonPrimitive(-1))));
+        assertTrue(assignations.contains(Assignation.simple("C.SELL_PRICE_MULTIPLICATOR", new JsonPrimitive(0.1))));
+    }
+
+    @Test
+    void readAssociative() throws IOException {
+        List<Assignation> assignations = read("assets/lang-1-29/swf/lang_fr_801.swf");
+
+        JsonObject value = new JsonObject();
+        value.addProperty("i", 3);
+        value.addProperty("t", "Vente de code Audiotel");
+
+        assertTrue(assignations.contains(new Assignation("ABR", new JsonPrimitive(3), value)));
+    }
+
+    @Test
+    void readNestedMembers() throws IOException {
+        List<Assignation> assignations = read("assets/lang-1-29/swf/maps_fr_366.swf");
+
+        Assignation assignation = assignations.stream()
+            .filter(a -> a.variableName().equals("MA.m") && a.key().equals(new JsonPrimitive(5769)))
+            .findFirst()
+            .get()
+        ;
+
+        JsonObject value = (JsonObject) assignation.value();
+
+        assertEquals(-31, value.get("x").getAsInt());
+        assertEquals(-56, value.get("y").getAsInt());
+        assertEquals(50, value.get("sa").getAsInt());
+    }
+
+    @Test
+    void readUnsupportedActionShouldNotEmitAnyAssignation() throws IOException {
+        List<Assignation> assignations = new ArrayList<>();
+
+        try (InputStream stream = Files.newInputStream(Paths.get("assets/lang-1-29/swf/states_fr_205.swf"))) {
+            assertThrows(UnsupportedSwfException.class, () -> reader.read(stream, (varName, key, value) -> assignations.add(new Assignation(varName, key, value))));
+        }
+
+        assertTrue(assignations.isEmpty());
+    }
+
+    @Test
+    void readInvalidBytecodeAfterAssignationShouldNotEmitAnyAssignation() {
+        List<Assignation> assignations = new ArrayList<>();
+        byte[] swf = swf(
+            0x96, 8, 0, 0, 'A', 0, 7, 1, 0, 0, 0, // Push "A", 1
+            0x1D, // SetVariable
+            0x17, // Pop : stack underflow
+            0x00
+        );
+
+        UnsupportedSwfException exception = assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(swf), (varName, key, value) -> assignations.add(new Assignation(varName, key, value))));
+
+        assertEquals("Stack underflow", exception.getMessage());
+        assertTrue(assignations.isEmpty());
+    }
+
+    @Test
+    void readTruncatedString() {
+        byte[] push = swf(
+            0x96, 2, 0, 0, 'A', // Push "A" without terminator
+            0x00
+        );
+        byte[] pool = swf(
+            0x88, 3, 0, 1, 0, 'A', // Constant pool ["A"] without terminator
+            0x00
+        );
+
+        assertEquals("Truncated action 0x96", assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(push), (varName, key, value) -> {})).getMessage());
+        assertEquals("Truncated action 0x88", assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(pool), (varName, key, value) -> {})).getMessage());
+    }
+
+    @Test
+    void readTruncatedOrCorruptedCompressedBody() throws IOException {
+        List<Assignation> assignations = new ArrayList<>();
+        byte[] swf = Files.readAllBytes(Paths.get("assets/lang-1-29/swf/lang_fr_801.swf"));
+
+        byte[] truncated = Arrays.copyOf(swf, swf.length / 2);
+        byte[] corrupted = swf.clone();
+        corrupted[8] = 0; // Invalid zlib header
+
+        assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(truncated), (varName, key, value) -> assignations.add(new Assignation(varName, key, value))));
+        assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(corrupted), (varName, key, value) -> assignations.add(new Assignation(varName, key, value))));
+        assertTrue(assignations.isEmpty());
+    }
+
+    @Test
+    void readTruncatedUncompressedBody() {
+        byte[] swf = swf(
+            0x96, 8, 0, 0, 'A', 0, 7, 1, 0, 0, 0, // Push "A", 1
+            0x1D, // SetVariable
+            0x00
+        );
+
+        // Only the End tag is missing
+        assertEquals("Truncated SWF body", assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(Arrays.copyOf(swf, swf.length - 2)), (varName, key, value) -> {})).getMessage());
+    }
+
+    @Test
+    void readInvalidSignature() {
+        assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(new byte[] {'Z', 'W', 'S', 9, 0, 0, 0, 0}), (varName, key, value) -> {}));
+        assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream("not a swf".getBytes()), (varName, key, value) -> {}));
+        assertThrows(UnsupportedSwfException.class, () -> reader.read(new ByteArrayInputStream(new byte[0]), (varName, key, value) -> {}));
+    }
+
+    /**
+     * Build an uncompressed SWF file with a single DoAction tag
+     */
+    private byte[] swf(int... actions) {
+        byte[] swf = new byte[8 + 5 + 2 + actions.length + 2];
+
+        swf[0] = 'F';
+        swf[1] = 'W';
+        swf[2] = 'S';
+        swf[3] = 6;
+        swf[4] = (byte) swf.length;
+        swf[13] = (byte) (12 << 6 | actions.length);
+        swf[14] = (byte) ((12 << 6 | actions.length) >> 8);
+
+        for (int i = 0; i < actions.length; ++i) {
+            swf[15 + i] = (byte) actions[i];
+        }
+
+        return swf;
+    }
+
+    private List<Assignation> read(String file) throws IOException {
+        List<Assignation> assignations = new ArrayList<>();
+
+        try (InputStream stream = Files.newInputStream(Paths.get(file))) {
+            reader.read(stream, (varName, key, value) -> assignations.add(new Assignation(varName, key, value)));
+        }
+
+        return assignations;
+    }
+}
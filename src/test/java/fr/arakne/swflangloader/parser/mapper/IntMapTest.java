@@ -0,0 +1,231 @@
+/*
+ * This file is part of ArakneLangLoader.
+ *
+ * ArakneLangLoader is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * ArakneLangLoader is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with ArakneLangLoader.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2026 Vincent Quatrevieux
+ */
+
+package fr.arakne.swflangloader.parser.mapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntMapTest {
+    @Test
+    void putAndGet() {
+        IntMap<String> map = new IntMap<>();
+
+        assertNull(map.put(1, "foo"));
+        assertNull(map.put(0, "zero"));
+        assertNull(map.put(-5, "negative"));
+        assertEquals("foo", map.put(1, "bar"));
+
+        assertEquals(3, map.size());
+        assertEquals("bar", map.get(1));
+        assertEquals("zero", map.get(0));
+        assertEquals("negative", map.get(-5));
+        assertEquals("bar", map.get((Object) 1));
+        assertNull(map.get(2));
+        assertNull(map.get("1"));
+        assertTrue(map.containsKey(0));
+        assertTrue(map.containsKey((Object) (-5)));
+        assertFalse(map.containsKey(2));
+
+        assertNull(map.put(3, null));
+        assertEquals(4, map.size());
+        assertTrue(map.containsKey(3));
+        assertNull(map.get(3));
+        assertTrue(map.containsValue(null));
+        assertNull(map.put(3, "three"));
+        assertEquals("three", map.get(3));
+    }
+
+    @Test
+    void nullValues() {
+        IntMap<String> map = new IntMap<>();
+
+        map.put(1, null);
+        map.put(2, "b");
+
+        assertTrue(map.compact());
+        assertTrue(map.containsKey(1));
+        assertNull(map.get(1));
+
+        Map<Integer, String> expected = new HashMap<>();
+        expected.put(1, null);
+        expected.put(2, "b");
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertNull(map.remove(1));
+        assertFalse(map.containsKey(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void remove() {
+        IntMap<Integer> map = new IntMap<>();
+
+        // Keys with the same slot, to check the shift of the probe sequence
+        for (int i = 0; i < 5; ++i) {
+            map.put(i * 8, Integer.valueOf(i));
+        }
+
+        assertEquals(2, map.remove(16));
+        assertNull(map.remove(16));
+        assertEquals(4, map.size());
+
+        assertEquals(0, map.get(0));
+        assertEquals(1, map.get(8));
+        assertEquals(3, map.get(24));
+        assertEquals(4, map.get(32));
+        assertNull(map.get(16));
+    }
+
+    @Test
+    void sameAsHashMap() {
+        Random random = new Random(42);
+        IntMap<Integer> map = new IntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100000; ++i) {
+            int key = random.nextInt(20000) - 1000;
+
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, Integer.valueOf(i)));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        List<Integer> values = new ArrayList<>(map.values());
+        assertEquals(expected.size(), values.size());
+        assertTrue(values.containsAll(expected.values()));
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void clear() {
+        IntMap<String> map = new IntMap<>(100);
+
+        map.put(1, "foo");
+        map.put(2, "bar");
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    void entrySet() {
+        IntMap<String> map = new IntMap<>();
+
+        map.put(1, "foo");
+
+        Map.Entry<Integer, String> entry = map.entrySet().iterator().next();
+
+        assertEquals(1, entry.getKey());
+        assertEquals("foo", entry.setValue("bar"));
+        assertEquals("bar", map.get(1));
+    }
+
+    @Test
+    void compact() {
+        IntMap<String> map = new IntMap<>();
+
+        map.put(12, "foo");
+        map.put(10, "bar");
+        map.put(13, "baz");
+
+        assertTrue(map.compact());
+        assertTrue(map.compact());
+
+        assertEquals("bar", map.get(10));
+        assertEquals("foo", map.get(12));
+        assertEquals("baz", map.get(13));
+        assertNull(map.get(11));
+        assertNull(map.get(9));
+        assertNull(map.get(14));
+        assertNull(map.get(Integer.MIN_VALUE));
+        assertTrue(map.containsKey(12));
+        assertFalse(map.containsKey(11));
+        assertArrayEquals(new Object[] {"bar", "foo", "baz"}, map.values().toArray());
+        assertArrayEquals(new Object[] {10, 12, 13}, map.keySet().toArray());
+
+        assertNull(map.put(11, "new"));
+        assertEquals("new", map.put(11, "other"));
+        assertEquals("bar", map.remove(10));
+        assertEquals(3, map.size());
+
+        // Out of range : switch back to the hash table
+        assertNull(map.put(100, "far"));
+        assertEquals(4, map.size());
+        assertEquals("other", map.get(11));
+        assertEquals("foo", map.get(12));
+        assertEquals("baz", map.get(13));
+        assertEquals("far", map.get(100));
+        assertNull(map.get(10));
+    }
+
+    @Test
+    void compactSparseKeys() {
+        IntMap<String> map = new IntMap<>();
+
+        assertFalse(map.compact());
+
+        map.put(1, "foo");
+        map.put(1000, "bar");
+
+        assertFalse(map.compact());
+        assertEquals("foo", map.get(1));
+        assertEquals("bar", map.get(1000));
+    }
+
+    @Test
+    void compactSameAsHashMap() {
+        Random random = new Random(42);
+        IntMap<Integer> map = new IntMap<>();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 1000; ++i) {
+            int key = random.nextInt(1200) - 100;
+
+            assertEquals(expected.put(key, i), map.put(key, Integer.valueOf(i)));
+        }
+
+        assertTrue(map.compact());
+        assertEquals(expected, map);
+
+        for (int i = -200; i < 1300; ++i) {
+            assertEquals(expected.get(i), map.get(i));
+        }
+    }
+}
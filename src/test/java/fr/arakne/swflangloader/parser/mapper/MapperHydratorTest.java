@@ -21,10 +21,16 @@ package fr.arakne.swflangloader.parser.mapper;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import fr.arakne.swflangloader.parser.CompactArray;
+import fr.arakne.swflangloader.parser.CompactObject;
+import fr.arakne.swflangloader.parser.LazyJson;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -176,4 +182,148 @@ class MapperHydratorTest {
         assertEquals(new JsonPrimitive(123), target.values.get("undefined"));
         assertEquals(new JsonPrimitive(true), target.values.get("other"));
     }
+
+    static public class GeneratedTarget {
+        @SwfVariable
+        String foo;
+
+        @SwfVariable("MAPPED")
+        int withMapping;
+
+        @SwfVariable
+        final Map<Integer, String> kv = new HashMap<>();
+
+        @SwfDefault
+        final Map<String, JsonElement> values = new HashMap<>();
+
+        @SwfVariable("F")
+        final int[] numbers = new int[0];
+    }
+
+    @Test
+    void withGeneratedHydrator() {
+        assertNotNull(MapperHydrator.generated(GeneratedTarget.class));
+        assertNotNull(MapperHydrator.generated(AnnotatedTarget.class));
+        assertNull(MapperHydrator.generated(MapperHydratorTest.class));
+
+        MapperHydrator<GeneratedTarget> hydrator = MapperHydrator.parseAnnotations(GeneratedTarget.class);
+
+        GeneratedTarget target = new GeneratedTarget();
+
+        hydrator.hydrate(target, "foo = \"bar\";");
+        hydrator.hydrate(target, "MAPPED = 123;");
+        hydrator.hydrate(target, "kv[1] = \"a\";");
+        hydrator.hydrate(target, "kv[2] = \"b\";");
+        hydrator.hydrate(target, "undefined = 123;");
+        hydrator.hydrate(target, "F = [1, 2];");
+
+        assertEquals("bar", target.foo);
+        assertEquals(123, target.withMapping);
+        assertArrayEquals(new int[] {1, 2}, target.numbers);
+        assertEquals(2, target.kv.size());
+        assertEquals("a", target.kv.get(1));
+        assertEquals(new JsonPrimitive(123), target.values.get("undefined"));
+
+        GeneratedTarget restored = new GeneratedTarget();
+        MapperHydrator.reflection(GeneratedTarget.class).restore(restored, hydrator.export(target));
+
+        assertEquals("bar", restored.foo);
+        assertEquals(123, restored.withMapping);
+        assertEquals(target.kv, restored.kv);
+        assertEquals(target.values, restored.values);
+        assertArrayEquals(target.numbers, restored.numbers);
+        assertEquals(MapperHydrator.reflection(GeneratedTarget.class).export(restored), hydrator.export(restored));
+    }
+
+    static public class IntMapTarget {
+        @SwfVariable
+        private IntMap<String> kv;
+
+        @SwfVariable
+        final IntMap<Embedded> emb = new IntMap<>();
+    }
+
+    @Test
+    void withIntMap() {
+        MapperHydrator<IntMapTarget> hydrator = MapperHydrator.reflection(IntMapTarget.class);
+
+        IntMapTarget target = new IntMapTarget();
+
+        hydrator.hydrate(target, "kv[1] = \"a\";");
+        hydrator.hydrate(target, "kv[2] = \"b\";");
+        hydrator.hydrate(target, "kv[3] = null;");
+        hydrator.hydrate(target, "emb[5] = {key: \"foo\", value: \"bar\"};");
+        hydrator.hydrate(target, "emb[6] = null;");
+
+        assertEquals(3, target.kv.size());
+        assertEquals("a", target.kv.get(1));
+        assertEquals("b", target.kv.get(2));
+        assertTrue(target.kv.containsKey(3));
+        assertNull(target.kv.get(3));
+        assertTrue(target.emb.containsKey(6));
+        assertNull(target.emb.get(6));
+        assertEquals("foo", target.emb.get(5).key);
+        assertEquals("bar", target.emb.get(5).value);
+
+        IntMapTarget restored = new IntMapTarget();
+        hydrator.restore(restored, hydrator.export(target));
+
+        assertEquals(target.kv, restored.kv);
+        assertSame(target.emb.get(5), restored.emb.get(5));
+    }
+
+    static public class LazyTarget {
+        @SwfVariable
+        String foo;
+
+        @SwfDefault(lazy = true)
+        final Map<String, Object> values = new HashMap<>();
+    }
+
+    @Test
+    void withLazyDefault() {
+        for (MapperHydrator<LazyTarget> hydrator : Arrays.asList(MapperHydrator.parseAnnotations(LazyTarget.class), MapperHydrator.reflection(LazyTarget.class))) {
+            LazyTarget target = new LazyTarget();
+
+            hydrator.hydrate(target, "foo = \"bar\";");
+            hydrator.hydrate(target, "A = {a: 1, b: [2, 3]};");
+            hydrator.hydrate(target, "B[\"k\"] = \"v\";");
+            hydrator.hydrate(target, "C = [1, 2;");
+            hydrator.hydrate(target, "D", null, new JsonPrimitive(4));
+
+            assertEquals("bar", target.foo);
+
+            LazyJson a = (LazyJson) target.values.get("A");
+            assertEquals("{a: 1, b: [2, 3]}", a.source());
+            assertEquals(JsonParser.parseString("{a: 1, b: [2, 3]}"), a.get());
+            assertNull(a.source());
+            assertSame(a.get(), a.get());
+
+            assertEquals(new JsonPrimitive("v"), ((LazyJson) ((Map<?, ?>) target.values.get("B")).get("k")).get());
+            assertThrows(JsonParseException.class, ((LazyJson) target.values.get("C"))::get);
+            assertEquals(new JsonPrimitive(4), target.values.get("D"));
+        }
+    }
+
+    static public class CompactTarget {
+        @SwfDefault(compact = true)
+        final Map<String, Object> values = new HashMap<>();
+    }
+
+    @Test
+    void withCompactDefault() {
+        for (MapperHydrator<CompactTarget> hydrator : Arrays.asList(MapperHydrator.parseAnnotations(CompactTarget.class), MapperHydrator.reflection(CompactTarget.class))) {
+            CompactTarget target = new CompactTarget();
+
+            hydrator.hydrate(target, "A = {a: 1, b: [2, 3]};");
+            hydrator.hydrate(target, "B[\"k\"] = [\"v\"];");
+            hydrator.hydrate(target, "C = \"foo\";");
+            hydrator.hydrate(target, "D", null, JsonParser.parseString("{c: 4}"));
+
+            assertEquals(JsonParser.parseString("{a: 1, b: [2, 3]}"), ((CompactObject) target.values.get("A")).toJson());
+            assertEquals(JsonParser.parseString("[\"v\"]"), ((CompactArray) ((Map<?, ?>) target.values.get("B")).get("k")).toJson());
+            assertEquals(new JsonPrimitive("foo"), target.values.get("C"));
+            assertEquals(4, ((CompactObject) target.values.get("D")).integer("c"));
+        }
+    }
 }